@@ -0,0 +1,31 @@
+package io.daex.sdk.core.client;
+
+import okhttp3.Request;
+
+/**
+ * Per-call data attached to a {@link Request} as its tag, so the interceptors of {@link DaexClient} can read it when the
+ * request is executed.
+ */
+final class CallContext {
+
+    private final String jsonBody;
+
+    CallContext(String jsonBody) {
+        this.jsonBody = jsonBody;
+    }
+
+    /**
+     * Gets the call context of a request.
+     *
+     * @param request the request
+     * @return the call context, or {@code null} if the request was not created by {@link DaexClient}
+     */
+    static CallContext of(Request request) {
+        Object tag = request.tag();
+        return tag instanceof CallContext ? (CallContext) tag : null;
+    }
+
+    String getJsonBody() {
+        return jsonBody;
+    }
+}
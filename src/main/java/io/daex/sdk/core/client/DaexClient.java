@@ -4,11 +4,27 @@ import com.google.gson.JsonObject;
 import io.daex.sdk.core.enums.ApiType;
 import io.daex.sdk.core.http.*;
 import io.daex.sdk.core.service.exception.*;
+import io.daex.sdk.core.service.resilience.AdaptiveLimiter;
+import io.daex.sdk.core.service.resilience.AdaptiveLimiterRegistry;
+import io.daex.sdk.core.service.resilience.Bulkhead;
+import io.daex.sdk.core.service.resilience.BulkheadRegistry;
+import io.daex.sdk.core.service.resilience.CircuitBreaker;
+import io.daex.sdk.core.service.resilience.CircuitBreakerRegistry;
+import io.daex.sdk.core.service.resilience.HedgingPolicy;
+import io.daex.sdk.core.service.resilience.RateLimiter;
+import io.daex.sdk.core.service.resilience.RateLimiterRegistry;
+import io.daex.sdk.core.service.resilience.RetryPolicy;
+import io.daex.sdk.core.service.security.ECDSARequestSigner;
+import io.daex.sdk.core.service.security.NonceGenerator;
 import io.daex.sdk.core.service.security.RSAOptions;
-import io.daex.sdk.core.service.security.RSASigner;
+import io.daex.sdk.core.service.security.RSARequestSigner;
+import io.daex.sdk.core.service.security.RequestSigner;
+import io.daex.sdk.core.service.security.ThreadLocalNonceGenerator;
+import io.daex.sdk.core.util.GsonSingleton;
 import io.daex.sdk.core.util.RSAUtils;
 import io.daex.sdk.core.util.RequestUtils;
 import io.daex.sdk.core.util.ResponseUtils;
+import io.daex.sdk.core.util.Validator;
 import jersey.repackaged.jsr166e.CompletableFuture;
 import okhttp3.*;
 import okhttp3.Headers;
@@ -16,12 +32,23 @@ import okhttp3.Request.Builder;
 import okhttp3.Response;
 
 import java.io.IOException;
-import java.net.URL;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
-import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -36,6 +63,7 @@ public class DaexClient {
     private static final String MESSAGE_ERROR_2 = "error_message";
     protected static final String MESSAGE_ERROR = "error";
     private static final String BEARER = "Bearer ";
+    private static final int MAX_WARNED_UNROUTED_PATHS = 256;
 
     private String sdkName = "";
     private String endPoint;
@@ -43,6 +71,16 @@ public class DaexClient {
 
 
     private boolean rsaEnabled;
+    private NonceGenerator nonceGenerator = ThreadLocalNonceGenerator.getInstance();
+    private SigningExecutor signingExecutor;
+    private RequestSigningInterceptor signingInterceptor;
+    private final Map<ApiType, RequestSigner> requestSigners = new EnumMap<>(ApiType.class);
+    private RouteRegistry routeRegistry = RouteRegistry.getDefault();
+    private final Set<String> warnedUnroutedPaths = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private RetryPolicy retryPolicy;
+    private boolean coalesceReads = DaexClientConfig.getInstance().isMApiCoalesceReads();
+    private final ReadCoalescer readCoalescer = new ReadCoalescer();
+    private ResponseCache responseCache = defaultResponseCache();
     /**
      * The default headers.
      */
@@ -55,11 +93,30 @@ public class DaexClient {
      * @param endPoint the end point to call
      */
     public DaexClient(final String endPoint) {
+        this(endPoint, DaexClientConfig.getInstance().isRSAEnabled());
+    }
+
+    /**
+     * Instantiates a new DAEX SDK client, signing the requests or not whatever the configuration says.
+     *
+     * @param endPoint the end point to call
+     * @param rsaEnabled whether the requests are signed
+     */
+    DaexClient(final String endPoint, final boolean rsaEnabled) {
         this.endPoint = endPoint;
 
-        rsaEnabled = DaexClientConfig.getInstance().isRSAEnabled();
+        this.rsaEnabled = rsaEnabled;
+        for (ApiType apiType : ApiType.values()) {
+            requestSigners.put(apiType, defaultRequestSigner(apiType));
+        }
 
-        client = configureHttpClient();
+        final OkHttpClient.Builder builder = configureHttpClient().newBuilder();
+        if (rsaEnabled) {
+            signingInterceptor = new RequestSigningInterceptor(this);
+            builder.addInterceptor(signingInterceptor);
+        }
+        builder.addInterceptor(ExchangeStopwatch.INTERCEPTOR);
+        client = builder.build();
     }
 
 
@@ -74,25 +131,18 @@ public class DaexClient {
     }
 
     /**
-     * Execute the HTTP request. Okhttp3 compliant.
+     * Adds the default headers to the HTTP request. The request is signed by {@link RequestSigningInterceptor} when it
+     * is executed.
      *
      * @param request the HTTP request
-     * @return the HTTP response
+     * @param jsonBody the JSON body to sign, if any
+     * @return the HTTP request with the default headers
      */
-    private Call createCall(final Request request) {
-        return createCall(request, null);
-    }
-
-    private Call createCall(final Request request, final String jsonBody) {
+    private Request prepareRequest(final Request request, final String jsonBody) {
         final Builder builder = request.newBuilder();
-
         setDefaultHeaders(builder);
-
-        if(rsaEnabled) {
-            setRSAHeaders(request, builder, jsonBody);
-        }
-        final Request newRequest = builder.build();
-        return client.newCall(newRequest);
+        builder.tag(new CallContext(jsonBody));
+        return builder.build();
     }
 
     /**
@@ -119,20 +169,23 @@ public class DaexClient {
         RSAOptions.Builder rsaOptionsBuilder = new RSAOptions.Builder();
 
         String method = request.method();
-        URL url = request.url().url();
-        String path = url.getPath();
-        String query = url.getQuery();
+        String path = request.url().encodedPath();
+        ApiType apiType = routeRegistry.resolve(path);
+        if (apiType == null) {
+            // Warned once per path, the set being bounded as paths can hold ids
+            final Level level = warnedUnroutedPaths.size() < MAX_WARNED_UNROUTED_PATHS
+                    && warnedUnroutedPaths.add(path) ? Level.WARNING : Level.FINE;
+            LOG.log(level, "No API route matches " + path + ", the request is sent unsigned.");
+            return;
+        }
         rsaOptionsBuilder.method(method);
         rsaOptionsBuilder.path(path);
-        ApiType apiType = ApiType.apiTypeMap.get(path);
+        rsaOptionsBuilder.apiType(apiType);
         rsaOptionsBuilder.rsaId(apiType.getApiId());
         rsaOptionsBuilder.privateKey(apiType.getApiPrivateKey());
-        rsaOptionsBuilder.nonce(UUID.randomUUID().toString());
+        rsaOptionsBuilder.nonce(nonceGenerator.nextNonce());
         rsaOptionsBuilder.timeStamp(String.valueOf(Instant.now().getEpochSecond()));
-        if(query!=null){
-            query = RSAUtils.sortQuery(url);
-            rsaOptionsBuilder.query(query);
-        }
+        rsaOptionsBuilder.encodedQuery(request.url().encodedQuery());
 
         RequestBody requestBody = request.body();
         if("POST".equals(method) && requestBody!=null){
@@ -147,6 +200,8 @@ public class DaexClient {
                 }
                 String formParams = RSAUtils.flat(paraMap);
                 rsaOptionsBuilder.formParams(formParams);
+            } else if (requestBody instanceof JsonRequestBody) {
+                rsaOptionsBuilder.jsonBody((JsonRequestBody) requestBody);
             } else {
                 rsaOptionsBuilder.formParams(jsonBody);
             }
@@ -154,11 +209,14 @@ public class DaexClient {
 
         RSAOptions rsaOptions = rsaOptionsBuilder.build();
 
-        String signature = RSASigner.getSignature(rsaOptions);
+        String signature = getRequestSigner(apiType).sign(rsaOptions);
+        if (signature == null) {
+            throw new RequestSigningException("The " + apiType + " signer returned no signature", null);
+        }
 
-        builder.addHeader(HttpHeaders.X_AUTHORIZATION_NONCE, rsaOptions.getNonce());
-        builder.addHeader(HttpHeaders.X_AUTHORIZATION_TIME, rsaOptions.getTimeStamp());
-        builder.addHeader(HttpHeaders.X_AUTHORIZATION_RSA, signature);
+        builder.header(HttpHeaders.X_AUTHORIZATION_NONCE, rsaOptions.getNonce());
+        builder.header(HttpHeaders.X_AUTHORIZATION_TIME, rsaOptions.getTimeStamp());
+        builder.header(HttpHeaders.X_AUTHORIZATION_RSA, signature);
     }
 
     /**
@@ -167,16 +225,16 @@ public class DaexClient {
      * @param <T>       the generic type
      * @param request   the request
      * @param converter the converter
+     * @param jsonBody  the JSON body to sign. Bodies set with {@link RequestBuilder#bodyJson(JsonObject)} are signed
+     *                  directly, so it is only needed for JSON sent as a plain {@link RequestBody}
      * @return the service call
      */
     protected final <T> ServiceCall<T> createServiceCall(final Request request, final ResponseConverter<T> converter, final String jsonBody) {
-        final Call call = createCall(request, jsonBody);
-        return new DAEXServiceCall<>(call, converter);
+        return new DAEXServiceCall<>(prepareRequest(request, jsonBody), converter);
     }
 
     protected final <T> ServiceCall<T> createServiceCall(final Request request, final ResponseConverter<T> converter) {
-        final Call call = createCall(request);
-        return new DAEXServiceCall<>(call, converter);
+        return createServiceCall(request, converter, null);
     }
 
     /**
@@ -205,6 +263,276 @@ public class DaexClient {
         this.sdkName = sdkName;
     }
 
+    /**
+     * Sets the generator of the request nonces.
+     *
+     * @param nonceGenerator the nonce generator
+     */
+    public void setNonceGenerator(NonceGenerator nonceGenerator) {
+        Validator.notNull(nonceGenerator, "nonceGenerator cannot be null");
+        this.nonceGenerator = nonceGenerator;
+    }
+
+    /**
+     * Sets the pool that signs the asynchronous calls. Each attempt is signed on the pool, then handed to the OkHttp
+     * dispatcher, so neither the caller nor the dispatcher threads do the RSA work; the pool bounds how many requests
+     * are signed at once and exposes the signing backlog. Synchronous calls are still signed on the calling thread, and
+     * once the pool is shut down asynchronous calls are signed on the dispatcher thread that runs them. If
+     * {@code null}, the default, each call is signed on the thread that executes it.
+     *
+     * @param signingExecutor the signing executor
+     */
+    public void setSigningExecutor(SigningExecutor signingExecutor) {
+        this.signingExecutor = signingExecutor;
+    }
+
+    /**
+     * Gets the pool that signs the requests.
+     *
+     * @return the signing executor, or {@code null} if each call is signed on the thread that executes it
+     */
+    public SigningExecutor getSigningExecutor() {
+        return signingExecutor;
+    }
+
+    /**
+     * Sets the registry that resolves request paths to the {@link ApiType} whose credentials sign them.
+     *
+     * @param routeRegistry the route registry
+     */
+    public void setRouteRegistry(RouteRegistry routeRegistry) {
+        Validator.notNull(routeRegistry, "routeRegistry cannot be null");
+        this.routeRegistry = routeRegistry;
+    }
+
+    /**
+     * Gets the registry that resolves request paths to their {@link ApiType}.
+     *
+     * @return the route registry
+     */
+    public RouteRegistry getRouteRegistry() {
+        return routeRegistry;
+    }
+
+    /**
+     * Sets the retry policy of the service calls created by this client. A call can override it with
+     * {@link ServiceCall#retryPolicy(RetryPolicy)}.
+     *
+     * @param retryPolicy the retry policy, or {@code null} to not retry
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * Gets the retry policy of the service calls created by this client.
+     *
+     * @return the retry policy, or {@code null} if calls are not retried
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Sets whether identical concurrent MAPI {@code GET} calls share one HTTP call. Each caller still gets its own
+     * converted result.
+     *
+     * @param coalesceReads true to coalesce the reads
+     */
+    public void setCoalesceReads(boolean coalesceReads) {
+        this.coalesceReads = coalesceReads;
+    }
+
+    /**
+     * Whether identical concurrent MAPI {@code GET} calls share one HTTP call.
+     *
+     * @return true if the reads are coalesced
+     */
+    public boolean isCoalesceReads() {
+        return coalesceReads;
+    }
+
+    /**
+     * Gets the number of reads that were served by a call already in flight instead of a call of their own.
+     *
+     * @return the number of coalesced reads
+     */
+    public long getCoalescedReadCount() {
+        return readCoalescer.getCoalescedCount();
+    }
+
+    /**
+     * Sets the cache of the converted results of read calls. Only {@link ServiceCall#execute()},
+     * {@link ServiceCall#enqueue(ServiceCallback)} and {@link ServiceCall#rx()} are served from it: the other methods
+     * return the HTTP response too, which is not cached, so they always call the API, and their results refresh the
+     * cache.
+     *
+     * @param responseCache the response cache, or {@code null} to not cache
+     */
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * Gets the cache of the converted results of read calls.
+     *
+     * @return the response cache, or {@code null} if results are not cached
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Gets the response cache configured in {@code sdk_config.properties}.
+     *
+     * @return the response cache, or {@code null} if none is configured
+     */
+    private static ResponseCache defaultResponseCache() {
+        final DaexClientConfig config = DaexClientConfig.getInstance();
+        final String ttls = config.getResponseCacheTtls();
+        if (config.getResponseCacheMaxBytes() == 0 || ttls == null || ttls.trim().isEmpty()) {
+            return null;
+        }
+        return new ResponseCache.Builder().maxBytes(config.getResponseCacheMaxBytes()).ttls(ttls).build();
+    }
+
+    /**
+     * Warms the client up before traffic arrives: opens connections to the end point in parallel, so the DNS lookups
+     * and the TCP and TLS handshakes are done, and signs and serializes a request once, so the classes are loaded and
+     * the keys decoded. The calls run on the dispatcher of the client and go through its interceptors, except the
+     * request signer. The connections stay in the pool for {@code http.connectionPool.keepAliveSeconds}. With HTTP/2,
+     * the calls share a single connection. Failures are logged and do not stop the warm-up.
+     * <p>
+     * The number of connections is capped to {@code http.connectionPool.maxIdleConnections}, as the pool would close
+     * the connections above it, and to {@code http.dispatcher.maxRequestsPerHost}, as the dispatcher would queue the
+     * calls above it and they would reuse the connections of the first ones.
+     *
+     * @param connections the number of connections to open
+     * @return the time the warm-up took, in milliseconds
+     */
+    public long warmUp(int connections) {
+        Validator.isTrue(connections >= 0, "connections cannot be negative");
+        final long start = System.nanoTime();
+        final int max = Math.min(DaexClientConfig.getInstance().getMaxIdleConnections(),
+                client.dispatcher().getMaxRequestsPerHost());
+        if (connections > max) {
+            LOG.warning("Only " + max + " of the " + connections + " connections can be opened and kept alive, opening "
+                    + max);
+            connections = max;
+        }
+
+        final HttpUrl url = HttpUrl.parse(endPoint);
+        final CountDownLatch done = new CountDownLatch(url != null ? connections : 0);
+        final AtomicInteger failures = new AtomicInteger();
+        if (url != null) {
+            // The end point root matches no API route, so the calls would not be signed anyway.
+            final OkHttpClient.Builder builder = client.newBuilder();
+            builder.interceptors().remove(signingInterceptor);
+            final OkHttpClient warmUpClient = builder.build();
+            final Request request = new Request.Builder().url(url).head().build();
+            for (int i = 0; i < connections; i++) {
+                warmUpClient.newCall(request).enqueue(new Callback() {
+                    @Override
+                    public void onFailure(Call call, IOException e) {
+                        failures.incrementAndGet();
+                        LOG.log(Level.FINE, "Warm-up call failed", e);
+                        done.countDown();
+                    }
+
+                    @Override
+                    public void onResponse(Call call, Response response) {
+                        response.close();
+                        done.countDown();
+                    }
+                });
+            }
+        } else if (connections > 0) {
+            LOG.warning("Cannot open connections to the end point " + endPoint);
+        }
+
+        warmUpSigning();
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failures.get() > 0) {
+            LOG.warning(failures.get() + " warm-up calls to " + endPoint + " failed");
+        }
+
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        LOG.info("Warmed up in " + elapsedMillis + " ms, " + client.connectionPool().connectionCount()
+                + " connections open");
+        return elapsedMillis;
+    }
+
+    /**
+     * Serializes and signs a JSON request once for every {@link ApiType} with credentials, so the Gson adapters, the
+     * signature engines and the decoded keys are ready.
+     */
+    private void warmUpSigning() {
+        final JsonObject json = new JsonObject();
+        json.addProperty("warmUp", true);
+        GsonSingleton.getGsonWithoutPrettyPrinting().fromJson(GsonSingleton.getGson().toJson(json), JsonObject.class);
+        if (!rsaEnabled) {
+            return;
+        }
+        for (ApiType apiType : ApiType.values()) {
+            if (apiType.getApiId() == null || apiType.getApiId().isEmpty() || apiType.getApiPrivateKey() == null
+                    || apiType.getApiPrivateKey().isEmpty()) {
+                continue;
+            }
+            try {
+                getRequestSigner(apiType).sign(new RSAOptions.Builder()
+                        .method("POST")
+                        .path("/")
+                        .apiType(apiType)
+                        .rsaId(apiType.getApiId())
+                        .privateKey(apiType.getApiPrivateKey())
+                        .nonce(nonceGenerator.nextNonce())
+                        .timeStamp(String.valueOf(Instant.now().getEpochSecond()))
+                        .jsonBody(JsonRequestBody.create(json))
+                        .build());
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Unable to sign with the " + apiType + " credentials", e);
+            }
+        }
+    }
+
+    /**
+     * Sets the signer of the requests of an {@link ApiType}.
+     *
+     * @param apiType the api type
+     * @param requestSigner the request signer
+     */
+    public void setRequestSigner(ApiType apiType, RequestSigner requestSigner) {
+        Validator.notNull(requestSigner, "requestSigner cannot be null");
+        requestSigners.put(apiType, requestSigner);
+    }
+
+    /**
+     * Gets the signer of the requests of an {@link ApiType}.
+     *
+     * @param apiType the api type
+     * @return the request signer
+     */
+    public RequestSigner getRequestSigner(ApiType apiType) {
+        return requestSigners.get(apiType);
+    }
+
+    /**
+     * Gets the signer matching the key algorithm configured for an {@link ApiType}.
+     *
+     * @param apiType the api type
+     * @return the request signer
+     */
+    private static RequestSigner defaultRequestSigner(ApiType apiType) {
+        if ("EC".equalsIgnoreCase(apiType.getKeyAlgorithm())) {
+            return ECDSARequestSigner.getInstance();
+        }
+        return RSARequestSigner.getInstance();
+    }
+
     /**
      * Gets the error message from a JSON response.
      *
@@ -328,33 +656,887 @@ public class DaexClient {
     }
 
 
+    /**
+     * Carries a {@link CallNotPermittedException} through the {@link Callback} of an asynchronous call. It is unwrapped
+     * before it reaches the caller.
+     */
+    private static final class RejectedCallException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private RejectedCallException(CallNotPermittedException cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Handle of an asynchronous call that can be cancelled before it is created.
+     */
+    private static final class Attempt {
+        private volatile Call call;
+        private volatile boolean canceled;
+
+        private void started(Call call) {
+            this.call = call;
+            if (canceled) {
+                call.cancel();
+            }
+        }
+
+        private void cancel() {
+            canceled = true;
+            final Call c = call;
+            if (c != null) {
+                c.cancel();
+            }
+        }
+
+        private boolean isCanceled() {
+            return canceled;
+        }
+    }
+
+    /**
+     * The attempts of a hedged call. The first successful response wins; otherwise the outcome of the last attempt to
+     * complete is delivered.
+     */
+    private static final class Hedge {
+        private final Callback callback;
+        private final List<Attempt> attempts = new ArrayList<>(2);
+        private int pending;
+        private boolean done;
+        private Attempt winner;
+
+        private Hedge(Callback callback) {
+            this.callback = callback;
+        }
+
+        private synchronized boolean add(Attempt attempt) {
+            if (done) {
+                return false;
+            }
+            attempts.add(attempt);
+            pending++;
+            return true;
+        }
+
+        private synchronized boolean isDone() {
+            return done;
+        }
+
+        /**
+         * Records the completion of an attempt that got a response.
+         *
+         * @return whether the response must be delivered
+         */
+        private synchronized boolean claim(boolean successful) {
+            pending--;
+            if (!done && (successful || pending == 0)) {
+                done = true;
+                return true;
+            }
+            return false;
+        }
+
+        private void onResponse(Attempt attempt, boolean won, Call call, Response response) throws IOException {
+            if (!won) {
+                response.close();
+                return;
+            }
+            synchronized (this) {
+                winner = attempt;
+            }
+            cancelOthers(attempt);
+            callback.onResponse(call, response);
+        }
+
+        private void onFailure(Attempt attempt, Call call, IOException e) {
+            final boolean deliver;
+            synchronized (this) {
+                pending--;
+                deliver = !done && pending == 0;
+                if (deliver) {
+                    done = true;
+                }
+            }
+            if (deliver) {
+                callback.onFailure(call, e);
+            }
+        }
+
+        /**
+         * Tells whether another attempt answered first.
+         */
+        private synchronized boolean isLost(Attempt attempt) {
+            return winner != null && winner != attempt;
+        }
+
+        private void cancelOthers(Attempt winner) {
+            final List<Attempt> others;
+            synchronized (this) {
+                others = new ArrayList<>(attempts);
+            }
+            for (Attempt attempt : others) {
+                if (attempt != winner) {
+                    attempt.cancel();
+                }
+            }
+        }
+
+        private void cancelAll() {
+            synchronized (this) {
+                done = true;
+            }
+            cancelOthers(null);
+        }
+    }
+
+    /**
+     * {@link Callback} that a thread waits on.
+     */
+    private static final class BlockingCallback implements Callback {
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private Response response;
+        private IOException failure;
+
+        @Override
+        public void onFailure(Call call, IOException e) {
+            failure = e;
+            latch.countDown();
+        }
+
+        @Override
+        public void onResponse(Call call, Response response) {
+            this.response = response;
+            latch.countDown();
+        }
+
+        private Response await() throws IOException {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the response");
+            }
+            if (failure instanceof RejectedCallException) {
+                throw (CallNotPermittedException) failure.getCause();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return response;
+        }
+    }
+
+    /**
+     * Gets the exception to report to the caller of an asynchronous call.
+     *
+     * @param e the failure of the call
+     * @return the exception
+     */
+    private static Exception unwrap(IOException e) {
+        return e instanceof RejectedCallException ? (Exception) e.getCause() : e;
+    }
+
     /**
      * Defines implementation for modifying and executing service calls.
      *
      * @param <T> the generic type
      */
     class DAEXServiceCall<T> implements ServiceCall<T> {
-        private Call call;
+        private Request request;
         private ResponseConverter<T> converter;
-
-        DAEXServiceCall(Call call, ResponseConverter<T> converter) {
-            this.call = call;
+        private final ApiType apiType;
+        private final RateLimiter rateLimiter;
+        private final AdaptiveLimiter adaptiveLimiter;
+        private final CircuitBreaker circuitBreaker;
+        private Priority priority;
+        private RetryPolicy retryPolicy;
+        private HedgingPolicy hedgingPolicy;
+        private volatile boolean executed;
+        private final ResponseCache cache = responseCache;
+
+        DAEXServiceCall(Request request, ResponseConverter<T> converter) {
+            this.request = request;
             this.converter = converter;
+            this.apiType = routeRegistry.resolve(request.url().encodedPath());
+            this.rateLimiter = apiType != null
+                    ? RateLimiterRegistry.getInstance().get(apiType, apiType.getApiId()) : null;
+            this.adaptiveLimiter = AdaptiveLimiterRegistry.getInstance().get(request.url().encodedPath());
+            this.circuitBreaker = CircuitBreakerRegistry.getInstance().get(request.url().encodedPath(), apiType);
+            this.priority = apiType != null ? apiType.getDefaultPriority() : Priority.NORMAL;
+            this.retryPolicy = DaexClient.this.retryPolicy;
         }
 
         @Override
         public ServiceCall<T> addHeader(String name, String value) {
-            Builder builder = call.request().newBuilder();
+            Builder builder = request.newBuilder();
             builder.header(name, value);
-            call = client.newCall(builder.build());
+            request = builder.build();
             return this;
         }
 
         @Override
-        public T execute() {
+        public ServiceCall<T> priority(Priority priority) {
+            Validator.notNull(priority, "priority cannot be null");
+            this.priority = priority;
+            return this;
+        }
+
+        @Override
+        public Priority getPriority() {
+            return priority;
+        }
+
+        @Override
+        public ServiceCall<T> retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        @Override
+        public ServiceCall<T> hedge(HedgingPolicy hedgingPolicy) {
+            this.hedgingPolicy = hedgingPolicy;
+            return this;
+        }
+
+        /**
+         * Creates the {@link Call} of the request. The request is signed when the call is executed.
+         *
+         * @return the call
+         */
+        private Call newCall() {
+            return client.newCall(request);
+        }
+
+        /**
+         * Creates the {@link Call} of the request, timed by a stopwatch.
+         *
+         * @param stopwatch the stopwatch
+         * @return the call
+         */
+        private Call newCall(ExchangeStopwatch stopwatch) {
+            return client.newCall(ExchangeStopwatch.attach(request, stopwatch));
+        }
+
+        /**
+         * Gets the bulkheads the request must enter, in order: the one of its {@link ApiType}, then the global one.
+         *
+         * @return the bulkheads, possibly empty
+         */
+        private List<Bulkhead> bulkheads() {
+            final BulkheadRegistry registry = BulkheadRegistry.getInstance();
+            final Bulkhead apiBulkhead = registry.get(apiType);
+            final Bulkhead global = registry.getGlobal();
+            if (apiBulkhead == null) {
+                return global == null ? Collections.<Bulkhead>emptyList() : Collections.singletonList(global);
+            }
+            return global == null ? Collections.singletonList(apiBulkhead) : Arrays.asList(apiBulkhead, global);
+        }
+
+        /**
+         * Executes the request on the calling thread, once its rate limit allows it, within its bulkheads. Fails at once
+         * if its circuit breaker is open.
+         *
+         * @return the HTTP response
+         * @throws IOException if the request could not be executed
+         */
+        private Response executeCall() throws IOException {
+            if (circuitBreaker != null && !circuitBreaker.isCallPermitted()) {
+                throw circuitOpen(circuitBreaker);
+            }
+            if (rateLimiter != null) {
+                try {
+                    rateLimiter.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the " + rateLimiter.getName()
+                            + " rate limit");
+                }
+            }
+            final List<Bulkhead> bulkheads = bulkheads();
+            int acquired = 0;
+            try {
+                for (Bulkhead bulkhead : bulkheads) {
+                    try {
+                        bulkhead.acquire(priority);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while waiting for the " + bulkhead.getName()
+                                + " bulkhead");
+                    }
+                    acquired++;
+                }
+                return exchange();
+            } finally {
+                release(bulkheads, acquired);
+            }
+        }
+
+        /**
+         * Executes the HTTP call on the calling thread, through the circuit breaker and within the adaptive limit of
+         * the endpoint.
+         *
+         * @return the HTTP response
+         * @throws IOException if the request could not be executed
+         */
+        private Response exchange() throws IOException {
+            if (adaptiveLimiter == null && circuitBreaker == null) {
+                return newCall().execute();
+            }
+            permitExchange();
+            final ExchangeStopwatch stopwatch = new ExchangeStopwatch();
             try {
-                Response response = call.execute();
+                final Response response = newCall(stopwatch).execute();
+                onResponse(response, stopwatch.elapsedNanos());
+                return response;
+            } catch (IOException e) {
+                onFailure(e, stopwatch.elapsedNanos());
+                throw e;
+            } catch (RuntimeException | Error e) {
+                onIgnored();
+                throw e;
+            }
+        }
+
+        /**
+         * Takes the circuit breaker and adaptive limiter permits of an HTTP call.
+         *
+         * @throws CallNotPermittedException if the breaker is open or the limit is reached
+         */
+        private void permitExchange() {
+            if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+                throw circuitOpen(circuitBreaker);
+            }
+            if (adaptiveLimiter != null && !adaptiveLimiter.tryAcquire()) {
+                if (circuitBreaker != null) {
+                    circuitBreaker.onIgnored();
+                }
+                throw limitExceeded(adaptiveLimiter);
+            }
+        }
+
+        /**
+         * Enqueues the request once its rate limit allows it, and each of its bulkheads has room for it. A rate limited
+         * request is scheduled on {@link SchedulerSingleton}, so no thread waits for it.
+         *
+         * @param callback the callback
+         * @param attempt the handle to cancel the call with, may be {@code null}
+         */
+        private void enqueueCall(final Callback callback, final Attempt attempt) {
+            if (circuitBreaker != null && !circuitBreaker.isCallPermitted()) {
+                callback.onFailure(null, new RejectedCallException(circuitOpen(circuitBreaker)));
+                return;
+            }
+            final long delay = rateLimiter != null ? rateLimiter.reserve() : 0;
+            if (delay > 0) {
+                SchedulerSingleton.getInstance().schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        enqueueAdmitted(callback, attempt);
+                    }
+                }, delay, TimeUnit.NANOSECONDS);
+            } else {
+                enqueueAdmitted(callback, attempt);
+            }
+        }
+
+        /**
+         * Enqueues the request once each of its bulkheads has room for it.
+         *
+         * @param callback the callback
+         * @param attempt the handle to cancel the call with, may be {@code null}
+         */
+        private void enqueueAdmitted(final Callback callback, final Attempt attempt) {
+            final List<Bulkhead> bulkheads = bulkheads();
+            admit(bulkheads, 0, new Runnable() {
+                @Override
+                public void run() {
+                    enqueueExchange(bulkheads, callback, attempt);
+                }
+            });
+        }
+
+        /**
+         * Enqueues the HTTP call through the circuit breaker and within the adaptive limit of the endpoint, releasing
+         * the bulkheads once it completes. With a {@link SigningExecutor}, the request is signed on the pool first.
+         */
+        private void enqueueExchange(final List<Bulkhead> bulkheads, final Callback callback, final Attempt attempt) {
+            if (attempt != null && attempt.isCanceled()) {
+                release(bulkheads, bulkheads.size());
+                callback.onFailure(null, new IOException("Canceled"));
+                return;
+            }
+            try {
+                permitExchange();
+            } catch (CallNotPermittedException e) {
+                release(bulkheads, bulkheads.size());
+                callback.onFailure(null, new RejectedCallException(e));
+                return;
+            }
+            final ExchangeStopwatch stopwatch = new ExchangeStopwatch();
+            final Request timed = ExchangeStopwatch.attach(request, stopwatch);
+            final SigningExecutor executor = signingInterceptor != null ? signingExecutor : null;
+            if (executor == null) {
+                dispatch(timed, stopwatch, bulkheads, callback, attempt);
+                return;
+            }
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        final Request signed;
+                        try {
+                            signed = signingInterceptor.sign(timed);
+                        } catch (IOException e) {
+                            onIgnored();
+                            release(bulkheads, bulkheads.size());
+                            callback.onFailure(null, e);
+                            return;
+                        }
+                        dispatch(signed, stopwatch, bulkheads, callback, attempt);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // The pool is shut down, the interceptor signs the request on the dispatcher thread
+                dispatch(timed, stopwatch, bulkheads, callback, attempt);
+            }
+        }
+
+        /**
+         * Hands the exchange to the OkHttp dispatcher, recording its outcome and releasing the bulkheads once it
+         * completes.
+         */
+        private void dispatch(final Request request, final ExchangeStopwatch stopwatch, final List<Bulkhead> bulkheads,
+                              final Callback callback, final Attempt attempt) {
+            final Call newCall = client.newCall(request);
+            if (attempt != null) {
+                attempt.started(newCall);
+            }
+            newCall.enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    if (call.isCanceled()) {
+                        onIgnored();
+                    } else {
+                        DAEXServiceCall.this.onFailure(e, stopwatch.elapsedNanos());
+                    }
+                    release(bulkheads, bulkheads.size());
+                    callback.onFailure(call, e);
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) throws IOException {
+                    DAEXServiceCall.this.onResponse(response, stopwatch.elapsedNanos());
+                    release(bulkheads, bulkheads.size());
+                    callback.onResponse(call, response);
+                }
+            });
+        }
+
+        /**
+         * Records the outcome of a call that got a response. For the circuit breaker, server errors are failures while
+         * {@code 429} is not, as it means the API is up; for the adaptive limiter, {@code 429} and {@code 503} mean the
+         * exchange is shedding load.
+         *
+         * @param response the HTTP response
+         * @param duration the duration of the exchange, in nanoseconds
+         */
+        private void onResponse(Response response, long duration) {
+            final int code = response.code();
+            if (circuitBreaker != null) {
+                if (code >= HttpStatus.INTERNAL_SERVER_ERROR) {
+                    circuitBreaker.onError(duration);
+                } else {
+                    circuitBreaker.onSuccess(duration);
+                }
+            }
+            if (adaptiveLimiter != null) {
+                if (code == HttpStatus.TOO_MANY_REQUESTS || code == HttpStatus.SERVICE_UNAVAILABLE) {
+                    adaptiveLimiter.onDropped();
+                } else {
+                    adaptiveLimiter.onSuccess(duration);
+                }
+            }
+        }
+
+        /**
+         * Records the outcome of a call that failed. Every I/O failure counts for the circuit breaker, while only
+         * timeouts tell the adaptive limiter about the load.
+         *
+         * @param e the failure
+         * @param duration the duration of the exchange, in nanoseconds
+         */
+        private void onFailure(IOException e, long duration) {
+            if (circuitBreaker != null) {
+                circuitBreaker.onError(duration);
+            }
+            if (adaptiveLimiter != null) {
+                if (e instanceof SocketTimeoutException) {
+                    adaptiveLimiter.onDropped();
+                } else {
+                    adaptiveLimiter.onIgnored();
+                }
+            }
+        }
+
+        /**
+         * Releases the permits of a call whose outcome is unknown.
+         */
+        private void onIgnored() {
+            if (circuitBreaker != null) {
+                circuitBreaker.onIgnored();
+            }
+            if (adaptiveLimiter != null) {
+                adaptiveLimiter.onIgnored();
+            }
+        }
+
+        private CircuitBreakerOpenException circuitOpen(CircuitBreaker breaker) {
+            return new CircuitBreakerOpenException(request.method() + " " + request.url().encodedPath()
+                    + " not sent, circuit breaker " + breaker.getName() + " is " + breaker.getState(),
+                    breaker.getName());
+        }
+
+        private ConcurrencyLimitExceededException limitExceeded(AdaptiveLimiter limiter) {
+            int limit = limiter.getLimit();
+            return new ConcurrencyLimitExceededException(request.method() + " " + request.url().encodedPath()
+                    + " already has " + limit + " calls in flight", limit);
+        }
+
+        /**
+         * Gets the hedging policy of the request, if it is an idempotent read.
+         *
+         * @return the hedging policy, or {@code null} if the request is not hedged
+         */
+        private HedgingPolicy hedgingPolicy() {
+            final String method = request.method();
+            return "GET".equals(method) || "HEAD".equals(method) ? hedgingPolicy : null;
+        }
+
+        /**
+         * Executes one attempt of the request, hedged if its {@link HedgingPolicy} allows.
+         *
+         * @return the HTTP response
+         * @throws IOException if the request could not be executed
+         */
+        private Response executeAttempt() throws IOException {
+            final HedgingPolicy policy = hedgingPolicy();
+            if (policy == null) {
+                return executeCall();
+            }
+            final BlockingCallback blocking = new BlockingCallback();
+            final Hedge hedge = enqueueHedged(policy, blocking);
+            try {
+                return blocking.await();
+            } catch (InterruptedIOException e) {
+                hedge.cancelAll();
+                throw e;
+            }
+        }
+
+        /**
+         * Enqueues one attempt of the request, hedged if its {@link HedgingPolicy} allows.
+         *
+         * @param callback the callback
+         */
+        private void enqueueAttempt(final Callback callback) {
+            final HedgingPolicy policy = hedgingPolicy();
+            if (policy == null) {
+                enqueueCall(callback, null);
+            } else {
+                enqueueHedged(policy, callback);
+            }
+        }
+
+        /**
+         * Enqueues the request, and a duplicate if it has not answered after the hedging delay. The first successful
+         * response is delivered and the other call is cancelled.
+         *
+         * @param policy the hedging policy
+         * @param callback the callback
+         * @return the hedge, to cancel both calls
+         */
+        private Hedge enqueueHedged(final HedgingPolicy policy, final Callback callback) {
+            final String endpoint = request.url().encodedPath();
+            final Hedge hedge = new Hedge(callback);
+            final long delay = policy.hedgeDelayNanos(endpoint);
+            launch(policy, hedge, endpoint, false);
+            SchedulerSingleton.getInstance().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    if (!hedge.isDone() && policy.tryAcquireHedge()) {
+                        launch(policy, hedge, endpoint, true);
+                    }
+                }
+            }, delay, TimeUnit.NANOSECONDS);
+            return hedge;
+        }
+
+        private void launch(final HedgingPolicy policy, final Hedge hedge, final String endpoint,
+                            final boolean duplicate) {
+            final Attempt attempt = new Attempt();
+            if (!hedge.add(attempt)) {
+                return;
+            }
+            final long start = System.nanoTime();
+            enqueueCall(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    if (!duplicate && hedge.isLost(attempt)) {
+                        // Cancelled because the duplicate won, it took at least this long
+                        policy.record(endpoint, System.nanoTime() - start, false);
+                    }
+                    hedge.onFailure(attempt, call, e);
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) throws IOException {
+                    final boolean successful = response.isSuccessful();
+                    final boolean won = hedge.claim(successful);
+                    if (successful) {
+                        policy.record(endpoint, System.nanoTime() - start, duplicate && won);
+                    }
+                    hedge.onResponse(attempt, won, call, response);
+                }
+            }, attempt);
+        }
+
+        /**
+         * Gets the key under which the result of the request is cached.
+         *
+         * @return the key, or {@code null} if the result is not cached
+         */
+        private String cacheKey() {
+            return cache != null && "GET".equals(request.method()) && cache.isCacheable(request.url().encodedPath())
+                    ? ReadCoalescer.key(request) : null;
+        }
+
+        /**
+         * Gets the cached result of the request.
+         *
+         * @param key the cache key, may be {@code null}
+         * @return the result, or {@code null} if it is not cached
+         */
+        @SuppressWarnings("unchecked")
+        private T cached(String key) {
+            return key == null ? null : (T) cache.get(key);
+        }
+
+        /**
+         * Converts a response, caching the result if the request is cacheable.
+         *
+         * @param key the cache key, may be {@code null}
+         * @param response the HTTP response
+         * @return the result
+         * @throws IOException if the body of a cacheable response could not be read
+         */
+        private T convert(String key, Response response) throws IOException {
+            if (key == null || !response.isSuccessful() || response.body() == null) {
                 return processServiceCall(converter, response);
+            }
+            // The body is buffered to weigh the bytes actually read: the length of a chunked or gzip body is unknown
+            final MediaType contentType = response.body().contentType();
+            final byte[] bytes = response.body().bytes();
+            final T result = processServiceCall(converter, response.newBuilder()
+                    .body(ResponseBody.create(contentType, bytes))
+                    .build());
+            cache.put(key, request.url().encodedPath(), result, bytes.length);
+            return result;
+        }
+
+        /**
+         * Gets the key under which the request shares a call with identical concurrent reads.
+         *
+         * @return the key, or {@code null} if the request is not coalesced
+         */
+        private String coalescingKey() {
+            return coalesceReads && apiType == ApiType.MAPI && "GET".equals(request.method())
+                    ? ReadCoalescer.key(request) : null;
+        }
+
+        /**
+         * Executes the request on the calling thread, or waits for an identical read already in flight.
+         *
+         * @return the HTTP response
+         * @throws IOException if the request could not be executed
+         */
+        private Response executeShared() throws IOException {
+            final String key = coalescingKey();
+            if (key == null) {
+                return executeWithRetries();
+            }
+            final BlockingCallback blocking = new BlockingCallback();
+            if (!readCoalescer.join(key, request, blocking)) {
+                return blocking.await();
+            }
+            final Response response;
+            try {
+                response = executeWithRetries();
+            } catch (IOException e) {
+                readCoalescer.fail(key, e);
+                throw e;
+            } catch (CallNotPermittedException e) {
+                readCoalescer.fail(key, new RejectedCallException(e));
+                throw e;
+            } catch (RuntimeException e) {
+                readCoalescer.fail(key, new IOException(e));
+                throw e;
+            }
+            readCoalescer.complete(key, response);
+            return blocking.await();
+        }
+
+        /**
+         * Enqueues the request, or joins an identical read already in flight.
+         *
+         * @param callback the callback
+         */
+        private void enqueueShared(final Callback callback) {
+            final String key = coalescingKey();
+            if (key == null) {
+                enqueueWithRetries(callback);
+                return;
+            }
+            if (!readCoalescer.join(key, request, callback)) {
+                return;
+            }
+            enqueueWithRetries(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    readCoalescer.fail(key, e);
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    readCoalescer.complete(key, response);
+                }
+            });
+        }
+
+        /**
+         * Executes the request on the calling thread, retrying it as its {@link RetryPolicy} allows. Each attempt is a
+         * new call, signed again.
+         *
+         * @return the HTTP response of the last attempt
+         * @throws IOException if the last attempt could not be executed
+         */
+        private Response executeWithRetries() throws IOException {
+            final RetryPolicy policy = retryPolicy;
+            if (policy == null) {
+                return executeAttempt();
+            }
+            long delay = 0;
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    final Response response = executeAttempt();
+                    delay = policy.retryDelayMillis(attempt, delay, response);
+                    if (delay < 0) {
+                        return response;
+                    }
+                    response.close();
+                } catch (IOException e) {
+                    delay = policy.retryDelayMillis(attempt, delay, request, e);
+                    if (delay < 0 || Thread.currentThread().isInterrupted()) {
+                        throw e;
+                    }
+                }
+                try {
+                    TimeUnit.MILLISECONDS.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting to retry " + request.url());
+                }
+            }
+        }
+
+        /**
+         * Enqueues the request, retrying it as its {@link RetryPolicy} allows. Retries are scheduled on
+         * {@link SchedulerSingleton} instead of blocking a thread during the backoff.
+         *
+         * @param callback the callback of the last attempt
+         */
+        private void enqueueWithRetries(final Callback callback) {
+            final RetryPolicy policy = retryPolicy;
+            if (policy == null) {
+                enqueueAttempt(callback);
+                return;
+            }
+            enqueueAttempt(policy, 1, 0, callback);
+        }
+
+        private void enqueueAttempt(final RetryPolicy policy, final int attempt, final long previousDelay,
+                                    final Callback callback) {
+            enqueueAttempt(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    long delay = e instanceof RejectedCallException ? -1
+                            : policy.retryDelayMillis(attempt, previousDelay, request, e);
+                    if (delay < 0) {
+                        callback.onFailure(call, e);
+                    } else {
+                        scheduleAttempt(policy, attempt + 1, delay, callback);
+                    }
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) throws IOException {
+                    long delay = policy.retryDelayMillis(attempt, previousDelay, response);
+                    if (delay < 0) {
+                        callback.onResponse(call, response);
+                    } else {
+                        response.close();
+                        scheduleAttempt(policy, attempt + 1, delay, callback);
+                    }
+                }
+            });
+        }
+
+        private void scheduleAttempt(final RetryPolicy policy, final int attempt, final long delay,
+                                     final Callback callback) {
+            SchedulerSingleton.getInstance().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    enqueueAttempt(policy, attempt, delay, callback);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Runs a task once it holds a permit of every bulkhead, from {@code index} on.
+         */
+        private void admit(final List<Bulkhead> bulkheads, final int index, final Runnable task) {
+            if (index == bulkheads.size()) {
+                task.run();
+                return;
+            }
+            bulkheads.get(index).submit(priority, new Runnable() {
+                @Override
+                public void run() {
+                    admit(bulkheads, index + 1, task);
+                }
+            });
+        }
+
+        /**
+         * Releases the permits of the first {@code count} bulkheads, innermost first.
+         */
+        private void release(List<Bulkhead> bulkheads, int count) {
+            for (int i = count - 1; i >= 0; i--) {
+                bulkheads.get(i).release();
+            }
+        }
+
+        @Override
+        public T execute() {
+            executed = true;
+            final String key = cacheKey();
+            final T cached = cached(key);
+            if (cached != null) {
+                return cached;
+            }
+            try {
+                Response response = executeShared();
+                return convert(key, response);
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -362,9 +1544,12 @@ public class DaexClient {
 
         @Override
         public io.daex.sdk.core.http.Response<T> executeWithDetails() throws RuntimeException {
+            executed = true;
+            // A cached result has no HTTP response to go with it, so the details are always fetched; the result
+            // still refreshes the cache.
             try {
-                Response httpResponse = call.execute();
-                T responseModel = processServiceCall(converter, httpResponse);
+                Response httpResponse = executeShared();
+                T responseModel = convert(cacheKey(), httpResponse);
                 return new io.daex.sdk.core.http.Response<>(responseModel, httpResponse);
             } catch (IOException e) {
                 throw new RuntimeException(e);
@@ -373,16 +1558,23 @@ public class DaexClient {
 
         @Override
         public void enqueue(final ServiceCallback<? super T> callback) {
-            call.enqueue(new Callback() {
+            executed = true;
+            final String key = cacheKey();
+            final T cached = cached(key);
+            if (cached != null) {
+                callback.onResponse(cached);
+                return;
+            }
+            enqueueShared(new Callback() {
                 @Override
                 public void onFailure(Call call, IOException e) {
-                    callback.onFailure(e);
+                    callback.onFailure(unwrap(e));
                 }
 
                 @Override
                 public void onResponse(Call call, Response response) {
                     try {
-                        callback.onResponse(processServiceCall(converter, response));
+                        callback.onResponse(convert(key, response));
                     } catch (Exception e) {
                         callback.onFailure(e);
                     }
@@ -392,16 +1584,17 @@ public class DaexClient {
 
         @Override
         public void enqueueWithDetails(final ServiceCallbackWithDetails<T> callback) {
-            call.enqueue(new Callback() {
+            executed = true;
+            enqueueShared(new Callback() {
                 @Override
                 public void onFailure(Call call, IOException e) {
-                    callback.onFailure(e);
+                    callback.onFailure(unwrap(e));
                 }
 
                 @Override
                 public void onResponse(Call call, Response response) {
                     try {
-                        T responseModel = processServiceCall(converter, response);
+                        T responseModel = convert(cacheKey(), response);
                         callback.onResponse(new io.daex.sdk.core.http.Response<>(responseModel, response));
                     } catch (Exception e) {
                         callback.onFailure(e);
@@ -412,18 +1605,25 @@ public class DaexClient {
 
         @Override
         public CompletableFuture<T> rx() {
+            executed = true;
             final CompletableFuture<T> completableFuture = new CompletableFuture<T>();
+            final String key = cacheKey();
+            final T cached = cached(key);
+            if (cached != null) {
+                completableFuture.complete(cached);
+                return completableFuture;
+            }
 
-            call.enqueue(new Callback() {
+            enqueueShared(new Callback() {
                 @Override
                 public void onFailure(Call call, IOException e) {
-                    completableFuture.completeExceptionally(e);
+                    completableFuture.completeExceptionally(unwrap(e));
                 }
 
                 @Override
                 public void onResponse(Call call, Response response) {
                     try {
-                        completableFuture.complete(processServiceCall(converter, response));
+                        completableFuture.complete(convert(key, response));
                     } catch (Exception e) {
                         completableFuture.completeExceptionally(e);
                     }
@@ -437,17 +1637,18 @@ public class DaexClient {
         public CompletableFuture<io.daex.sdk.core.http.Response<T>> rxWithDetails() {
             final CompletableFuture<io.daex.sdk.core.http.Response<T>> completableFuture
                     = new CompletableFuture<>();
+            executed = true;
 
-            call.enqueue(new Callback() {
+            enqueueShared(new Callback() {
                 @Override
                 public void onFailure(Call call, IOException e) {
-                    completableFuture.completeExceptionally(e);
+                    completableFuture.completeExceptionally(unwrap(e));
                 }
 
                 @Override
                 public void onResponse(Call call, Response response) {
                     try {
-                        T responseModel = processServiceCall(converter, response);
+                        T responseModel = convert(cacheKey(), response);
                         completableFuture.complete(new io.daex.sdk.core.http.Response<>(responseModel, response));
                     } catch (Exception e) {
                         completableFuture.completeExceptionally(e);
@@ -462,8 +1663,8 @@ public class DaexClient {
         protected void finalize() throws Throwable {
             super.finalize();
 
-            if (!call.isExecuted()) {
-                final Request r = call.request();
+            if (!executed) {
+                final Request r = request;
                 LOG.warning(r.method() + " request to " + r.url() + " has not been sent. Did you forget to call execute()?");
             }
         }
@@ -2,25 +2,27 @@ package io.daex.sdk.core.client;
 
 import io.daex.sdk.core.util.ResourceLoader;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.AccessControlException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
 
 
 public class DaexClientConfig {
 
+    private static final Logger LOG = Logger.getLogger(DaexClientConfig.class.getName());
+
     /**
-     * Singleton instance variable
+     * Immutable snapshot of the configuration, defaults included. Reads take no lock, unlike {@link Properties}.
      */
-    private static DaexClientConfig conf;
+    private final Map<String, String> values;
 
     /**
-     * Underlying property implementation
+     * Keys whose invalid value was already reported.
      */
-    private Properties properties;
+    private final Set<String> reportedKeys = ConcurrentHashMap.newKeySet();
 
     /**
      * Default {@link Properties}
@@ -34,6 +36,47 @@ public class DaexClientConfig {
     private static final String MAPI_RSA_PRIVATEKEY = "mApi.rsa.privateKey";
     private static final String TCAPI_RSA_ID = "tcApi.rsa.id";
     private static final String TCAPI_RSA_PRIVATEKEY = "tcApi.rsa.privateKey";
+    private static final String TAPI_SIGN_ALGORITHM = "tApi.sign.algorithm";
+    private static final String MAPI_SIGN_ALGORITHM = "mApi.sign.algorithm";
+    private static final String TCAPI_SIGN_ALGORITHM = "tcApi.sign.algorithm";
+    private static final String TAPI_ROUTES = "tApi.routes";
+    private static final String MAPI_ROUTES = "mApi.routes";
+    private static final String TCAPI_ROUTES = "tcApi.routes";
+    private static final String ROUTES_DEFAULT_API = "routes.defaultApi";
+    private static final String TAPI_MAX_CONCURRENT_CALLS = "tApi.bulkhead.maxConcurrentCalls";
+    private static final String MAPI_MAX_CONCURRENT_CALLS = "mApi.bulkhead.maxConcurrentCalls";
+    private static final String TCAPI_MAX_CONCURRENT_CALLS = "tcApi.bulkhead.maxConcurrentCalls";
+    private static final String MAX_CONCURRENT_CALLS = "bulkhead.maxConcurrentCalls";
+    private static final String PRIORITY_AGING_MILLIS = "bulkhead.priorityAgingMillis";
+    private static final String TAPI_PERMITS_PER_SECOND = "tApi.rateLimit.permitsPerSecond";
+    private static final String MAPI_PERMITS_PER_SECOND = "mApi.rateLimit.permitsPerSecond";
+    private static final String TCAPI_PERMITS_PER_SECOND = "tcApi.rateLimit.permitsPerSecond";
+    private static final String TAPI_BURST = "tApi.rateLimit.burst";
+    private static final String MAPI_BURST = "mApi.rateLimit.burst";
+    private static final String TCAPI_BURST = "tcApi.rateLimit.burst";
+    private static final String ADAPTIVE_LIMIT_ENABLED = "adaptiveLimit.enabled";
+    private static final String ADAPTIVE_INITIAL_LIMIT = "adaptiveLimit.initialLimit";
+    private static final String ADAPTIVE_MIN_LIMIT = "adaptiveLimit.minLimit";
+    private static final String ADAPTIVE_MAX_LIMIT = "adaptiveLimit.maxLimit";
+    private static final String CB_ENABLED = "circuitBreaker.enabled";
+    private static final String CB_FAILURE_RATE_THRESHOLD = "circuitBreaker.failureRateThreshold";
+    private static final String CB_SLOW_CALL_RATE_THRESHOLD = "circuitBreaker.slowCallRateThreshold";
+    private static final String CB_SLOW_CALL_DURATION_MILLIS = "circuitBreaker.slowCallDurationMillis";
+    private static final String CB_SLIDING_WINDOW_SIZE = "circuitBreaker.slidingWindowSize";
+    private static final String CB_MINIMUM_NUMBER_OF_CALLS = "circuitBreaker.minimumNumberOfCalls";
+    private static final String CB_WAIT_DURATION_IN_OPEN_STATE_MILLIS = "circuitBreaker.waitDurationInOpenStateMillis";
+    private static final String CB_PERMITTED_CALLS_IN_HALF_OPEN_STATE = "circuitBreaker.permittedCallsInHalfOpenState";
+    private static final String MAPI_COALESCE_READS = "mApi.coalesceReads";
+    private static final String RESPONSE_CACHE_MAX_BYTES = "responseCache.maxBytes";
+    private static final String RESPONSE_CACHE_TTLS = "responseCache.ttls";
+    private static final String HTTP_CACHE_DIRECTORY = "http.cache.directory";
+    private static final String HTTP_CACHE_MAX_BYTES = "http.cache.maxBytes";
+    private static final String HTTP_CACHE_PATHS = "http.cache.paths";
+    private static final String HTTP_PROTOCOL = "http.protocol";
+    private static final String HTTP_MAX_IDLE_CONNECTIONS = "http.connectionPool.maxIdleConnections";
+    private static final String HTTP_KEEP_ALIVE_SECONDS = "http.connectionPool.keepAliveSeconds";
+    private static final String HTTP_MAX_REQUESTS = "http.dispatcher.maxRequests";
+    private static final String HTTP_MAX_REQUESTS_PER_HOST = "http.dispatcher.maxRequestsPerHost";
 
     // Initialize DEFAULT_PROPERTIES
     static {
@@ -45,18 +88,80 @@ public class DaexClientConfig {
         DEFAULT_PROPERTIES.put(MAPI_RSA_PRIVATEKEY, "");
         DEFAULT_PROPERTIES.put(TCAPI_RSA_ID, "");
         DEFAULT_PROPERTIES.put(TCAPI_RSA_PRIVATEKEY, "");
+        DEFAULT_PROPERTIES.put(TAPI_SIGN_ALGORITHM, "RSA");
+        DEFAULT_PROPERTIES.put(MAPI_SIGN_ALGORITHM, "RSA");
+        DEFAULT_PROPERTIES.put(TCAPI_SIGN_ALGORITHM, "RSA");
+        DEFAULT_PROPERTIES.put(TAPI_ROUTES, "");
+        DEFAULT_PROPERTIES.put(MAPI_ROUTES, "");
+        DEFAULT_PROPERTIES.put(TCAPI_ROUTES, "");
+        DEFAULT_PROPERTIES.put(ROUTES_DEFAULT_API, "");
+        // No bulkhead
+        DEFAULT_PROPERTIES.put(TAPI_MAX_CONCURRENT_CALLS, "0");
+        DEFAULT_PROPERTIES.put(MAPI_MAX_CONCURRENT_CALLS, "0");
+        DEFAULT_PROPERTIES.put(TCAPI_MAX_CONCURRENT_CALLS, "0");
+        DEFAULT_PROPERTIES.put(MAX_CONCURRENT_CALLS, "0");
+        DEFAULT_PROPERTIES.put(PRIORITY_AGING_MILLIS, "500");
+        // No rate limit
+        DEFAULT_PROPERTIES.put(TAPI_PERMITS_PER_SECOND, "0");
+        DEFAULT_PROPERTIES.put(MAPI_PERMITS_PER_SECOND, "0");
+        DEFAULT_PROPERTIES.put(TCAPI_PERMITS_PER_SECOND, "0");
+        DEFAULT_PROPERTIES.put(TAPI_BURST, "1");
+        DEFAULT_PROPERTIES.put(MAPI_BURST, "1");
+        DEFAULT_PROPERTIES.put(TCAPI_BURST, "1");
+        // No adaptive limit
+        DEFAULT_PROPERTIES.put(ADAPTIVE_LIMIT_ENABLED, "false");
+        DEFAULT_PROPERTIES.put(ADAPTIVE_INITIAL_LIMIT, "20");
+        DEFAULT_PROPERTIES.put(ADAPTIVE_MIN_LIMIT, "1");
+        DEFAULT_PROPERTIES.put(ADAPTIVE_MAX_LIMIT, "200");
+        // No circuit breaker
+        DEFAULT_PROPERTIES.put(CB_ENABLED, "false");
+        DEFAULT_PROPERTIES.put(CB_FAILURE_RATE_THRESHOLD, "50");
+        DEFAULT_PROPERTIES.put(CB_SLOW_CALL_RATE_THRESHOLD, "100");
+        DEFAULT_PROPERTIES.put(CB_SLOW_CALL_DURATION_MILLIS, "10000");
+        DEFAULT_PROPERTIES.put(CB_SLIDING_WINDOW_SIZE, "20");
+        DEFAULT_PROPERTIES.put(CB_MINIMUM_NUMBER_OF_CALLS, "10");
+        DEFAULT_PROPERTIES.put(CB_WAIT_DURATION_IN_OPEN_STATE_MILLIS, "30000");
+        DEFAULT_PROPERTIES.put(CB_PERMITTED_CALLS_IN_HALF_OPEN_STATE, "3");
+        DEFAULT_PROPERTIES.put(MAPI_COALESCE_READS, "false");
+        // No response cache
+        DEFAULT_PROPERTIES.put(RESPONSE_CACHE_MAX_BYTES, "0");
+        DEFAULT_PROPERTIES.put(RESPONSE_CACHE_TTLS, "");
+        // No disk cache
+        DEFAULT_PROPERTIES.put(HTTP_CACHE_DIRECTORY, "");
+        DEFAULT_PROPERTIES.put(HTTP_CACHE_MAX_BYTES, "52428800");
+        DEFAULT_PROPERTIES.put(HTTP_CACHE_PATHS, "");
+        DEFAULT_PROPERTIES.put(HTTP_PROTOCOL, "h2");
+        // OkHttp defaults
+        DEFAULT_PROPERTIES.put(HTTP_MAX_IDLE_CONNECTIONS, "5");
+        DEFAULT_PROPERTIES.put(HTTP_KEEP_ALIVE_SECONDS, "300");
+        DEFAULT_PROPERTIES.put(HTTP_MAX_REQUESTS, "64");
+        DEFAULT_PROPERTIES.put(HTTP_MAX_REQUESTS_PER_HOST, "5");
     }
 
     /**
      * Private constructor
      */
     private DaexClientConfig() {
+        this(loadProperties());
+    }
+
+    /**
+     * Creates a configuration of some {@link Properties} over the defaults, instead of {@code sdk_config.properties}.
+     *
+     * @param properties the configured properties
+     */
+    DaexClientConfig(Properties properties) {
+        values = combineDefaultProperties(properties);
+    }
 
-        /*
-         * Load configuration for default 'sdk_config.properties'
-         */
+    /**
+     * Load configuration for default 'sdk_config.properties'
+     *
+     * @return the properties, empty if the file cannot be read
+     */
+    private static Properties loadProperties() {
         ResourceLoader resourceLoader = new ResourceLoader("sdk_config.properties");
-        properties = new Properties();
+        Properties properties = new Properties();
         try {
             InputStream inputStream = resourceLoader.getInputStream();
             properties.load(inputStream);
@@ -67,41 +172,34 @@ public class DaexClientConfig {
         } catch (AccessControlException e) {
             System.out.println("Unable to read sdk_config.properties. Skipping...");
         }
-        properties = combineDefaultProperties(properties);
+        return properties;
     }
 
     /**
-     * Singleton accessor method
+     * Singleton accessor method. The instance is created on first use and safely published by the class loader, so
+     * this method takes no lock.
      *
      * @return ConfigManager object
      */
     public static DaexClientConfig getInstance() {
-        synchronized (DaexClientConfig.class) {
-            if (conf == null) {
-                conf = new DaexClientConfig();
-            }
-        }
-        return conf;
+        return Holder.INSTANCE;
     }
 
     /**
      * Combines some {@link Properties} with Default {@link Properties}
      *
      * @param receivedProperties Properties used to combine with Default {@link Properties}
-     * @return Combined {@link Properties}
-     */
-    private static Properties combineDefaultProperties(Properties receivedProperties) {
-        Properties combinedProperties = new Properties(DEFAULT_PROPERTIES);
-        if ((receivedProperties != null) && (receivedProperties.size() > 0)) {
-            ByteArrayOutputStream bos = new ByteArrayOutputStream(1024);
-            try {
-                receivedProperties.store(bos, null);
-                combinedProperties.load(new ByteArrayInputStream(bos.toByteArray()));
-            } catch (IOException e) {
-                // Something failed trying to load the properties. Skipping...
-            }
+     * @return Combined immutable snapshot
+     */
+    private static Map<String, String> combineDefaultProperties(Properties receivedProperties) {
+        Map<String, String> combined = new HashMap<>();
+        for (String key : DEFAULT_PROPERTIES.stringPropertyNames()) {
+            combined.put(key, DEFAULT_PROPERTIES.getProperty(key));
+        }
+        for (String key : receivedProperties.stringPropertyNames()) {
+            combined.put(key, receivedProperties.getProperty(key));
         }
-        return combinedProperties;
+        return Collections.unmodifiableMap(combined);
     }
 
     public boolean isRSAEnabled() {
@@ -131,6 +229,383 @@ public class DaexClientConfig {
     public String getTcApiRSAPrivateKey() {
         return getValue(TCAPI_RSA_PRIVATEKEY);
     }
+
+    /**
+     * Gets the key algorithm of the TAPI signing key, {@code RSA} or {@code EC}.
+     *
+     * @return the key algorithm
+     */
+    public String getTApiSignAlgorithm() {
+        return getValue(TAPI_SIGN_ALGORITHM);
+    }
+
+    /**
+     * Gets the key algorithm of the MAPI signing key, {@code RSA} or {@code EC}.
+     *
+     * @return the key algorithm
+     */
+    public String getMApiSignAlgorithm() {
+        return getValue(MAPI_SIGN_ALGORITHM);
+    }
+
+    /**
+     * Gets the key algorithm of the TCAPI signing key, {@code RSA} or {@code EC}.
+     *
+     * @return the key algorithm
+     */
+    public String getTcApiSignAlgorithm() {
+        return getValue(TCAPI_SIGN_ALGORITHM);
+    }
+
+    /**
+     * Gets the extra TAPI routes, a comma separated list of paths, path templates and prefixes.
+     *
+     * @return the TAPI routes
+     */
+    public String getTApiRoutes() {
+        return getValue(TAPI_ROUTES);
+    }
+
+    /**
+     * Gets the extra MAPI routes, a comma separated list of paths, path templates and prefixes.
+     *
+     * @return the MAPI routes
+     */
+    public String getMApiRoutes() {
+        return getValue(MAPI_ROUTES);
+    }
+
+    /**
+     * Gets the extra TCAPI routes, a comma separated list of paths, path templates and prefixes.
+     *
+     * @return the TCAPI routes
+     */
+    public String getTcApiRoutes() {
+        return getValue(TCAPI_ROUTES);
+    }
+
+    /**
+     * Gets the name of the api type that signs the paths matching no route, or an empty string if those requests are
+     * sent unsigned.
+     *
+     * @return the default api type name
+     */
+    public String getDefaultApi() {
+        return getValue(ROUTES_DEFAULT_API);
+    }
+    /**
+     * Gets the maximum number of TAPI calls in flight, or 0 if they are not limited.
+     *
+     * @return the maximum number of concurrent calls
+     */
+    public int getTApiMaxConcurrentCalls() {
+        return getIntValue(TAPI_MAX_CONCURRENT_CALLS, 0);
+    }
+
+    /**
+     * Gets the maximum number of MAPI calls in flight, or 0 if they are not limited.
+     *
+     * @return the maximum number of concurrent calls
+     */
+    public int getMApiMaxConcurrentCalls() {
+        return getIntValue(MAPI_MAX_CONCURRENT_CALLS, 0);
+    }
+
+    /**
+     * Gets the maximum number of TCAPI calls in flight, or 0 if they are not limited.
+     *
+     * @return the maximum number of concurrent calls
+     */
+    public int getTcApiMaxConcurrentCalls() {
+        return getIntValue(TCAPI_MAX_CONCURRENT_CALLS, 0);
+    }
+
+    /**
+     * Gets the maximum number of calls of all the api types in flight, or 0 if they are not limited. The
+     * {@code bulkhead.*} settings are the only place where {@link io.daex.sdk.core.http.Priority} applies: calls that
+     * wait for a bulkhead start in priority order, while calls with no bulkhead to wait for, the default, go to the
+     * OkHttp dispatcher in arrival order.
+     *
+     * @return the maximum number of concurrent calls
+     */
+    public int getMaxConcurrentCalls() {
+        return getIntValue(MAX_CONCURRENT_CALLS, 0);
+    }
+
+    /**
+     * Gets how long, in milliseconds, a call waiting in a bulkhead takes to move up one priority level. Unused when no
+     * bulkhead is configured.
+     *
+     * @return the priority aging step in milliseconds
+     */
+    public int getPriorityAgingMillis() {
+        return getIntValue(PRIORITY_AGING_MILLIS, 0);
+    }
+
+    /**
+     * Gets the number of TAPI calls allowed per second for each RSA id, or 0 if they are not rate limited.
+     *
+     * @return the permits per second
+     */
+    public int getTApiPermitsPerSecond() {
+        return getIntValue(TAPI_PERMITS_PER_SECOND, 0);
+    }
+
+    /**
+     * Gets the number of TAPI calls that can be sent at once, before the rate limit spaces them out.
+     *
+     * @return the burst size
+     */
+    public int getTApiBurst() {
+        return getIntValue(TAPI_BURST, 1);
+    }
+
+    /**
+     * Gets the number of MAPI calls allowed per second for each RSA id, or 0 if they are not rate limited.
+     *
+     * @return the permits per second
+     */
+    public int getMApiPermitsPerSecond() {
+        return getIntValue(MAPI_PERMITS_PER_SECOND, 0);
+    }
+
+    /**
+     * Gets the number of MAPI calls that can be sent at once, before the rate limit spaces them out.
+     *
+     * @return the burst size
+     */
+    public int getMApiBurst() {
+        return getIntValue(MAPI_BURST, 1);
+    }
+
+    /**
+     * Gets the number of TCAPI calls allowed per second for each RSA id, or 0 if they are not rate limited.
+     *
+     * @return the permits per second
+     */
+    public int getTcApiPermitsPerSecond() {
+        return getIntValue(TCAPI_PERMITS_PER_SECOND, 0);
+    }
+
+    /**
+     * Gets the number of TCAPI calls that can be sent at once, before the rate limit spaces them out.
+     *
+     * @return the burst size
+     */
+    public int getTcApiBurst() {
+        return getIntValue(TCAPI_BURST, 1);
+    }
+
+    /**
+     * Whether the calls of each endpoint are limited by a concurrency limit adapted to the observed latency.
+     *
+     * @return true if the adaptive limit is enabled
+     */
+    public boolean isAdaptiveLimitEnabled() {
+        return Boolean.parseBoolean(getValue(ADAPTIVE_LIMIT_ENABLED));
+    }
+
+    /**
+     * Gets the adaptive concurrency limit of an endpoint before any of its calls completed.
+     *
+     * @return the initial limit
+     */
+    public int getAdaptiveInitialLimit() {
+        return getIntValue(ADAPTIVE_INITIAL_LIMIT, 1);
+    }
+
+    /**
+     * Gets the lowest adaptive concurrency limit of an endpoint.
+     *
+     * @return the minimum limit
+     */
+    public int getAdaptiveMinLimit() {
+        return getIntValue(ADAPTIVE_MIN_LIMIT, 1);
+    }
+
+    /**
+     * Gets the highest adaptive concurrency limit of an endpoint.
+     *
+     * @return the maximum limit
+     */
+    public int getAdaptiveMaxLimit() {
+        return getIntValue(ADAPTIVE_MAX_LIMIT, 1);
+    }
+
+    /**
+     * Whether the calls of each api type go through a circuit breaker.
+     *
+     * @return true if the circuit breakers are enabled
+     */
+    public boolean isCircuitBreakerEnabled() {
+        return Boolean.parseBoolean(getValue(CB_ENABLED));
+    }
+
+    /**
+     * Gets the percentage of failed calls at which a circuit breaker opens.
+     *
+     * @return the failure rate threshold
+     */
+    public int getCircuitBreakerFailureRateThreshold() {
+        return getIntValue(CB_FAILURE_RATE_THRESHOLD, 1);
+    }
+
+    /**
+     * Gets the percentage of slow calls at which a circuit breaker opens.
+     *
+     * @return the slow call rate threshold
+     */
+    public int getCircuitBreakerSlowCallRateThreshold() {
+        return getIntValue(CB_SLOW_CALL_RATE_THRESHOLD, 1);
+    }
+
+    /**
+     * Gets the duration, in milliseconds, above which a call counts as slow.
+     *
+     * @return the slow call duration
+     */
+    public int getCircuitBreakerSlowCallDurationMillis() {
+        return getIntValue(CB_SLOW_CALL_DURATION_MILLIS, 1);
+    }
+
+    /**
+     * Gets the number of recent calls the circuit breaker rates are computed on.
+     *
+     * @return the sliding window size
+     */
+    public int getCircuitBreakerSlidingWindowSize() {
+        return getIntValue(CB_SLIDING_WINDOW_SIZE, 1);
+    }
+
+    /**
+     * Gets the number of calls recorded before the circuit breaker rates are evaluated.
+     *
+     * @return the minimum number of calls
+     */
+    public int getCircuitBreakerMinimumNumberOfCalls() {
+        return getIntValue(CB_MINIMUM_NUMBER_OF_CALLS, 1);
+    }
+
+    /**
+     * Gets how long, in milliseconds, an open circuit breaker rejects calls before it lets trial calls through.
+     *
+     * @return the open duration
+     */
+    public int getCircuitBreakerWaitDurationInOpenStateMillis() {
+        return getIntValue(CB_WAIT_DURATION_IN_OPEN_STATE_MILLIS, 1);
+    }
+
+    /**
+     * Gets the number of trial calls a half open circuit breaker lets through.
+     *
+     * @return the number of trial calls
+     */
+    public int getCircuitBreakerPermittedCallsInHalfOpenState() {
+        return getIntValue(CB_PERMITTED_CALLS_IN_HALF_OPEN_STATE, 1);
+    }
+
+    /**
+     * Whether identical concurrent MAPI reads share one HTTP call.
+     *
+     * @return true if the reads are coalesced
+     */
+    public boolean isMApiCoalesceReads() {
+        return Boolean.parseBoolean(getValue(MAPI_COALESCE_READS));
+    }
+
+    /**
+     * Gets the maximum total size, in bytes, of the cached read results, or 0 if they are not cached.
+     *
+     * @return the maximum size of the response cache
+     */
+    public int getResponseCacheMaxBytes() {
+        return getIntValue(RESPONSE_CACHE_MAX_BYTES, 0);
+    }
+
+    /**
+     * Gets the read paths whose results are cached, a comma separated list of {@code path=ttlMillis} pairs.
+     *
+     * @return the time to live of the cached paths
+     */
+    public String getResponseCacheTtls() {
+        return getValue(RESPONSE_CACHE_TTLS);
+    }
+
+    /**
+     * Gets the directory of the disk cache of the HTTP responses, or an empty string if there is none.
+     *
+     * @return the cache directory
+     */
+    public String getHttpCacheDirectory() {
+        return getValue(HTTP_CACHE_DIRECTORY);
+    }
+
+    /**
+     * Gets the maximum size, in bytes, of the disk cache of the HTTP responses.
+     *
+     * @return the maximum cache size
+     */
+    public int getHttpCacheMaxBytes() {
+        return getIntValue(HTTP_CACHE_MAX_BYTES, 1);
+    }
+
+    /**
+     * Gets the paths whose responses are cached on disk when the gateway sends no caching headers, a comma separated
+     * list of {@code path=maxAgeSeconds} pairs.
+     *
+     * @return the cached paths
+     */
+    public String getHttpCachePaths() {
+        return getValue(HTTP_CACHE_PATHS);
+    }
+
+    /**
+     * Gets the HTTP protocol: {@code h2} (HTTP/2 over TLS when offered, else HTTP/1.1), {@code http1} or {@code h2c}
+     * (cleartext HTTP/2 with prior knowledge). With HTTP/2, raise {@code http.dispatcher.maxRequestsPerHost}, as all the
+     * calls to a host share one connection.
+     *
+     * @return the HTTP protocol
+     */
+    public String getHttpProtocol() {
+        return getValue(HTTP_PROTOCOL);
+    }
+
+    /**
+     * Gets the maximum number of idle connections kept in the connection pool.
+     *
+     * @return the maximum number of idle connections
+     */
+    public int getMaxIdleConnections() {
+        return getIntValue(HTTP_MAX_IDLE_CONNECTIONS, 1);
+    }
+
+    /**
+     * Gets how long, in seconds, an idle connection is kept in the connection pool.
+     *
+     * @return the keep alive duration in seconds
+     */
+    public int getKeepAliveSeconds() {
+        return getIntValue(HTTP_KEEP_ALIVE_SECONDS, 1);
+    }
+
+    /**
+     * Gets the maximum number of asynchronous requests executed concurrently.
+     *
+     * @return the maximum number of requests
+     */
+    public int getMaxRequests() {
+        return getIntValue(HTTP_MAX_REQUESTS, 1);
+    }
+
+    /**
+     * Gets the maximum number of asynchronous requests executed concurrently against a single host.
+     *
+     * @return the maximum number of requests per host
+     */
+    public int getMaxRequestsPerHost() {
+        return getIntValue(HTTP_MAX_REQUESTS_PER_HOST, 1);
+    }
+
     /**
      * Returns a value for the corresponding key
      *
@@ -138,8 +613,34 @@ public class DaexClientConfig {
      * @return String value
      */
     private String getValue(String key) {
-        return properties.getProperty(key);
+        return values.get(key);
     }
 
+    /**
+     * Returns an int value for the corresponding key, or its default if the configured value is not an int of at least
+     * {@code min}. An invalid value is reported once per key.
+     *
+     * @param key String key
+     * @param min the smallest valid value
+     * @return int value
+     */
+    private int getIntValue(String key, int min) {
+        try {
+            int value = Integer.parseInt(getValue(key).trim());
+            if (value >= min) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // Fall back to the default below
+        }
+        if (reportedKeys.add(key)) {
+            LOG.warning("Invalid value " + getValue(key) + " for " + key + ", using "
+                    + DEFAULT_PROPERTIES.getProperty(key));
+        }
+        return Integer.parseInt(DEFAULT_PROPERTIES.getProperty(key));
+    }
 
+    private static final class Holder {
+        private static final DaexClientConfig INSTANCE = new DaexClientConfig();
+    }
 }
@@ -0,0 +1,55 @@
+package io.daex.sdk.core.client;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+
+/**
+ * Measures how long the exchange of a single {@link okhttp3.Call} takes, attached to its {@link Request} as a typed
+ * tag. The clock starts when {@link #INTERCEPTOR} sees the call, i.e. once the dispatcher runs it and the request is
+ * signed, so the time spent queued in the dispatcher or waiting for a signing thread is not counted as latency.
+ */
+final class ExchangeStopwatch {
+
+    /**
+     * Application interceptor that starts the stopwatch of the request, if any. It must come after the other
+     * application interceptors of {@link DaexClient}.
+     */
+    static final Interceptor INTERCEPTOR = new Interceptor() {
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            ExchangeStopwatch stopwatch = chain.request().tag(ExchangeStopwatch.class);
+            if (stopwatch != null) {
+                stopwatch.startNanos = System.nanoTime();
+            }
+            return chain.proceed(chain.request());
+        }
+    };
+
+    /**
+     * When the call was created, until it starts.
+     */
+    private volatile long startNanos = System.nanoTime();
+
+    /**
+     * Attaches a new stopwatch to a request.
+     *
+     * @param request the request
+     * @param stopwatch the stopwatch
+     * @return the request carrying the stopwatch
+     */
+    static Request attach(Request request, ExchangeStopwatch stopwatch) {
+        return request.newBuilder().tag(ExchangeStopwatch.class, stopwatch).build();
+    }
+
+    /**
+     * Gets the time since the exchange started.
+     *
+     * @return the elapsed time, in nanoseconds
+     */
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+}
@@ -0,0 +1,183 @@
+package io.daex.sdk.core.client;
+
+import io.daex.sdk.core.service.security.CanonicalQuery;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lets identical concurrent reads share one HTTP call ("singleflight"). The first caller of a key leads: it sends the
+ * call, and the response body is buffered so that every caller, the leader included, gets its own copy of the
+ * {@link Response} to convert. Callers that arrive once the call has completed start a new one.
+ * <p>
+ * Reads are identical when they have the same method, URL with a canonical query and headers. The authentication
+ * headers are not part of the key, as requests are signed only when they are sent.
+ */
+final class ReadCoalescer {
+
+    private static final Logger LOG = Logger.getLogger(ReadCoalescer.class.getName());
+
+    private final ConcurrentMap<String, Flight> flights = new ConcurrentHashMap<>();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Gets the key of a read.
+     *
+     * @param request the request
+     * @return the key
+     */
+    static String key(Request request) {
+        final String query = request.url().encodedQuery();
+        final StringBuilder sb = new StringBuilder(128)
+                .append(request.method()).append(' ')
+                .append(request.url().scheme()).append("://").append(request.url().host()).append(':')
+                .append(request.url().port()).append(request.url().encodedPath());
+        if (query != null) {
+            sb.append('?').append(CanonicalQuery.canonicalize(query));
+        }
+        return sb.append('\n').append(request.headers()).toString();
+    }
+
+    /**
+     * Joins the call of a key, or leads a new one.
+     *
+     * @param key the key of the read
+     * @param request the request of the caller, set on its copy of the response
+     * @param callback the callback of the caller
+     * @return {@code true} if the caller leads and must send the call, then report it with {@link #complete} or
+     * {@link #fail}
+     */
+    boolean join(String key, Request request, Callback callback) {
+        for (;;) {
+            Flight flight = flights.get(key);
+            if (flight == null) {
+                Flight created = new Flight();
+                created.add(request, callback);
+                if (flights.putIfAbsent(key, created) == null) {
+                    calls.incrementAndGet();
+                    return true;
+                }
+            } else if (flight.add(request, callback)) {
+                coalesced.incrementAndGet();
+                return false;
+            } else {
+                // Completed, but not removed yet
+                flights.remove(key, flight);
+            }
+        }
+    }
+
+    /**
+     * Delivers the response of a call to all its callers.
+     *
+     * @param key the key of the read
+     * @param response the response
+     */
+    void complete(String key, Response response) {
+        final byte[] bytes;
+        final MediaType contentType;
+        try {
+            contentType = response.body() != null ? response.body().contentType() : null;
+            bytes = response.body() != null ? response.body().bytes() : new byte[0];
+        } catch (IOException e) {
+            fail(key, e);
+            return;
+        } finally {
+            response.close();
+        }
+        final Flight flight = finish(key);
+        if (flight == null) {
+            return;
+        }
+        for (int i = 0; i < flight.requests.size(); i++) {
+            final Response copy = response.newBuilder()
+                    .request(flight.requests.get(i))
+                    .body(ResponseBody.create(contentType, bytes))
+                    .build();
+            try {
+                flight.callbacks.get(i).onResponse(null, copy);
+            } catch (IOException | RuntimeException e) {
+                LOG.log(Level.WARNING, "Failed to deliver a coalesced response", e);
+            }
+        }
+    }
+
+    /**
+     * Delivers the failure of a call to all its callers.
+     *
+     * @param key the key of the read
+     * @param e the failure
+     */
+    void fail(String key, IOException e) {
+        final Flight flight = finish(key);
+        if (flight == null) {
+            return;
+        }
+        for (Callback callback : flight.callbacks) {
+            callback.onFailure(null, e);
+        }
+    }
+
+    private Flight finish(String key) {
+        final Flight flight = flights.get(key);
+        if (flight == null) {
+            LOG.warning("No read in flight for " + key.substring(0, key.indexOf('\n')) + ", it was already reported");
+            return null;
+        }
+        flight.close();
+        flights.remove(key, flight);
+        return flight;
+    }
+
+    /**
+     * Gets the number of HTTP calls sent for coalesced reads.
+     *
+     * @return the number of calls
+     */
+    long getCallCount() {
+        return calls.get();
+    }
+
+    /**
+     * Gets the number of reads that joined a call already in flight.
+     *
+     * @return the number of coalesced reads
+     */
+    long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * The callers of one call.
+     */
+    private static final class Flight {
+        private final List<Request> requests = new ArrayList<>(2);
+        private final List<Callback> callbacks = new ArrayList<>(2);
+        private boolean closed;
+
+        private synchronized boolean add(Request request, Callback callback) {
+            if (closed) {
+                return false;
+            }
+            requests.add(request);
+            callbacks.add(callback);
+            return true;
+        }
+
+        private synchronized void close() {
+            closed = true;
+        }
+    }
+}
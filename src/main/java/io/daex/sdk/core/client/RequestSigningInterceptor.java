@@ -0,0 +1,51 @@
+package io.daex.sdk.core.client;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+
+/**
+ * Application interceptor that adds the RSA signature headers right before the request goes on the wire. Calls that
+ * wait in the dispatcher queue, or are executed long after they were created, still carry a fresh nonce and timestamp,
+ * and every new {@link okhttp3.Call} of the same request is signed again. Requests already signed by {@link #sign}, on
+ * the {@link SigningExecutor} of the client, go through as they are.
+ */
+class RequestSigningInterceptor implements Interceptor {
+
+    private final DaexClient daexClient;
+
+    RequestSigningInterceptor(DaexClient daexClient) {
+        this.daexClient = daexClient;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        final Request request = chain.request();
+        if (request.tag(RequestSigningInterceptor.class) == this) {
+            return chain.proceed(request);
+        }
+        return chain.proceed(sign(request));
+    }
+
+    /**
+     * Signs a request ahead of its call, marking it so this interceptor does not sign it again.
+     *
+     * @param request the request
+     * @return the signed request
+     * @throws IOException if the request cannot be signed
+     */
+    Request sign(Request request) throws IOException {
+        final CallContext context = CallContext.of(request);
+        final Request.Builder builder = request.newBuilder();
+        try {
+            daexClient.setRSAHeaders(request, builder, context != null ? context.getJsonBody() : null);
+        } catch (RuntimeException e) {
+            // An IOException reaches the callback of an asynchronous call, while OkHttp drops the call without calling
+            // back on any RuntimeException, e.g. from a custom signer
+            throw new IOException("Failed to sign request to " + request.url(), e);
+        }
+        return builder.tag(RequestSigningInterceptor.class, this).build();
+    }
+}
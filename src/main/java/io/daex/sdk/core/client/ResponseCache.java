@@ -0,0 +1,275 @@
+package io.daex.sdk.core.client;
+
+import io.daex.sdk.core.util.Validator;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Cache of the converted results of {@code GET} calls to configured read paths, so a hit skips both the network and
+ * the JSON parsing. Each path has its own time to live; a path can also have a predicate that marks a result as final,
+ * e.g. a transaction in a final state, which then never expires.
+ * <p>
+ * The cache is bounded by the total size of the cached responses, approximated by the length of their decoded HTTP
+ * bodies, and evicts the least recently used entries first. Lookups take no lock: a hit only stamps its entry with the
+ * time of the access, and the stamps are compared when a put goes over the bound, so the order is approximate under
+ * concurrent hits. Cached results are shared by all the callers: they must not be modified.
+ */
+public final class ResponseCache {
+
+    /**
+     * Weight of a response of unknown length.
+     */
+    static final long DEFAULT_WEIGHT = 1024;
+
+    private final long maxBytes;
+    private final Map<String, Long> ttlNanos;
+    private final Map<String, Predicate<Object>> finalPredicates;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>(64);
+    // Sum of the weights of the entries, updated by whoever removes an entry from the map
+    private final AtomicLong bytes = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private ResponseCache(Builder builder) {
+        this.maxBytes = builder.maxBytes;
+        this.ttlNanos = new HashMap<>(builder.ttlNanos);
+        this.finalPredicates = new HashMap<>(builder.finalPredicates);
+    }
+
+    public static class Builder {
+
+        private long maxBytes = 16 * 1024 * 1024;
+        private final Map<String, Long> ttlNanos = new HashMap<>();
+        private final Map<String, Predicate<Object>> finalPredicates = new HashMap<>();
+
+        public ResponseCache build() {
+            Validator.isTrue(maxBytes > 0, "maxBytes must be positive");
+            return new ResponseCache(this);
+        }
+
+        /**
+         * Sets the maximum total size of the cached responses. Defaults to 16 MB.
+         *
+         * @param maxBytes the maximum size in bytes
+         * @return the builder
+         */
+        public Builder maxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
+        /**
+         * Caches the results of a path.
+         *
+         * @param path the request path
+         * @param ttlMillis how long, in milliseconds, a result is served from the cache
+         * @return the builder
+         */
+        public Builder ttl(String path, long ttlMillis) {
+            Validator.notEmpty(path, "path cannot be empty");
+            Validator.isTrue(ttlMillis > 0, "ttlMillis must be positive");
+            ttlNanos.put(path, TimeUnit.MILLISECONDS.toNanos(ttlMillis));
+            return this;
+        }
+
+        /**
+         * Caches the results of a path as long as possible once they are final.
+         *
+         * @param path the request path, which must also have a time to live
+         * @param isFinal tells whether a converted result will never change
+         * @return the builder
+         */
+        public Builder immutableWhen(String path, Predicate<Object> isFinal) {
+            Validator.notEmpty(path, "path cannot be empty");
+            Validator.notNull(isFinal, "isFinal cannot be null");
+            finalPredicates.put(path, isFinal);
+            return this;
+        }
+
+        /**
+         * Caches the paths of a comma separated list of {@code path=ttlMillis} pairs.
+         *
+         * @param ttls the pairs, may be {@code null} or empty
+         * @return the builder
+         */
+        public Builder ttls(String ttls) {
+            if (ttls != null) {
+                for (String pair : ttls.split(",")) {
+                    int eq = pair.indexOf('=');
+                    if (eq > 0) {
+                        ttl(pair.substring(0, eq).trim(), Long.parseLong(pair.substring(eq + 1).trim()));
+                    }
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Tells whether the results of a path are cached.
+     *
+     * @param path the request path
+     * @return {@code true} if the path has a time to live
+     */
+    public boolean isCacheable(String path) {
+        return ttlNanos.containsKey(path);
+    }
+
+    /**
+     * Gets a cached result.
+     *
+     * @param key the key of the request
+     * @return the result, or {@code null} if it is not cached or has expired
+     */
+    public Object get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            long now = System.nanoTime();
+            if (entry.immutable || now - entry.expiresAt < 0) {
+                entry.accessedAt = now;
+                hits.incrementAndGet();
+                return entry.value;
+            }
+            remove(key, entry);
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Caches a result.
+     *
+     * @param key the key of the request
+     * @param path the request path
+     * @param value the converted result
+     * @param weight the size of the response in bytes, or -1 if it is unknown
+     */
+    public void put(String key, String path, Object value, long weight) {
+        Long ttl = ttlNanos.get(path);
+        if (ttl == null || value == null) {
+            return;
+        }
+        Predicate<Object> isFinal = finalPredicates.get(path);
+        boolean immutable = isFinal != null && isFinal.test(value);
+        long now = System.nanoTime();
+        Entry entry = new Entry(value, weight < 0 ? DEFAULT_WEIGHT : weight, now + ttl, immutable, now);
+        if (entry.weight > maxBytes) {
+            return;
+        }
+        // Puts are serialized so that only one of them evicts at a time, hits are not
+        synchronized (this) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                bytes.addAndGet(-previous.weight);
+            }
+            bytes.addAndGet(entry.weight);
+            while (bytes.get() > maxBytes) {
+                Map.Entry<String, Entry> eldest = null;
+                for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                    if (eldest == null || e.getValue().accessedAt - eldest.getValue().accessedAt < 0) {
+                        eldest = e;
+                    }
+                }
+                if (eldest == null) {
+                    break;
+                }
+                if (remove(eldest.getKey(), eldest.getValue())) {
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private boolean remove(String key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            bytes.addAndGet(-entry.weight);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Drops all the cached results.
+     */
+    public void clear() {
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            remove(e.getKey(), e.getValue());
+        }
+    }
+
+    /**
+     * Gets the number of lookups served from the cache.
+     *
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of lookups not served from the cache.
+     *
+     * @return the number of misses
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of entries evicted to stay under the size bound.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * Gets the total size of the cached responses.
+     *
+     * @return the size in bytes
+     */
+    public long getSizeBytes() {
+        return bytes.get();
+    }
+
+    /**
+     * Gets the number of cached results.
+     *
+     * @return the number of entries
+     */
+    public int getEntryCount() {
+        return entries.size();
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseCache[entries=" + getEntryCount() + ", bytes=" + getSizeBytes() + ", hits=" + hits.get()
+                + ", misses=" + misses.get() + ", evictions=" + evictions.get() + "]";
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long weight;
+        private final long expiresAt;
+        private final boolean immutable;
+        private volatile long accessedAt;
+
+        private Entry(Object value, long weight, long expiresAt, boolean immutable, long accessedAt) {
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+            this.immutable = immutable;
+            this.accessedAt = accessedAt;
+        }
+    }
+}
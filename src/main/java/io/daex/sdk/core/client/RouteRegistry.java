@@ -0,0 +1,273 @@
+package io.daex.sdk.core.client;
+
+import io.daex.sdk.core.enums.ApiType;
+import io.daex.sdk.core.util.Validator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compiled registry that resolves a request path to the {@link ApiType} whose credentials sign it. Routes are stored in
+ * a trie of path segments and a lookup walks the path without allocating. Three kinds of route are supported:
+ *
+ * <ul>
+ *   <li>exact paths, e.g. {@code /api/service/transfer}</li>
+ *   <li>path templates, where a {@code {name}} segment matches any single segment, e.g.
+ *   {@code /api/service/order/{id}}</li>
+ *   <li>prefixes ending in {@code /**}, which match the path itself and everything below it, e.g.
+ *   {@code /api/service/admin/**}</li>
+ * </ul>
+ *
+ * Literal segments take precedence over templates, and the longest matching prefix wins. When the routes below a
+ * literal segment match nothing, the lookup backtracks to the template of that segment, then to the prefixes above it.
+ * Paths that match no route resolve to the default {@link ApiType}, if any.
+ */
+public final class RouteRegistry {
+
+    private final Node root;
+    private final ApiType defaultApiType;
+
+    private RouteRegistry(Builder builder) {
+        this.root = builder.root.compile();
+        this.defaultApiType = builder.defaultApiType;
+    }
+
+    /**
+     * Gets the registry built from {@link ApiType#apiTypeMap}, the {@code *.routes} settings and the
+     * {@code routes.defaultApi} setting of {@code sdk_config.properties}.
+     *
+     * @return the default route registry
+     */
+    public static RouteRegistry getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Resolves the {@link ApiType} of a request path.
+     *
+     * @param path the request path
+     * @return the api type, or {@code null} if no route matches and there is no default
+     */
+    public ApiType resolve(String path) {
+        ApiType apiType = match(root, path, 0);
+        return apiType != null ? apiType : defaultApiType;
+    }
+
+    /**
+     * Matches the rest of a path, from {@code start}, below a node: through the literal child first, then the template
+     * child, then the prefix route of the node itself.
+     *
+     * @return the api type, or {@code null} if no route below the node matches
+     */
+    private static ApiType match(Node node, String path, int start) {
+        int length = path.length();
+        while (start < length && path.charAt(start) == '/') {
+            start++;
+        }
+        if (start == length) {
+            return node.exact != null ? node.exact : node.prefix;
+        }
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = length;
+        }
+        Node literal = node.literal(path, start, end);
+        if (literal != null) {
+            ApiType apiType = match(literal, path, end);
+            if (apiType != null) {
+                return apiType;
+            }
+        }
+        if (node.template != null) {
+            ApiType apiType = match(node.template, path, end);
+            if (apiType != null) {
+                return apiType;
+            }
+        }
+        return node.prefix;
+    }
+
+    /**
+     * Gets the {@link ApiType} of the paths that match no route.
+     *
+     * @return the default api type, or {@code null}
+     */
+    public ApiType getDefaultApiType() {
+        return defaultApiType;
+    }
+
+    /**
+     * Builder of {@link RouteRegistry}.
+     */
+    public static class Builder {
+
+        private final MutableNode root = new MutableNode();
+        private ApiType defaultApiType;
+
+        public RouteRegistry build() {
+            return new RouteRegistry(this);
+        }
+
+        /**
+         * Adds a route. A later route with the same pattern replaces the earlier one.
+         *
+         * @param pattern the exact path, path template or prefix
+         * @param apiType the api type of the matching paths
+         * @return the builder
+         */
+        public Builder route(String pattern, ApiType apiType) {
+            Validator.notEmpty(pattern, "pattern cannot be empty");
+            Validator.notNull(apiType, "apiType cannot be null");
+
+            MutableNode node = root;
+            String[] segments = pattern.trim().split("/");
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.isEmpty()) {
+                    continue;
+                }
+                if ("**".equals(segment)) {
+                    Validator.isTrue(i == segments.length - 1, "'**' must be the last segment of " + pattern);
+                    node.prefix = apiType;
+                    return this;
+                }
+                node = node.child(isTemplate(segment) ? null : segment);
+            }
+            node.exact = apiType;
+            return this;
+        }
+
+        /**
+         * Adds the routes of a comma separated list of patterns.
+         *
+         * @param patterns the patterns, may be {@code null} or empty
+         * @param apiType the api type of the matching paths
+         * @return the builder
+         */
+        public Builder routes(String patterns, ApiType apiType) {
+            if (patterns != null) {
+                for (String pattern : patterns.split(",")) {
+                    if (!pattern.trim().isEmpty()) {
+                        route(pattern, apiType);
+                    }
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Sets the {@link ApiType} of the paths that match no route.
+         *
+         * @param defaultApiType the default api type
+         * @return the builder
+         */
+        public Builder defaultApiType(ApiType defaultApiType) {
+            this.defaultApiType = defaultApiType;
+            return this;
+        }
+
+        private static boolean isTemplate(String segment) {
+            return segment.length() > 1 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}';
+        }
+    }
+
+    /**
+     * Trie node used while building. A {@code null} key is the template child.
+     */
+    private static final class MutableNode {
+        private final Map<String, MutableNode> children = new LinkedHashMap<>();
+        private ApiType exact;
+        private ApiType prefix;
+
+        private MutableNode child(String segment) {
+            MutableNode child = children.get(segment);
+            if (child == null) {
+                child = new MutableNode();
+                children.put(segment, child);
+            }
+            return child;
+        }
+
+        private Node compile() {
+            List<String> literals = new ArrayList<>();
+            List<Node> literalNodes = new ArrayList<>();
+            Node template = null;
+            for (Map.Entry<String, MutableNode> e : children.entrySet()) {
+                if (e.getKey() == null) {
+                    template = e.getValue().compile();
+                } else {
+                    literals.add(e.getKey());
+                    literalNodes.add(e.getValue().compile());
+                }
+            }
+            return new Node(literals.toArray(new String[0]), literalNodes.toArray(new Node[0]), template, exact, prefix);
+        }
+    }
+
+    /**
+     * Immutable trie node used for lookups.
+     */
+    private static final class Node {
+        private final String[] literals;
+        private final int[] hashes;
+        private final Node[] children;
+        private final Node template;
+        private final ApiType exact;
+        private final ApiType prefix;
+
+        private Node(String[] literals, Node[] children, Node template, ApiType exact, ApiType prefix) {
+            this.literals = literals;
+            this.children = children;
+            this.template = template;
+            this.exact = exact;
+            this.prefix = prefix;
+            this.hashes = new int[literals.length];
+            for (int i = 0; i < literals.length; i++) {
+                hashes[i] = literals[i].hashCode();
+            }
+        }
+
+        /**
+         * Finds the literal child matching the segment {@code path[start, end)}.
+         */
+        private Node literal(String path, int start, int end) {
+            if (literals.length > 0) {
+                int hash = 0;
+                for (int i = start; i < end; i++) {
+                    hash = 31 * hash + path.charAt(i);
+                }
+                int length = end - start;
+                for (int i = 0; i < literals.length; i++) {
+                    if (hashes[i] == hash && literals[i].length() == length
+                            && path.regionMatches(start, literals[i], 0, length)) {
+                        return children[i];
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class DefaultHolder {
+        private static final RouteRegistry INSTANCE = createDefault();
+
+        @SuppressWarnings("deprecation")
+        private static RouteRegistry createDefault() {
+            Builder builder = new Builder();
+            for (Map.Entry<String, ApiType> e : ApiType.apiTypeMap.entrySet()) {
+                builder.route(e.getKey(), e.getValue());
+            }
+            for (ApiType apiType : ApiType.values()) {
+                builder.routes(apiType.getRoutes(), apiType);
+            }
+            String defaultApi = DaexClientConfig.getInstance().getDefaultApi();
+            if (defaultApi != null && !defaultApi.trim().isEmpty()) {
+                builder.defaultApiType(ApiType.valueOf(defaultApi.trim().toUpperCase(Locale.ROOT)));
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.daex.sdk.core.client;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded worker pool that signs the asynchronous calls of {@link DaexClient} before they are handed to the OkHttp
+ * dispatcher, so at most {@code threads} requests are signed at once and the backlog shows in
+ * {@link #getQueueDepth()}. When the queue is full the task runs on the submitting thread, which slows producers down
+ * instead of dropping requests. Once the pool is shut down, {@link #execute(Runnable)} throws a
+ * {@link RejectedExecutionException}.
+ */
+public class SigningExecutor implements Executor {
+
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong callerRuns = new AtomicLong();
+
+    /**
+     * Instantiates a new signing executor.
+     *
+     * @param threads the number of signing threads
+     * @param queueCapacity the maximum number of requests waiting to be signed
+     */
+    public SigningExecutor(int threads, int queueCapacity) {
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(queueCapacity), new SigningThreadFactory(), new RejectedExecutionHandler() {
+            @Override
+            public void rejectedExecution(Runnable r, ThreadPoolExecutor e) {
+                if (e.isShutdown()) {
+                    throw new RejectedExecutionException("The signing executor is shut down");
+                }
+                callerRuns.incrementAndGet();
+                r.run();
+            }
+        });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    /**
+     * Gets the number of requests waiting to be signed.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Gets the number of requests being signed.
+     *
+     * @return the active count
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Gets the number of requests signed by the pool.
+     *
+     * @return the completed count
+     */
+    public long getCompletedCount() {
+        return executor.getCompletedTaskCount();
+    }
+
+    /**
+     * Gets the number of requests signed on the caller thread because the queue was full.
+     *
+     * @return the caller runs count
+     */
+    public long getCallerRunsCount() {
+        return callerRuns.get();
+    }
+
+    /**
+     * Stops accepting new requests. Queued requests are still signed and dispatched, while {@link DaexClient} signs
+     * the new ones on the dispatcher thread that runs them.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static class SigningThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "daex-signing-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,37 +1,71 @@
 package io.daex.sdk.core.enums;
 
 import io.daex.sdk.core.client.DaexClientConfig;
+import io.daex.sdk.core.http.Priority;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
  * Created by qingyun.yu on 2018/9/17.
  */
 public enum ApiType {
-    TAPI(DaexClientConfig.getInstance().getTApiRSAId(), DaexClientConfig.getInstance().getTApiRSAPrivateKey()),
-    MAPI(DaexClientConfig.getInstance().getMApiRSAId(), DaexClientConfig.getInstance().getMApiRSAPrivateKey()),
-    TCAPI(DaexClientConfig.getInstance().getTcApiRSAId(), DaexClientConfig.getInstance().getTcApiRSAPrivateKey());
+    TAPI(DaexClientConfig.getInstance().getTApiRSAId(), DaexClientConfig.getInstance().getTApiRSAPrivateKey(),
+            DaexClientConfig.getInstance().getTApiSignAlgorithm(), DaexClientConfig.getInstance().getTApiRoutes(),
+            DaexClientConfig.getInstance().getTApiMaxConcurrentCalls(),
+            DaexClientConfig.getInstance().getTApiPermitsPerSecond(), DaexClientConfig.getInstance().getTApiBurst()),
+    MAPI(DaexClientConfig.getInstance().getMApiRSAId(), DaexClientConfig.getInstance().getMApiRSAPrivateKey(),
+            DaexClientConfig.getInstance().getMApiSignAlgorithm(), DaexClientConfig.getInstance().getMApiRoutes(),
+            DaexClientConfig.getInstance().getMApiMaxConcurrentCalls(),
+            DaexClientConfig.getInstance().getMApiPermitsPerSecond(), DaexClientConfig.getInstance().getMApiBurst()),
+    TCAPI(DaexClientConfig.getInstance().getTcApiRSAId(), DaexClientConfig.getInstance().getTcApiRSAPrivateKey(),
+            DaexClientConfig.getInstance().getTcApiSignAlgorithm(), DaexClientConfig.getInstance().getTcApiRoutes(),
+            DaexClientConfig.getInstance().getTcApiMaxConcurrentCalls(),
+            DaexClientConfig.getInstance().getTcApiPermitsPerSecond(), DaexClientConfig.getInstance().getTcApiBurst());
 
     private String apiId;
     private String apiPrivateKey;
-    public static final Map<String, ApiType> apiTypeMap = new HashMap<>();
+    private String keyAlgorithm;
+    private String routes;
+    private int maxConcurrentCalls;
+    private int permitsPerSecond;
+    private int burst;
+
+    /**
+     * Built-in routes, read once into {@link io.daex.sdk.core.client.RouteRegistry#getDefault()}. The map cannot be
+     * modified.
+     *
+     * @deprecated add routes with the {@code *.routes} settings of {@code sdk_config.properties}, or build a
+     * {@link io.daex.sdk.core.client.RouteRegistry} and set it on the client, and resolve paths with it.
+     */
+    @Deprecated
+    public static final Map<String, ApiType> apiTypeMap;
 
     static {
-        apiTypeMap.put("/api/service/transfer", TAPI);
-        apiTypeMap.put("/api/service/putApply", TAPI);
-        apiTypeMap.put("/api/service/walletAddress", TAPI);
-        apiTypeMap.put("/api/service/putApplyConfirm", TCAPI);
-        apiTypeMap.put("/api/service/getBalance", MAPI);
-        apiTypeMap.put("/api/service/getTransaction", MAPI);
-        apiTypeMap.put("/api/service/getTransactionList", MAPI);
+        Map<String, ApiType> routes = new HashMap<>();
+        routes.put("/api/service/transfer", TAPI);
+        routes.put("/api/service/putApply", TAPI);
+        routes.put("/api/service/walletAddress", TAPI);
+        routes.put("/api/service/putApplyConfirm", TCAPI);
+        routes.put("/api/service/getBalance", MAPI);
+        routes.put("/api/service/getTransaction", MAPI);
+        routes.put("/api/service/getTransactionList", MAPI);
+        apiTypeMap = Collections.unmodifiableMap(routes);
     }
 
-    ApiType(String apiId, String apiPrivateKey) {
+    ApiType(String apiId, String apiPrivateKey, String keyAlgorithm, String routes, int maxConcurrentCalls,
+            int permitsPerSecond, int burst) {
         this.apiId = apiId;
         this.apiPrivateKey = apiPrivateKey;
+        this.keyAlgorithm = keyAlgorithm.trim().toUpperCase(Locale.ROOT);
+        this.routes = routes;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
     }
 
     public String getApiId() {
@@ -41,4 +75,65 @@ public enum ApiType {
     public String getApiPrivateKey() {
         return this.apiPrivateKey;
     }
+
+    /**
+     * Gets the key algorithm of the signing key, {@code RSA} or {@code EC}.
+     *
+     * @return the key algorithm
+     */
+    public String getKeyAlgorithm() {
+        return this.keyAlgorithm;
+    }
+
+    /**
+     * Gets the configured routes of this api type, a comma separated list of paths, path templates and prefixes.
+     *
+     * @return the routes
+     */
+    public String getRoutes() {
+        return this.routes;
+    }
+
+    /**
+     * Gets the maximum number of calls of this api type in flight, or 0 if they are not limited.
+     *
+     * @return the maximum number of concurrent calls
+     */
+    public int getMaxConcurrentCalls() {
+        return this.maxConcurrentCalls;
+    }
+
+    /**
+     * Gets the number of calls of this api type allowed per second for each RSA id, or 0 if they are not rate limited.
+     *
+     * @return the permits per second
+     */
+    public int getPermitsPerSecond() {
+        return this.permitsPerSecond;
+    }
+
+    /**
+     * Gets the number of calls of this api type that can be sent at once, before the rate limit spaces them out.
+     *
+     * @return the burst size
+     */
+    public int getBurst() {
+        return this.burst;
+    }
+
+    /**
+     * Gets the default priority of the calls of this api type: confirmations first, then trading, then monitoring.
+     *
+     * @return the default priority
+     */
+    public Priority getDefaultPriority() {
+        switch (this) {
+            case TCAPI:
+                return Priority.HIGH;
+            case TAPI:
+                return Priority.NORMAL;
+            default:
+                return Priority.LOW;
+        }
+    }
 }
@@ -0,0 +1,78 @@
+package io.daex.sdk.core.http;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Network interceptor that makes the successful {@code GET} responses of configured paths cacheable by the OkHttp
+ * {@link okhttp3.Cache} when the gateway sends no caching headers. Each path gets its own {@code max-age}, which can
+ * be very long for lookups that never change, such as historical transactions. A response with a
+ * {@code Cache-Control} or {@code Expires} header is left as it is, so the gateway can still mark one
+ * {@code no-store}, or give it a shorter life.
+ */
+public class CacheControlInterceptor implements Interceptor {
+
+  private final Map<String, Long> maxAgeSeconds;
+
+  /**
+   * Instantiates a new cache control interceptor.
+   *
+   * @param maxAgeSeconds how long, in seconds, the responses of each path can be served from the cache
+   */
+  public CacheControlInterceptor(Map<String, Long> maxAgeSeconds) {
+    this.maxAgeSeconds = new HashMap<>(maxAgeSeconds);
+  }
+
+  /**
+   * Gets the paths whose responses are made cacheable.
+   *
+   * @return the encoded paths
+   */
+  public Set<String> getPaths() {
+    return Collections.unmodifiableSet(maxAgeSeconds.keySet());
+  }
+
+  /**
+   * Parses a comma separated list of {@code path=maxAgeSeconds} pairs.
+   *
+   * @param paths the pairs, may be {@code null} or empty
+   * @return the max age of each path
+   */
+  public static Map<String, Long> parse(String paths) {
+    final Map<String, Long> parsed = new HashMap<>();
+    if (paths != null) {
+      for (String pair : paths.split(",")) {
+        int eq = pair.indexOf('=');
+        if (eq > 0) {
+          parsed.put(pair.substring(0, eq).trim(), Long.parseLong(pair.substring(eq + 1).trim()));
+        }
+      }
+    }
+    return parsed;
+  }
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    final Request request = chain.request();
+    final Response response = chain.proceed(request);
+    if (!"GET".equals(request.method()) || !response.isSuccessful()) {
+      return response;
+    }
+    final Long maxAge = maxAgeSeconds.get(request.url().encodedPath());
+    if (maxAge == null || response.header("Cache-Control") != null || response.header("Expires") != null) {
+      return response;
+    }
+    return response.newBuilder()
+        .removeHeader("Pragma")
+        .removeHeader("Vary")
+        .header("Cache-Control", "public, max-age=" + maxAge)
+        .build();
+  }
+}
@@ -0,0 +1,66 @@
+package io.daex.sdk.core.http;
+
+import io.daex.sdk.core.service.security.CanonicalQuery;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Application interceptor that sorts the query parameters of the {@code GET} requests of the disk cached paths by
+ * name, as {@link CanonicalQuery} does for the signature. The OkHttp {@link okhttp3.Cache} is keyed by URL, so
+ * {@code ?page=2&size=20} and {@code ?size=20&page=2} then share one entry. A query is only reordered: one with
+ * repeated names, empty parameters or parameters without a value is sent as it is, since canonicalizing it would change
+ * what the gateway receives.
+ */
+public class CanonicalQueryInterceptor implements Interceptor {
+
+  private final Set<String> paths;
+
+  /**
+   * Instantiates a new canonical query interceptor.
+   *
+   * @param paths the encoded paths whose queries are canonicalized
+   */
+  public CanonicalQueryInterceptor(Set<String> paths) {
+    this.paths = new HashSet<>(paths);
+  }
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    final Request request = chain.request();
+    final HttpUrl url = request.url();
+    final String query = url.encodedQuery();
+    if (query == null || !"GET".equals(request.method()) || !paths.contains(url.encodedPath())) {
+      return chain.proceed(request);
+    }
+    final String canonical = CanonicalQuery.canonicalize(query);
+    if (canonical.equals(query) || !isReordering(query, canonical)) {
+      return chain.proceed(request);
+    }
+    return chain.proceed(request.newBuilder().url(url.newBuilder().encodedQuery(canonical).build()).build());
+  }
+
+  /**
+   * Tells whether the canonical query holds the same parameters as the query. Canonicalizing drops repeated names and
+   * empty parameters, which removes separators, and adds {@code =} to parameters without a value, which changes the
+   * length: the same length and number of {@code &} means the parameters were only sorted.
+   */
+  static boolean isReordering(String query, String canonical) {
+    return query.length() == canonical.length() && count(query, '&') == count(canonical, '&');
+  }
+
+  private static int count(String s, char c) {
+    int count = 0;
+    for (int i = 0; i < s.length(); i++) {
+      if (s.charAt(i) == c) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
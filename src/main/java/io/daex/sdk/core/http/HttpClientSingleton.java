@@ -12,22 +12,25 @@
  */
 package io.daex.sdk.core.http;
 
-import io.daex.sdk.core.service.security.DelegatingSSLSocketFactory;
+import io.daex.sdk.core.client.DaexClientConfig;
 import io.daex.sdk.core.util.HttpLogging;
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
 import okhttp3.ConnectionSpec;
+import okhttp3.Dispatcher;
 import okhttp3.JavaNetCookieJar;
 import okhttp3.OkHttpClient;
 import okhttp3.OkHttpClient.Builder;
-import okhttp3.TlsVersion;
+import okhttp3.Protocol;
 
-import javax.net.ssl.*;
+import java.io.File;
 import java.io.IOException;
 import java.net.CookieManager;
 import java.net.CookiePolicy;
-import java.security.*;
-import java.security.cert.CertificateException;
-import java.security.cert.X509Certificate;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -39,23 +42,24 @@ import java.util.logging.Logger;
  * creating a client for each request wastes resources on idle pools.
  */
 public class HttpClientSingleton {
-    private static HttpClientSingleton instance = null;
-
     private static final Logger LOG = Logger.getLogger(HttpClientSingleton.class.getName());
 
     /**
-     * Gets the single instance of HttpClientSingleton.
+     * Gets the single instance of HttpClientSingleton. The instance, and with it the connection pool and the
+     * dispatcher, is created on first use and safely published by the class loader, so exactly one exists and this
+     * method takes no lock.
      *
      * @return single instance of HttpClientSingleton
      */
     public static HttpClientSingleton getInstance() {
-        if (instance == null) {
-            instance = new HttpClientSingleton();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
-    private OkHttpClient okHttpClient;
+    private final OkHttpClient okHttpClient;
+    private ConnectionPool connectionPool;
+    private final TransportMetrics transportMetrics = new TransportMetrics();
+    private Cache cache;
+    private long cacheWarmUpMillis = -1;
 
     /**
      * Instantiates a new HTTP client singleton.
@@ -80,115 +84,174 @@ public class HttpClientSingleton {
 
         builder.addNetworkInterceptor(HttpLogging.getLoggingInterceptor());
 
+        configureConnections(builder);
+        configureProtocols(builder);
+        configureCache(builder);
+        builder.eventListener(transportMetrics);
+
         ConnectionSpec spec = new ConnectionSpec.Builder(ConnectionSpec.MODERN_TLS).allEnabledCipherSuites().build();
         builder.connectionSpecs(Arrays.asList(spec, ConnectionSpec.CLEARTEXT));
-        setupTLSProtocol(builder);
+        TransportSecurity.configure(builder);
 
         return builder.build();
     }
 
     /**
-     * Adds the cookie jar.
+     * Sizes the connection pool and the dispatcher from the {@link DaexClientConfig}.
      *
      * @param builder the builder
      */
-    private void addCookieJar(final OkHttpClient.Builder builder) {
-        final CookieManager cookieManager = new CookieManager();
-        cookieManager.setCookiePolicy(CookiePolicy.ACCEPT_ALL);
+    private void configureConnections(final OkHttpClient.Builder builder) {
+        final DaexClientConfig config = DaexClientConfig.getInstance();
 
-        builder.cookieJar(new JavaNetCookieJar(cookieManager));
+        connectionPool = new ConnectionPool(config.getMaxIdleConnections(), config.getKeepAliveSeconds(),
+                TimeUnit.SECONDS);
+        builder.connectionPool(connectionPool);
+
+        final Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(config.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(config.getMaxRequestsPerHost());
+        builder.dispatcher(dispatcher);
     }
 
+    /**
+     * Selects the HTTP protocols from the {@link DaexClientConfig}:
+     * <ul>
+     *   <li>{@code h2}: HTTP/2 when the server offers it during the TLS handshake, HTTP/1.1 otherwise</li>
+     *   <li>{@code http1}: HTTP/1.1 only</li>
+     *   <li>{@code h2c}: cleartext HTTP/2 with prior knowledge, for a local gateway known to speak it; {@code https}
+     *   end points cannot be used</li>
+     * </ul>
+     *
+     * @param builder the builder
+     */
+    private void configureProtocols(final OkHttpClient.Builder builder) {
+        builder.protocols(protocols(DaexClientConfig.getInstance().getHttpProtocol()));
+    }
 
     /**
-     * Specifically enable all TLS protocols. See: https://github.com/watson-developer-cloud/java-sdk/issues/610
+     * Gets the HTTP protocols of a {@code http.protocol} setting.
      *
-     * @param builder the {@link OkHttpClient} builder.
+     * @param protocol the setting
+     * @return the protocols to give to {@link OkHttpClient.Builder#protocols(java.util.List)}
      */
-    private void setupTLSProtocol(final OkHttpClient.Builder builder) {
-        try {
-            TrustManagerFactory trustManagerFactory =
-                    TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
-            trustManagerFactory.init((KeyStore) null);
-            TrustManager[] trustManagers = trustManagerFactory.getTrustManagers();
-
-            if (trustManagers.length != 1 || !(trustManagers[0] instanceof X509TrustManager)) {
-                throw new IllegalStateException("Unexpected default trust managers:" + Arrays.toString(trustManagers));
-            }
-
-            X509TrustManager trustManager = (X509TrustManager) trustManagers[0];
-
-            System.setProperty("com.ibm.jsse2.overrideDefaultTLS", "true");
-            SSLContext sslContext = SSLContext.getInstance("TLSv1.2");
-
-            sslContext.init(null, new TrustManager[]{trustManager}, null);
-            /*SSLSocketFactory sslSocketFactory = new DelegatingSSLSocketFactory(sslContext.getSocketFactory()) {
-                @Override
-                protected SSLSocket configureSocket(SSLSocket socket) throws IOException {
-                    socket.setEnabledProtocols(new String[]{TlsVersion.TLS_1_0.javaName(), TlsVersion.TLS_1_1.javaName(),
-                            TlsVersion.TLS_1_2.javaName()});
-
-                    return socket;
-                }
-            };*/
-
-            builder.sslSocketFactory(createSSLSocketFactory(), trustManager);
-            builder.hostnameVerifier(new TrustAllHostnameVerifier());
-
-        } catch (NoSuchAlgorithmException e) {
-            LOG.log(Level.SEVERE, "The cryptographic algorithm requested is not available in the environment.", e);
-        } catch (KeyStoreException e) {
-            LOG.log(Level.SEVERE, "Error using the keystore.", e);
-        } catch (KeyManagementException e) {
-            LOG.log(Level.SEVERE, "Error initializing the SSL Context.", e);
+    static List<Protocol> protocols(final String protocol) {
+        final String name = protocol.trim().toLowerCase(Locale.ROOT);
+        switch (name) {
+            case "http1":
+                return Collections.singletonList(Protocol.HTTP_1_1);
+            case "h2c":
+                return Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE);
+            case "h2":
+                return Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1);
+            default:
+                LOG.warning("Unknown HTTP protocol " + name + ", using h2");
+                return Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1);
         }
     }
 
     /**
-     * Creates an {@link OkHttpClient} instance with a new {@link JavaNetCookieJar}.
+     * Gets the number of open connections, idle or in use.
      *
-     * @return the client
+     * @return the number of connections
      */
-    public OkHttpClient createHttpClient() {
-        Builder builder = okHttpClient.newBuilder();
-        addCookieJar(builder);
-        return builder.build();
+    public int getConnectionCount() {
+        return connectionPool.connectionCount();
     }
 
-    private static SSLSocketFactory createSSLSocketFactory() {
-        SSLSocketFactory ssfFactory = null;
+    /**
+     * Gets the number of idle connections.
+     *
+     * @return the number of idle connections
+     */
+    public int getIdleConnectionCount() {
+        return connectionPool.idleConnectionCount();
+    }
 
-        try {
-            SSLContext sc = SSLContext.getInstance("TLS");
-            sc.init(null,  new TrustManager[] { new TrustAllCerts() }, new SecureRandom());
+    /**
+     * Gets the connection and exchange counters of the shared client.
+     *
+     * @return the transport metrics
+     */
+    public TransportMetrics getTransportMetrics() {
+        return transportMetrics;
+    }
 
-            ssfFactory = sc.getSocketFactory();
-        } catch (Exception e) {
+    /**
+     * Adds the disk cache configured in the {@link DaexClientConfig}, if any. The cache index is read right away, so the
+     * first calls do not pay for it, and the time it took is reported by {@link #getCacheWarmUpMillis()}. Entries are
+     * keyed by URL; the queries of the cached paths are put in canonical order first, so the order the parameters were
+     * added in does not matter.
+     *
+     * @param builder the builder
+     */
+    private void configureCache(final OkHttpClient.Builder builder) {
+        final DaexClientConfig config = DaexClientConfig.getInstance();
+        final String directory = config.getHttpCacheDirectory();
+        if (directory == null || directory.trim().isEmpty()) {
+            return;
         }
 
-        return ssfFactory;
+        cache = new Cache(new File(directory.trim()), config.getHttpCacheMaxBytes());
+        final long start = System.nanoTime();
+        try {
+            cache.initialize();
+            cacheWarmUpMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            LOG.info("HTTP cache " + directory + " loaded in " + cacheWarmUpMillis + " ms, " + cache.size() + " bytes");
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Unable to load the HTTP cache " + directory, e);
+        }
+        builder.cache(cache);
+        final CacheControlInterceptor cacheControl = new CacheControlInterceptor(
+                CacheControlInterceptor.parse(config.getHttpCachePaths()));
+        builder.addInterceptor(new CanonicalQueryInterceptor(cacheControl.getPaths()));
+        builder.addNetworkInterceptor(cacheControl);
     }
 
-    private static class TrustAllCerts implements X509TrustManager {
-        @Override
-        public void checkClientTrusted(X509Certificate[] chain, String authType) throws CertificateException {
-        }
+    /**
+     * Gets the disk cache of the HTTP responses. Its {@link Cache#hitCount()}, {@link Cache#networkCount()} and
+     * {@link Cache#requestCount()} tell how many calls it served.
+     *
+     * @return the cache, or {@code null} if there is none
+     */
+    public Cache getCache() {
+        return cache;
+    }
 
-        @Override
-        public void checkServerTrusted(X509Certificate[] chain, String authType) throws CertificateException {
-        }
+    /**
+     * Gets how long, in milliseconds, loading the disk cache took.
+     *
+     * @return the warm up time, or -1 if there is no cache or it could not be loaded
+     */
+    public long getCacheWarmUpMillis() {
+        return cacheWarmUpMillis;
+    }
 
-        @Override
-        public X509Certificate[] getAcceptedIssuers() {
-            return new X509Certificate[0];
-        }
+    /**
+     * Adds the cookie jar.
+     *
+     * @param builder the builder
+     */
+    private void addCookieJar(final OkHttpClient.Builder builder) {
+        final CookieManager cookieManager = new CookieManager();
+        cookieManager.setCookiePolicy(CookiePolicy.ACCEPT_ALL);
+
+        builder.cookieJar(new JavaNetCookieJar(cookieManager));
     }
 
-    private static class TrustAllHostnameVerifier implements HostnameVerifier {
-        @Override
-        public boolean verify(String hostname, SSLSession session) {
-            return true;
-        }
+
+    /**
+     * Creates an {@link OkHttpClient} instance with a new {@link JavaNetCookieJar}.
+     *
+     * @return the client
+     */
+    public OkHttpClient createHttpClient() {
+        Builder builder = okHttpClient.newBuilder();
+        addCookieJar(builder);
+        return builder.build();
     }
-}
 
+    private static final class Holder {
+        private static final HttpClientSingleton INSTANCE = new HttpClientSingleton();
+    }
+}
@@ -0,0 +1,98 @@
+package io.daex.sdk.core.http;
+
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
+import io.daex.sdk.core.util.GsonSingleton;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.Signature;
+import java.security.SignatureException;
+
+/**
+ * {@link RequestBody} holding a JSON document serialized once to UTF-8. The same bytes are signed and written to the
+ * wire, so the body never exists as a {@link String}.
+ */
+public final class JsonRequestBody extends RequestBody {
+
+  private final byte[] bytes;
+  private final int length;
+
+  private JsonRequestBody(byte[] bytes, int length) {
+    this.bytes = bytes;
+    this.length = length;
+  }
+
+  /**
+   * Serializes a JSON element, the same way as {@link JsonElement#toString()}.
+   *
+   * @param json the JSON element
+   * @return the request body
+   */
+  public static JsonRequestBody create(JsonElement json) {
+    ExposedByteArrayOutputStream out = new ExposedByteArrayOutputStream();
+    try {
+      Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+      JsonWriter jsonWriter = new JsonWriter(writer);
+      jsonWriter.setLenient(true);
+      GsonSingleton.getGsonWithoutPrettyPrinting().getAdapter(JsonElement.class).write(jsonWriter, json);
+      jsonWriter.flush();
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to serialize the JSON body", e);
+    }
+    return new JsonRequestBody(out.array(), out.size());
+  }
+
+  @Override
+  public MediaType contentType() {
+    return HttpMediaType.JSON;
+  }
+
+  @Override
+  public long contentLength() {
+    return length;
+  }
+
+  @Override
+  public void writeTo(BufferedSink sink) throws IOException {
+    sink.write(bytes, 0, length);
+  }
+
+  /**
+   * Feeds the body to a signature engine, without copying it.
+   *
+   * @param signature the signature engine
+   * @throws SignatureException if the engine is not initialized
+   */
+  public void update(Signature signature) throws SignatureException {
+    signature.update(bytes, 0, length);
+  }
+
+  /**
+   * Decodes the body. Only meant for callers that still need it as a {@link String}.
+   *
+   * @return the JSON document
+   */
+  public String string() {
+    return new String(bytes, 0, length, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * {@link ByteArrayOutputStream} that hands out its buffer instead of copying it.
+   */
+  private static final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+    private ExposedByteArrayOutputStream() {
+      super(256);
+    }
+
+    private byte[] array() {
+      return buf;
+    }
+  }
+}
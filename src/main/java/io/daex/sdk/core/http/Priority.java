@@ -0,0 +1,17 @@
+package io.daex.sdk.core.http;
+
+/**
+ * Scheduling priority of a {@link ServiceCall}. When a bulkhead is saturated, its waiting calls are started in
+ * priority order. Without bulkheads, the default, the priority has no effect.
+ */
+public enum Priority {
+
+  /** Latency critical calls, e.g. confirmations. */
+  HIGH,
+
+  /** Trading calls. */
+  NORMAL,
+
+  /** Bulk reads and monitoring. */
+  LOW
+}
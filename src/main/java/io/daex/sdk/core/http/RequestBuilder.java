@@ -117,10 +117,17 @@ public class RequestBuilder {
     private final List<NameValue> headers = new ArrayList<NameValue>();
     private final HTTPMethod method;
     private final List<NameValue> queryParams = new ArrayList<NameValue>();
-    private String jsonBody;
-
+    /**
+     * Gets the JSON body set with {@link #bodyJson(JsonObject)}. Requests no longer need it to be signed, so it is
+     * decoded on demand.
+     *
+     * @return the JSON body, or {@code null} if there is none
+     * @deprecated the request body is signed directly, pass the request to
+     *             {@code DaexClient.createServiceCall(Request, ResponseConverter)} instead
+     */
+    @Deprecated
     public String getJsonBody() {
-        return jsonBody;
+        return body instanceof JsonRequestBody ? ((JsonRequestBody) body).string() : null;
     }
 
     /**
@@ -288,15 +295,16 @@ public class RequestBuilder {
 
     /**
      * Adds a JSON content to the request (used with POST/PUT). This will encapsulate the json into a {@link RequestBody}
-     * encoded with UTF-8 and use {@code "application/json"} as Content-Type
+     * encoded with UTF-8 and use {@code "application/json"} as Content-Type. The JSON is serialized once, and the same
+     * bytes are signed and sent.
      *
      * @param json the JsonObject json
      *
      * @return this
      */
     public RequestBuilder bodyJson(JsonObject json) {
-        this.jsonBody = json.toString();
-        return bodyContent(this.jsonBody, HttpMediaType.JSON.toString());
+        body = JsonRequestBody.create(json);
+        return this;
     }
 
     /**
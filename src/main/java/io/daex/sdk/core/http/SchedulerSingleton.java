@@ -0,0 +1,64 @@
+package io.daex.sdk.core.http;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Timer shared by the SDK to run delayed work, such as asynchronous retries, without parking a thread per call. The
+ * scheduled tasks must be short: they typically just enqueue an HTTP call.
+ */
+public final class SchedulerSingleton {
+
+  private static final SchedulerSingleton INSTANCE = new SchedulerSingleton();
+
+  private final ScheduledExecutorService executor;
+
+  private SchedulerSingleton() {
+    ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+      private final AtomicInteger count = new AtomicInteger();
+
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread thread = new Thread(r, "daex-scheduler-" + count.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+    scheduler.setRemoveOnCancelPolicy(true);
+    executor = scheduler;
+  }
+
+  /**
+   * Gets the single instance of SchedulerSingleton.
+   *
+   * @return single instance of SchedulerSingleton
+   */
+  public static SchedulerSingleton getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Runs a task as soon as the scheduler thread is free.
+   *
+   * @param task the task
+   */
+  public void execute(Runnable task) {
+    executor.execute(task);
+  }
+
+  /**
+   * Runs a task after a delay.
+   *
+   * @param task the task
+   * @param delay the delay
+   * @param unit the unit of the delay
+   * @return the future of the task, which can be used to cancel it
+   */
+  public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+    return executor.schedule(task, delay, unit);
+  }
+}
@@ -12,6 +12,8 @@
  */
 package io.daex.sdk.core.http;
 
+import io.daex.sdk.core.service.resilience.HedgingPolicy;
+import io.daex.sdk.core.service.resilience.RetryPolicy;
 import jersey.repackaged.jsr166e.CompletableFuture;
 
 /**
@@ -30,6 +32,53 @@ public interface ServiceCall<T> {
    */
   ServiceCall<T> addHeader(String name, String value);
 
+  /**
+   * Sets the priority of the request, used when it has to wait for a concurrency limit. Defaults to the priority of its
+   * API. The default implementation ignores it, for service calls that do not schedule requests.
+   * <p>
+   * The priority only orders the calls waiting in a bulkhead, so it has no effect unless the {@code bulkhead.*}
+   * settings, or {@code BulkheadRegistry}, set one up; there is none by default. Once a call is admitted it goes to the
+   * OkHttp dispatcher, which starts calls in arrival order.
+   *
+   * @param priority the priority
+   * @return the ServiceCall with the updated priority
+   */
+  default ServiceCall<T> priority(Priority priority) {
+    return this;
+  }
+
+  /**
+   * Gets the priority of the request.
+   *
+   * @return the priority, {@link Priority#NORMAL} by default
+   */
+  default Priority getPriority() {
+    return Priority.NORMAL;
+  }
+
+  /**
+   * Sets the retry policy of the request. Defaults to the retry policy of the client. The default implementation
+   * ignores it, for service calls that do not retry.
+   *
+   * @param retryPolicy the retry policy, or {@code null} to not retry
+   * @return the ServiceCall with the updated retry policy
+   */
+  default ServiceCall<T> retryPolicy(RetryPolicy retryPolicy) {
+    return this;
+  }
+
+  /**
+   * Hedges the request: if it has not answered after the delay of the policy, a duplicate is sent and the first
+   * successful response is used. Only {@code GET} and {@code HEAD} requests are hedged. The default implementation
+   * ignores it, for service calls that do not hedge.
+   *
+   * @param hedgingPolicy the hedging policy, or {@code null} to not hedge
+   * @return the ServiceCall with the updated hedging policy
+   */
+  default ServiceCall<T> hedge(HedgingPolicy hedgingPolicy) {
+    return this;
+  }
+
   /**
    * Synchronous request.
    *
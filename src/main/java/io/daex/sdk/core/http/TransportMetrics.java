@@ -0,0 +1,141 @@
+package io.daex.sdk.core.http;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@link EventListener} that counts the connections opened by the shared {@link okhttp3.OkHttpClient} and the exchanges
+ * (HTTP/2 streams, or HTTP/1.1 requests) carried by them, by protocol. With HTTP/2, many exchanges share a connection,
+ * which {@link #getExchangesPerConnection()} shows.
+ */
+public class TransportMetrics extends EventListener {
+
+  private final AtomicLong connectionsOpened = new AtomicLong();
+  private final AtomicLong connectFailures = new AtomicLong();
+  private final AtomicLong tlsHandshakes = new AtomicLong();
+  private final AtomicLongArray exchangesByProtocol = new AtomicLongArray(Protocol.values().length);
+  private final AtomicInteger activeExchanges = new AtomicInteger();
+  private final AtomicInteger peakActiveExchanges = new AtomicInteger();
+
+  @Override
+  public void secureConnectEnd(Call call, Handshake handshake) {
+    tlsHandshakes.incrementAndGet();
+  }
+
+  @Override
+  public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+    connectionsOpened.incrementAndGet();
+  }
+
+  @Override
+  public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol,
+      IOException ioe) {
+    connectFailures.incrementAndGet();
+  }
+
+  @Override
+  public void connectionAcquired(Call call, Connection connection) {
+    exchangesByProtocol.incrementAndGet(connection.protocol().ordinal());
+    int active = activeExchanges.incrementAndGet();
+    int peak;
+    while (active > (peak = peakActiveExchanges.get()) && !peakActiveExchanges.compareAndSet(peak, active)) {
+      // Retry until the peak is at least the current value
+    }
+  }
+
+  @Override
+  public void connectionReleased(Call call, Connection connection) {
+    activeExchanges.decrementAndGet();
+  }
+
+  /**
+   * Gets the number of connections opened.
+   *
+   * @return the number of connections opened
+   */
+  public long getConnectionsOpened() {
+    return connectionsOpened.get();
+  }
+
+  /**
+   * Gets the number of connection attempts that failed.
+   *
+   * @return the number of failed connection attempts
+   */
+  public long getConnectFailures() {
+    return connectFailures.get();
+  }
+
+  /**
+   * Gets the number of TLS handshakes completed.
+   *
+   * @return the number of TLS handshakes
+   */
+  public long getTlsHandshakes() {
+    return tlsHandshakes.get();
+  }
+
+  /**
+   * Gets the number of exchanges carried over a protocol.
+   *
+   * @param protocol the protocol
+   * @return the number of exchanges
+   */
+  public long getExchanges(Protocol protocol) {
+    return exchangesByProtocol.get(protocol.ordinal());
+  }
+
+  /**
+   * Gets the number of exchanges in progress.
+   *
+   * @return the number of active exchanges
+   */
+  public int getActiveExchanges() {
+    return activeExchanges.get();
+  }
+
+  /**
+   * Gets the highest number of exchanges in progress at once.
+   *
+   * @return the peak number of active exchanges
+   */
+  public int getPeakActiveExchanges() {
+    return peakActiveExchanges.get();
+  }
+
+  /**
+   * Gets the average number of exchanges carried by each opened connection.
+   *
+   * @return the exchanges per connection
+   */
+  public double getExchangesPerConnection() {
+    long total = 0;
+    for (int i = 0; i < exchangesByProtocol.length(); i++) {
+      total += exchangesByProtocol.get(i);
+    }
+    return total / (double) Math.max(1, connectionsOpened.get());
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("TransportMetrics[connectionsOpened=").append(connectionsOpened.get())
+        .append(", tlsHandshakes=").append(tlsHandshakes.get());
+    for (Protocol protocol : Protocol.values()) {
+      long exchanges = getExchanges(protocol);
+      if (exchanges > 0) {
+        sb.append(", ").append(protocol).append('=').append(exchanges);
+      }
+    }
+    return sb.append(", peakActiveExchanges=").append(peakActiveExchanges.get()).append(']').toString();
+  }
+}
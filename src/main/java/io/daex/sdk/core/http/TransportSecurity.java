@@ -0,0 +1,79 @@
+package io.daex.sdk.core.http;
+
+import okhttp3.OkHttpClient;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * TLS settings of the HTTP clients. The SDK trusts every certificate and host name, so a single {@link SSLContext}
+ * serves all the connections. It is created on first use, once per JVM, and safely published by the class loader.
+ */
+final class TransportSecurity {
+
+  private static final Logger LOG = Logger.getLogger(TransportSecurity.class.getName());
+
+  private static final X509TrustManager TRUST_ALL_CERTS = new X509TrustManager() {
+    @Override
+    public void checkClientTrusted(X509Certificate[] chain, String authType) {
+    }
+
+    @Override
+    public void checkServerTrusted(X509Certificate[] chain, String authType) {
+    }
+
+    @Override
+    public X509Certificate[] getAcceptedIssuers() {
+      return new X509Certificate[0];
+    }
+  };
+
+  private static final HostnameVerifier TRUST_ALL_HOSTNAMES = new HostnameVerifier() {
+    @Override
+    public boolean verify(String hostname, SSLSession session) {
+      return true;
+    }
+  };
+
+  private TransportSecurity() {
+    // This is a utility class - no instantiation allowed.
+  }
+
+  /**
+   * Sets the socket factory and the host name verifier of a client. The client keeps the OkHttp defaults if the TLS
+   * context cannot be created.
+   *
+   * @param builder the builder
+   */
+  static void configure(OkHttpClient.Builder builder) {
+    SSLSocketFactory socketFactory = SocketFactoryHolder.INSTANCE;
+    if (socketFactory != null) {
+      builder.sslSocketFactory(socketFactory, TRUST_ALL_CERTS);
+      builder.hostnameVerifier(TRUST_ALL_HOSTNAMES);
+    }
+  }
+
+  private static final class SocketFactoryHolder {
+    private static final SSLSocketFactory INSTANCE = createSocketFactory();
+
+    private static SSLSocketFactory createSocketFactory() {
+      System.setProperty("com.ibm.jsse2.overrideDefaultTLS", "true");
+      try {
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, new TrustManager[] { TRUST_ALL_CERTS }, null);
+        return sslContext.getSocketFactory();
+      } catch (GeneralSecurityException e) {
+        LOG.log(Level.SEVERE, "Error initializing the SSL Context.", e);
+        return null;
+      }
+    }
+  }
+}
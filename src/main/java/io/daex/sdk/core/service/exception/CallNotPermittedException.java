@@ -0,0 +1,20 @@
+package io.daex.sdk.core.service.exception;
+
+/**
+ * Thrown when the SDK refuses to send a request, to protect the exchange or the client, before anything reaches the
+ * network.
+ */
+public class CallNotPermittedException extends RuntimeException {
+
+  /** The Constant serialVersionUID. */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Instantiates a new Call Not Permitted Exception.
+   *
+   * @param message the error message
+   */
+  public CallNotPermittedException(String message) {
+    super(message);
+  }
+}
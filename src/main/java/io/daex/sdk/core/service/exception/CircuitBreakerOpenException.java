@@ -0,0 +1,34 @@
+package io.daex.sdk.core.service.exception;
+
+/**
+ * Thrown when a call is not sent because the circuit breaker of its API or endpoint is open, after too many failed or
+ * slow calls.
+ */
+public class CircuitBreakerOpenException extends CallNotPermittedException {
+
+  /** The Constant serialVersionUID. */
+  private static final long serialVersionUID = 1L;
+
+  /** The name of the circuit breaker. */
+  private final String circuitBreakerName;
+
+  /**
+   * Instantiates a new Circuit Breaker Open Exception.
+   *
+   * @param message the error message
+   * @param circuitBreakerName the name of the circuit breaker
+   */
+  public CircuitBreakerOpenException(String message, String circuitBreakerName) {
+    super(message);
+    this.circuitBreakerName = circuitBreakerName;
+  }
+
+  /**
+   * Gets the name of the circuit breaker that rejected the call.
+   *
+   * @return the circuit breaker name
+   */
+  public String getCircuitBreakerName() {
+    return circuitBreakerName;
+  }
+}
@@ -0,0 +1,33 @@
+package io.daex.sdk.core.service.exception;
+
+/**
+ * Thrown when an endpoint already has as many calls in flight as its adaptive concurrency limit allows.
+ */
+public class ConcurrencyLimitExceededException extends CallNotPermittedException {
+
+  /** The Constant serialVersionUID. */
+  private static final long serialVersionUID = 1L;
+
+  /** The limit in force when the call was rejected. */
+  private final int limit;
+
+  /**
+   * Instantiates a new Concurrency Limit Exceeded Exception.
+   *
+   * @param message the error message
+   * @param limit the limit in force when the call was rejected
+   */
+  public ConcurrencyLimitExceededException(String message, int limit) {
+    super(message);
+    this.limit = limit;
+  }
+
+  /**
+   * Gets the limit in force when the call was rejected.
+   *
+   * @return the concurrency limit
+   */
+  public int getLimit() {
+    return limit;
+  }
+}
@@ -0,0 +1,20 @@
+package io.daex.sdk.core.service.exception;
+
+/**
+ * Thrown when a request cannot be signed, e.g. because the configured private key is invalid.
+ */
+public class RequestSigningException extends RuntimeException {
+
+  /** The Constant serialVersionUID. */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Instantiates a new Request Signing Exception.
+   *
+   * @param message the error message
+   * @param cause the cause, may be {@code null}
+   */
+  public RequestSigningException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,191 @@
+package io.daex.sdk.core.service.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency limit of an endpoint that adapts to how the exchange behaves, following AIMD (additive increase,
+ * multiplicative decrease). While calls complete close to the baseline latency and the limit is in use, it grows by
+ * one per limit's worth of calls; a call answered with {@code 429} or {@code 503}, a timeout, or a latency above
+ * {@code latencyTolerance} times the baseline cuts it by {@code backoffRatio}. The baseline tracks the lowest latency
+ * seen and slowly drifts towards the recent ones, so a lasting change of the exchange is eventually accepted.
+ * <p>
+ * Unlike a {@link Bulkhead}, calls over the limit do not wait: {@link #tryAcquire()} fails and the caller rejects the
+ * call. Every successful {@link #tryAcquire()} must be followed by exactly one of {@link #onSuccess(long)},
+ * {@link #onDropped()} or {@link #onIgnored()}.
+ */
+public final class AdaptiveLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final int BASELINE_DRIFT_SHIFT = 7;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Guarded by this
+    private double estimatedLimit;
+    private long baselineNanos;
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong samples = new AtomicLong();
+
+    /**
+     * Creates an adaptive limiter.
+     *
+     * @param name the name of the limiter, used in metrics and messages
+     * @param initialLimit the limit before any call completed
+     * @param minLimit the lowest limit
+     * @param maxLimit the highest limit
+     */
+    public AdaptiveLimiter(String name, int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("limits must satisfy 1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * Takes a slot if the endpoint has fewer calls in flight than its limit.
+     *
+     * @return {@code true} if the call can proceed
+     */
+    public boolean tryAcquire() {
+        for (;;) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases the slot of a call that got an answer, and feeds its latency to the limit.
+     *
+     * @param latencyNanos the round-trip latency of the call, in nanoseconds
+     */
+    public void onSuccess(long latencyNanos) {
+        int wasInFlight = inFlight.getAndDecrement();
+        samples.incrementAndGet();
+        synchronized (this) {
+            if (baselineNanos == 0 || latencyNanos < baselineNanos) {
+                baselineNanos = latencyNanos;
+            } else {
+                baselineNanos += (latencyNanos - baselineNanos) >> BASELINE_DRIFT_SHIFT;
+            }
+            if (latencyNanos > baselineNanos * LATENCY_TOLERANCE) {
+                decrease();
+            } else if (wasInFlight * 2 >= limit) {
+                estimatedLimit = Math.min(maxLimit, estimatedLimit + 1.0 / estimatedLimit);
+                limit = (int) estimatedLimit;
+            }
+        }
+    }
+
+    /**
+     * Releases the slot of a call that the exchange shed, with a {@code 429} or {@code 503} or a timeout.
+     */
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        samples.incrementAndGet();
+        dropped.incrementAndGet();
+        synchronized (this) {
+            decrease();
+        }
+    }
+
+    /**
+     * Releases the slot of a call whose outcome says nothing about the load of the exchange.
+     */
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    private void decrease() {
+        estimatedLimit = Math.max(minLimit, estimatedLimit * BACKOFF_RATIO);
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Gets the name of the limiter.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the current limit.
+     *
+     * @return the maximum number of calls in flight
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Gets the number of calls in flight.
+     *
+     * @return the number of calls in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Gets the number of calls rejected because the limit was reached.
+     *
+     * @return the number of rejected calls
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Gets the number of calls shed by the exchange.
+     *
+     * @return the number of dropped calls
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Gets the number of completed calls that were fed to the limit.
+     *
+     * @return the number of samples
+     */
+    public long getSampleCount() {
+        return samples.get();
+    }
+
+    /**
+     * Gets the baseline latency, in milliseconds.
+     *
+     * @return the baseline latency, 0 before the first sample
+     */
+    public synchronized double getBaselineLatencyMillis() {
+        return baselineNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveLimiter[" + name + ", limit=" + limit + ", inFlight=" + inFlight.get() + ", rejected="
+                + rejected.get() + ", dropped=" + dropped.get() + "]";
+    }
+}
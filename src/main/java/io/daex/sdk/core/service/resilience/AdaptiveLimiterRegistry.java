@@ -0,0 +1,85 @@
+package io.daex.sdk.core.service.resilience;
+
+import io.daex.sdk.core.client.DaexClientConfig;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the {@link AdaptiveLimiter} of every endpoint, shared by all the clients of the JVM. An endpoint is a request
+ * path. When {@code adaptiveLimit.enabled} is set in {@code sdk_config.properties}, the limiters are created on first
+ * use from the {@code adaptiveLimit.*} settings; at most {@value #MAX_ENDPOINTS} are created this way, so paths that
+ * embed identifiers cannot grow the registry without bound.
+ */
+public final class AdaptiveLimiterRegistry {
+
+    private static final AdaptiveLimiterRegistry INSTANCE = new AdaptiveLimiterRegistry();
+
+    static final int MAX_ENDPOINTS = 1024;
+
+    private final ConcurrentMap<String, AdaptiveLimiter> limiters = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+
+    private AdaptiveLimiterRegistry() {
+        DaexClientConfig config = DaexClientConfig.getInstance();
+        enabled = config.isAdaptiveLimitEnabled();
+        minLimit = config.getAdaptiveMinLimit();
+        maxLimit = Math.max(minLimit, config.getAdaptiveMaxLimit());
+        initialLimit = Math.min(maxLimit, Math.max(minLimit, config.getAdaptiveInitialLimit()));
+    }
+
+    /**
+     * Gets the single instance of AdaptiveLimiterRegistry.
+     *
+     * @return single instance of AdaptiveLimiterRegistry
+     */
+    public static AdaptiveLimiterRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the limiter of an endpoint, creating it from the configuration on first use.
+     *
+     * @param endpoint the request path
+     * @return the limiter, or {@code null} if the endpoint is not limited
+     */
+    public AdaptiveLimiter get(String endpoint) {
+        AdaptiveLimiter limiter = limiters.get(endpoint);
+        if (limiter == null && enabled && limiters.size() < MAX_ENDPOINTS) {
+            AdaptiveLimiter created = new AdaptiveLimiter(endpoint, initialLimit, minLimit, maxLimit);
+            limiter = limiters.putIfAbsent(endpoint, created);
+            if (limiter == null) {
+                limiter = created;
+            }
+        }
+        return limiter;
+    }
+
+    /**
+     * Replaces the limiter of an endpoint.
+     *
+     * @param endpoint the request path
+     * @param limiter the limiter, or {@code null} to remove it
+     */
+    public void register(String endpoint, AdaptiveLimiter limiter) {
+        if (limiter == null) {
+            limiters.remove(endpoint);
+        } else {
+            limiters.put(endpoint, limiter);
+        }
+    }
+
+    /**
+     * Gets the limiters of all the endpoints called so far, to report their limits and rejections.
+     *
+     * @return the limiters
+     */
+    public Collection<AdaptiveLimiter> getAll() {
+        return Collections.unmodifiableCollection(limiters.values());
+    }
+}
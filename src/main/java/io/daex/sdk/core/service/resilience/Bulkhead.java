@@ -0,0 +1,314 @@
+package io.daex.sdk.core.service.resilience;
+
+import io.daex.sdk.core.http.Priority;
+import io.daex.sdk.core.http.SchedulerSingleton;
+
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Concurrency budget with its own wait queue. At most {@code maxConcurrentCalls} calls hold a permit at a time; other
+ * calls wait in the queue, synchronous ones by parking their thread and asynchronous ones as a task that is handed to
+ * an executor, {@link SchedulerSingleton} by default, when a permit is granted to them. The releasing thread never
+ * runs the task of another call, so a long queue of tasks that give their permit straight back does not grow its
+ * stack, and a call completes before the waiters it admits start. A permit is handed straight from the releasing call
+ * to the next waiter, so a burst on one bulkhead can never take capacity from another.
+ * <p>
+ * Waiting calls are served by {@link Priority}. To keep low priority calls from starving, each call is ordered by a
+ * virtual deadline, its arrival time plus {@code agingMillis} per priority level below {@link Priority#HIGH}: a
+ * {@link Priority#LOW} call that has waited {@code 2 * agingMillis} goes ahead of any {@link Priority#HIGH} call that
+ * arrives after it.
+ */
+public class Bulkhead {
+
+    /**
+     * Default aging step between two priority levels.
+     */
+    public static final long DEFAULT_AGING_MILLIS = 500;
+
+    private static final Executor SCHEDULER = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            SchedulerSingleton.getInstance().execute(command);
+        }
+    };
+
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final long agingNanos;
+    private final Executor executor;
+    private final Queue<Waiter> queue = new PriorityQueue<>();
+    private long sequence;
+    private int inFlight;
+
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private volatile long maxWaitNanos;
+
+    /**
+     * Instantiates a new bulkhead.
+     *
+     * @param name the name, used in logs and metrics
+     * @param maxConcurrentCalls the maximum number of calls in flight
+     */
+    public Bulkhead(String name, int maxConcurrentCalls) {
+        this(name, maxConcurrentCalls, DEFAULT_AGING_MILLIS);
+    }
+
+    /**
+     * Instantiates a new bulkhead.
+     *
+     * @param name the name, used in logs and metrics
+     * @param maxConcurrentCalls the maximum number of calls in flight
+     * @param agingMillis how long a waiting call takes to move up one priority level
+     */
+    public Bulkhead(String name, int maxConcurrentCalls, long agingMillis) {
+        this(name, maxConcurrentCalls, agingMillis, SCHEDULER);
+    }
+
+    /**
+     * Instantiates a new bulkhead.
+     *
+     * @param name the name, used in logs and metrics
+     * @param maxConcurrentCalls the maximum number of calls in flight
+     * @param agingMillis how long a waiting call takes to move up one priority level
+     * @param executor the executor that runs the queued tasks once they are granted a permit
+     */
+    public Bulkhead(String name, int maxConcurrentCalls, long agingMillis, Executor executor) {
+        if (maxConcurrentCalls < 1) {
+            throw new IllegalArgumentException("maxConcurrentCalls must be positive");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("executor cannot be null");
+        }
+        this.name = name;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.agingNanos = TimeUnit.MILLISECONDS.toNanos(agingMillis);
+        this.executor = executor;
+    }
+
+    /**
+     * Waits for a permit with {@link Priority#NORMAL} priority. Every successful call must be followed by
+     * {@link #release()}.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        acquire(Priority.NORMAL);
+    }
+
+    /**
+     * Waits for a permit. Every successful call must be followed by {@link #release()}.
+     *
+     * @param priority the priority of the call
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void acquire(Priority priority) throws InterruptedException {
+        Waiter waiter;
+        synchronized (this) {
+            if (tryAdmit()) {
+                return;
+            }
+            waiter = newWaiter(priority, Thread.currentThread(), null);
+            queue.add(waiter);
+        }
+        queued.incrementAndGet();
+
+        while (!waiter.granted) {
+            LockSupport.park(this);
+            if (Thread.interrupted()) {
+                synchronized (this) {
+                    if (!waiter.granted) {
+                        queue.remove(waiter);
+                        throw new InterruptedException();
+                    }
+                }
+                // The permit was granted meanwhile, keep it and restore the interrupt
+                Thread.currentThread().interrupt();
+            }
+        }
+        recordWait(waiter);
+    }
+
+    /**
+     * Runs a task with {@link Priority#NORMAL} priority once a permit is available, see
+     * {@link #submit(Priority, Runnable)}.
+     *
+     * @param task the task
+     */
+    public void submit(Runnable task) {
+        submit(Priority.NORMAL, task);
+    }
+
+    /**
+     * Runs a task once a permit is available: right away on the calling thread, or later on the executor of the
+     * bulkhead. The task owns the permit and must make sure {@link #release()} is eventually called.
+     *
+     * @param priority the priority of the task
+     * @param task the task
+     */
+    public void submit(Priority priority, Runnable task) {
+        synchronized (this) {
+            if (!tryAdmit()) {
+                queue.add(newWaiter(priority, null, task));
+                queued.incrementAndGet();
+                return;
+            }
+        }
+        task.run();
+    }
+
+    /**
+     * Returns a permit, handing it to the next waiting call if there is one.
+     */
+    public void release() {
+        Waiter next;
+        synchronized (this) {
+            next = queue.poll();
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+            next.granted = true;
+            admitted.incrementAndGet();
+        }
+        if (next.thread != null) {
+            LockSupport.unpark(next.thread);
+        } else {
+            recordWait(next);
+            executor.execute(next.task);
+        }
+    }
+
+    private boolean tryAdmit() {
+        if (inFlight < maxConcurrentCalls && queue.isEmpty()) {
+            inFlight++;
+            admitted.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private Waiter newWaiter(Priority priority, Thread thread, Runnable task) {
+        long now = System.nanoTime();
+        return new Waiter(now, now + priority.ordinal() * agingNanos, sequence++, thread, task);
+    }
+
+    private void recordWait(Waiter waiter) {
+        long wait = System.nanoTime() - waiter.enqueuedAt;
+        totalWaitNanos.addAndGet(wait);
+        if (wait > maxWaitNanos) {
+            maxWaitNanos = wait;
+        }
+    }
+
+    /**
+     * Gets the name.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the maximum number of calls in flight.
+     *
+     * @return the maximum number of concurrent calls
+     */
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    /**
+     * Gets the number of calls holding a permit.
+     *
+     * @return the number of calls in flight
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Gets the number of calls waiting for a permit.
+     *
+     * @return the queue depth
+     */
+    public synchronized int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Gets the number of calls that were given a permit.
+     *
+     * @return the admitted count
+     */
+    public long getAdmittedCount() {
+        return admitted.get();
+    }
+
+    /**
+     * Gets the number of calls that had to wait for a permit.
+     *
+     * @return the queued count
+     */
+    public long getQueuedCount() {
+        return queued.get();
+    }
+
+    /**
+     * Gets the average time the queued calls waited for a permit.
+     *
+     * @return the average wait in milliseconds
+     */
+    public double getAverageWaitMillis() {
+        long count = queued.get();
+        return count == 0 ? 0 : (double) TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.get()) / count / 1000;
+    }
+
+    /**
+     * Gets the longest time a call waited for a permit.
+     *
+     * @return the maximum wait in milliseconds
+     */
+    public long getMaxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "Bulkhead [name=" + name + ", maxConcurrentCalls=" + maxConcurrentCalls + ", inFlight=" + getInFlight()
+                + ", queueDepth=" + getQueueDepth() + "]";
+    }
+
+    private static final class Waiter implements Comparable<Waiter> {
+        private final long enqueuedAt;
+        private final long deadline;
+        private final long sequence;
+        private final Thread thread;
+        private final Runnable task;
+        private volatile boolean granted;
+
+        private Waiter(long enqueuedAt, long deadline, long sequence, Thread thread, Runnable task) {
+            this.enqueuedAt = enqueuedAt;
+            this.deadline = deadline;
+            this.sequence = sequence;
+            this.thread = thread;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(Waiter other) {
+            long diff = deadline - other.deadline;
+            if (diff != 0) {
+                return diff < 0 ? -1 : 1;
+            }
+            return sequence < other.sequence ? -1 : (sequence == other.sequence ? 0 : 1);
+        }
+    }
+}
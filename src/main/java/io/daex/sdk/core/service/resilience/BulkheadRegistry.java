@@ -0,0 +1,91 @@
+package io.daex.sdk.core.service.resilience;
+
+import io.daex.sdk.core.client.DaexClientConfig;
+import io.daex.sdk.core.enums.ApiType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Holds the {@link Bulkhead} of every {@link ApiType}, shared by all the clients of the JVM, so trading, confirmation
+ * and monitoring calls each get their own concurrency budget while still sharing one connection pool. An
+ * {@link ApiType} without a bulkhead is not limited. An optional global bulkhead caps the calls of all the api types
+ * together; as its waiting calls are served by priority, it is where confirmations overtake bulk reads.
+ */
+public final class BulkheadRegistry {
+
+    private static final BulkheadRegistry INSTANCE = new BulkheadRegistry();
+
+    private volatile Map<ApiType, Bulkhead> bulkheads;
+    private volatile Bulkhead global;
+
+    private BulkheadRegistry() {
+        int maxConcurrentCalls = DaexClientConfig.getInstance().getMaxConcurrentCalls();
+        if (maxConcurrentCalls > 0) {
+            global = new Bulkhead("ALL", maxConcurrentCalls, DaexClientConfig.getInstance().getPriorityAgingMillis());
+        }
+
+        Map<ApiType, Bulkhead> configured = new EnumMap<>(ApiType.class);
+        for (ApiType apiType : ApiType.values()) {
+            maxConcurrentCalls = apiType.getMaxConcurrentCalls();
+            if (maxConcurrentCalls > 0) {
+                configured.put(apiType, new Bulkhead(apiType.name(), maxConcurrentCalls,
+                        DaexClientConfig.getInstance().getPriorityAgingMillis()));
+            }
+        }
+        bulkheads = configured;
+    }
+
+    /**
+     * Gets the single instance of BulkheadRegistry.
+     *
+     * @return single instance of BulkheadRegistry
+     */
+    public static BulkheadRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the bulkhead of an {@link ApiType}.
+     *
+     * @param apiType the api type
+     * @return the bulkhead, or {@code null} if the calls of the api type are not limited
+     */
+    public Bulkhead get(ApiType apiType) {
+        return apiType == null ? null : bulkheads.get(apiType);
+    }
+
+    /**
+     * Replaces the bulkhead of an {@link ApiType}. Calls already waiting on the previous bulkhead keep waiting on it.
+     *
+     * @param apiType the api type
+     * @param bulkhead the bulkhead, or {@code null} to stop limiting the calls of the api type
+     */
+    public synchronized void register(ApiType apiType, Bulkhead bulkhead) {
+        Map<ApiType, Bulkhead> copy = new EnumMap<>(bulkheads);
+        if (bulkhead == null) {
+            copy.remove(apiType);
+        } else {
+            copy.put(apiType, bulkhead);
+        }
+        bulkheads = copy;
+    }
+
+    /**
+     * Gets the bulkhead shared by the calls of all the api types.
+     *
+     * @return the global bulkhead, or {@code null} if there is none
+     */
+    public Bulkhead getGlobal() {
+        return global;
+    }
+
+    /**
+     * Replaces the bulkhead shared by the calls of all the api types.
+     *
+     * @param bulkhead the global bulkhead, or {@code null} to remove it
+     */
+    public void registerGlobal(Bulkhead bulkhead) {
+        global = bulkhead;
+    }
+}
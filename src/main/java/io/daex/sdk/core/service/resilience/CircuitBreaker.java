@@ -0,0 +1,411 @@
+package io.daex.sdk.core.service.resilience;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Circuit breaker that stops sending calls to a degraded API, so they fail at once instead of waiting out the
+ * connect and read timeouts.
+ * <ul>
+ *   <li>{@link State#CLOSED}: calls go through, and the outcome of the last {@code slidingWindowSize} calls is
+ *   recorded. Once at least {@code minimumNumberOfCalls} are recorded, the breaker opens if the failure rate or the
+ *   slow call rate reaches its threshold.</li>
+ *   <li>{@link State#OPEN}: calls are rejected for {@code waitDurationInOpenState}, then the breaker turns half
+ *   open.</li>
+ *   <li>{@link State#HALF_OPEN}: {@code permittedCallsInHalfOpenState} trial calls go through and the others are
+ *   rejected. The breaker closes if the trial calls stay under the thresholds, and opens again otherwise.</li>
+ * </ul>
+ * Every successful {@link #tryAcquire()} must be followed by exactly one of {@link #onSuccess(long)},
+ * {@link #onError(long)} or {@link #onIgnored()}.
+ */
+public final class CircuitBreaker {
+
+    private static final Logger LOG = Logger.getLogger(CircuitBreaker.class.getName());
+
+    /**
+     * State of a circuit breaker.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Listener of the state transitions of a circuit breaker. It is called on the thread that caused the transition,
+     * so it must return quickly.
+     */
+    public interface Listener {
+
+        /**
+         * Called after the circuit breaker changed state.
+         *
+         * @param circuitBreaker the circuit breaker
+         * @param from the previous state
+         * @param to the new state
+         */
+        void onStateTransition(CircuitBreaker circuitBreaker, State from, State to);
+    }
+
+    private static final int SUCCESS = 0;
+    private static final int FAILURE = 1;
+    private static final int SLOW = 2;
+
+    private final String name;
+    private final int failureRateThreshold;
+    private final int slowCallRateThreshold;
+    private final long slowCallDurationNanos;
+    private final int minimumNumberOfCalls;
+    private final long waitDurationInOpenStateNanos;
+    private final int permittedCallsInHalfOpenState;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile State state = State.CLOSED;
+    private volatile long openUntil;
+
+    // Guarded by this
+    private final byte[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int failures;
+    private int slowCalls;
+    private int halfOpenPermits;
+
+    private CircuitBreaker(Builder builder) {
+        this.name = builder.name;
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallDurationNanos = TimeUnit.MILLISECONDS.toNanos(builder.slowCallDurationMillis);
+        this.minimumNumberOfCalls = Math.min(builder.minimumNumberOfCalls, builder.slidingWindowSize);
+        this.waitDurationInOpenStateNanos = TimeUnit.MILLISECONDS.toNanos(builder.waitDurationInOpenStateMillis);
+        this.permittedCallsInHalfOpenState = builder.permittedCallsInHalfOpenState;
+        this.window = new byte[builder.slidingWindowSize];
+    }
+
+    public static class Builder {
+
+        private String name = "";
+        private int failureRateThreshold = 50;
+        private int slowCallRateThreshold = 100;
+        private long slowCallDurationMillis = 10000;
+        private int slidingWindowSize = 20;
+        private int minimumNumberOfCalls = 10;
+        private long waitDurationInOpenStateMillis = 30000;
+        private int permittedCallsInHalfOpenState = 3;
+
+        public CircuitBreaker build() {
+            if (failureRateThreshold < 1 || failureRateThreshold > 100 || slowCallRateThreshold < 1
+                    || slowCallRateThreshold > 100) {
+                throw new IllegalArgumentException("rate thresholds must be between 1 and 100");
+            }
+            if (slidingWindowSize < 1 || minimumNumberOfCalls < 1 || permittedCallsInHalfOpenState < 1) {
+                throw new IllegalArgumentException("window sizes and call counts must be positive");
+            }
+            if (slowCallDurationMillis < 1 || waitDurationInOpenStateMillis < 1) {
+                throw new IllegalArgumentException("durations must be positive");
+            }
+            return new CircuitBreaker(this);
+        }
+
+        /**
+         * Sets the name of the circuit breaker, used in metrics and messages.
+         *
+         * @param name the name
+         * @return the builder
+         */
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * Sets the percentage of failed calls at which the breaker opens. Defaults to 50.
+         *
+         * @param failureRateThreshold the failure rate threshold, in percent
+         * @return the builder
+         */
+        public Builder failureRateThreshold(int failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the percentage of slow calls at which the breaker opens. Defaults to 100.
+         *
+         * @param slowCallRateThreshold the slow call rate threshold, in percent
+         * @return the builder
+         */
+        public Builder slowCallRateThreshold(int slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the duration above which a call is slow. Defaults to 10 s.
+         *
+         * @param slowCallDurationMillis the slow call duration in milliseconds
+         * @return the builder
+         */
+        public Builder slowCallDurationMillis(long slowCallDurationMillis) {
+            this.slowCallDurationMillis = slowCallDurationMillis;
+            return this;
+        }
+
+        /**
+         * Sets the number of recent calls the rates are computed on. Defaults to 20.
+         *
+         * @param slidingWindowSize the sliding window size
+         * @return the builder
+         */
+        public Builder slidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+            return this;
+        }
+
+        /**
+         * Sets the number of calls recorded before the rates are evaluated. Defaults to 10.
+         *
+         * @param minimumNumberOfCalls the minimum number of calls
+         * @return the builder
+         */
+        public Builder minimumNumberOfCalls(int minimumNumberOfCalls) {
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+            return this;
+        }
+
+        /**
+         * Sets how long the breaker stays open before it lets trial calls through. Defaults to 30 s.
+         *
+         * @param waitDurationInOpenStateMillis the open duration in milliseconds
+         * @return the builder
+         */
+        public Builder waitDurationInOpenStateMillis(long waitDurationInOpenStateMillis) {
+            this.waitDurationInOpenStateMillis = waitDurationInOpenStateMillis;
+            return this;
+        }
+
+        /**
+         * Sets the number of trial calls let through while half open. Defaults to 3.
+         *
+         * @param permittedCallsInHalfOpenState the number of trial calls
+         * @return the builder
+         */
+        public Builder permittedCallsInHalfOpenState(int permittedCallsInHalfOpenState) {
+            this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+            return this;
+        }
+    }
+
+    /**
+     * Tells whether a call would be let through, without taking a trial slot. Used to fail fast before a call waits
+     * for a rate limit or a bulkhead.
+     *
+     * @return {@code false} if the breaker is open
+     */
+    public boolean isCallPermitted() {
+        return state != State.OPEN || System.nanoTime() - openUntil >= 0;
+    }
+
+    /**
+     * Lets a call through if the breaker is closed, or half open with a trial slot left.
+     *
+     * @return {@code true} if the call can proceed
+     */
+    public boolean tryAcquire() {
+        State current = state;
+        if (current == State.CLOSED) {
+            return true;
+        }
+        State from = null;
+        boolean permitted;
+        synchronized (this) {
+            if (state == State.OPEN && System.nanoTime() - openUntil >= 0) {
+                from = transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                permitted = halfOpenPermits > 0;
+                if (permitted) {
+                    halfOpenPermits--;
+                }
+            } else {
+                permitted = state == State.CLOSED;
+            }
+        }
+        notifyTransition(from, State.HALF_OPEN);
+        return permitted;
+    }
+
+    /**
+     * Records a call that completed without error.
+     *
+     * @param durationNanos the duration of the call, in nanoseconds
+     */
+    public void onSuccess(long durationNanos) {
+        record(durationNanos > slowCallDurationNanos ? SLOW : SUCCESS);
+    }
+
+    /**
+     * Records a call that failed.
+     *
+     * @param durationNanos the duration of the call, in nanoseconds
+     */
+    public void onError(long durationNanos) {
+        record(durationNanos > slowCallDurationNanos ? FAILURE | SLOW : FAILURE);
+    }
+
+    /**
+     * Releases a call whose outcome says nothing about the health of the API.
+     */
+    public void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            synchronized (this) {
+                if (state == State.HALF_OPEN && halfOpenPermits < permittedCallsInHalfOpenState) {
+                    halfOpenPermits++;
+                }
+            }
+        }
+    }
+
+    private void record(int outcome) {
+        State from;
+        State to;
+        synchronized (this) {
+            if (state == State.OPEN) {
+                // A late answer of a call let through before the breaker opened
+                return;
+            }
+            if (windowCount == window.length) {
+                int evicted = window[windowIndex];
+                failures -= evicted & FAILURE;
+                slowCalls -= (evicted & SLOW) >> 1;
+            } else {
+                windowCount++;
+            }
+            window[windowIndex] = (byte) outcome;
+            windowIndex = (windowIndex + 1) % window.length;
+            failures += outcome & FAILURE;
+            slowCalls += (outcome & SLOW) >> 1;
+
+            int required = state == State.HALF_OPEN ? Math.min(permittedCallsInHalfOpenState, window.length)
+                    : minimumNumberOfCalls;
+            if (windowCount < required) {
+                return;
+            }
+            boolean tripped = failures * 100 >= failureRateThreshold * windowCount
+                    || slowCalls * 100 >= slowCallRateThreshold * windowCount;
+            if (tripped) {
+                to = State.OPEN;
+            } else if (state == State.HALF_OPEN) {
+                to = State.CLOSED;
+            } else {
+                return;
+            }
+            from = transitionTo(to);
+        }
+        notifyTransition(from, to);
+    }
+
+    /**
+     * Moves to a new state and resets the window. Must be called while holding the lock.
+     *
+     * @return the previous state
+     */
+    private State transitionTo(State to) {
+        State from = state;
+        windowIndex = 0;
+        windowCount = 0;
+        failures = 0;
+        slowCalls = 0;
+        halfOpenPermits = permittedCallsInHalfOpenState;
+        if (to == State.OPEN) {
+            openUntil = System.nanoTime() + waitDurationInOpenStateNanos;
+        }
+        state = to;
+        return from;
+    }
+
+    private void notifyTransition(State from, State to) {
+        if (from == null) {
+            return;
+        }
+        LOG.info("Circuit breaker " + name + " changed from " + from + " to " + to);
+        for (Listener listener : listeners) {
+            try {
+                listener.onStateTransition(this, from, to);
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Circuit breaker listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * Adds a listener of the state transitions.
+     *
+     * @param listener the listener
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener of the state transitions.
+     *
+     * @param listener the listener
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Forces the breaker back to {@link State#CLOSED}, forgetting the recorded calls.
+     */
+    public void reset() {
+        State from;
+        synchronized (this) {
+            from = transitionTo(State.CLOSED);
+        }
+        notifyTransition(from == State.CLOSED ? null : from, State.CLOSED);
+    }
+
+    /**
+     * Gets the name of the circuit breaker.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the current state.
+     *
+     * @return the state
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Gets the failure rate of the recorded calls, in percent.
+     *
+     * @return the failure rate, or -1 if fewer calls than required are recorded
+     */
+    public synchronized float getFailureRate() {
+        return windowCount < minimumNumberOfCalls ? -1 : failures * 100f / windowCount;
+    }
+
+    /**
+     * Gets the slow call rate of the recorded calls, in percent.
+     *
+     * @return the slow call rate, or -1 if fewer calls than required are recorded
+     */
+    public synchronized float getSlowCallRate() {
+        return windowCount < minimumNumberOfCalls ? -1 : slowCalls * 100f / windowCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker[" + name + ", state=" + state + "]";
+    }
+}
@@ -0,0 +1,119 @@
+package io.daex.sdk.core.service.resilience;
+
+import io.daex.sdk.core.client.DaexClientConfig;
+import io.daex.sdk.core.enums.ApiType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the {@link CircuitBreaker} of every {@link ApiType}, shared by all the clients of the JVM. When
+ * {@code circuitBreaker.enabled} is set in {@code sdk_config.properties}, each api type gets a breaker built from the
+ * {@code circuitBreaker.*} settings. A breaker can also be registered for a single request path, which then takes
+ * precedence over the breaker of its api type.
+ */
+public final class CircuitBreakerRegistry {
+
+    private static final CircuitBreakerRegistry INSTANCE = new CircuitBreakerRegistry();
+
+    private volatile Map<ApiType, CircuitBreaker> circuitBreakers;
+    private final ConcurrentMap<String, CircuitBreaker> pathCircuitBreakers = new ConcurrentHashMap<>();
+
+    private CircuitBreakerRegistry() {
+        Map<ApiType, CircuitBreaker> configured = new EnumMap<>(ApiType.class);
+        if (DaexClientConfig.getInstance().isCircuitBreakerEnabled()) {
+            for (ApiType apiType : ApiType.values()) {
+                configured.put(apiType, fromConfig(apiType.name()));
+            }
+        }
+        circuitBreakers = configured;
+    }
+
+    /**
+     * Gets the single instance of CircuitBreakerRegistry.
+     *
+     * @return single instance of CircuitBreakerRegistry
+     */
+    public static CircuitBreakerRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Creates a circuit breaker from the {@code circuitBreaker.*} settings.
+     *
+     * @param name the name of the circuit breaker
+     * @return the circuit breaker
+     */
+    public static CircuitBreaker fromConfig(String name) {
+        DaexClientConfig config = DaexClientConfig.getInstance();
+        return new CircuitBreaker.Builder()
+                .name(name)
+                .failureRateThreshold(config.getCircuitBreakerFailureRateThreshold())
+                .slowCallRateThreshold(config.getCircuitBreakerSlowCallRateThreshold())
+                .slowCallDurationMillis(config.getCircuitBreakerSlowCallDurationMillis())
+                .slidingWindowSize(config.getCircuitBreakerSlidingWindowSize())
+                .minimumNumberOfCalls(config.getCircuitBreakerMinimumNumberOfCalls())
+                .waitDurationInOpenStateMillis(config.getCircuitBreakerWaitDurationInOpenStateMillis())
+                .permittedCallsInHalfOpenState(config.getCircuitBreakerPermittedCallsInHalfOpenState())
+                .build();
+    }
+
+    /**
+     * Gets the circuit breaker of a request.
+     *
+     * @param path the request path
+     * @param apiType the api type of the request, may be {@code null}
+     * @return the breaker registered for the path, else the one of the api type, or {@code null} if there is none
+     */
+    public CircuitBreaker get(String path, ApiType apiType) {
+        if (!pathCircuitBreakers.isEmpty()) {
+            CircuitBreaker circuitBreaker = pathCircuitBreakers.get(path);
+            if (circuitBreaker != null) {
+                return circuitBreaker;
+            }
+        }
+        return get(apiType);
+    }
+
+    /**
+     * Gets the circuit breaker of an {@link ApiType}.
+     *
+     * @param apiType the api type
+     * @return the circuit breaker, or {@code null} if there is none
+     */
+    public CircuitBreaker get(ApiType apiType) {
+        return apiType == null ? null : circuitBreakers.get(apiType);
+    }
+
+    /**
+     * Replaces the circuit breaker of an {@link ApiType}.
+     *
+     * @param apiType the api type
+     * @param circuitBreaker the circuit breaker, or {@code null} to remove it
+     */
+    public synchronized void register(ApiType apiType, CircuitBreaker circuitBreaker) {
+        Map<ApiType, CircuitBreaker> copy = new EnumMap<>(circuitBreakers);
+        if (circuitBreaker == null) {
+            copy.remove(apiType);
+        } else {
+            copy.put(apiType, circuitBreaker);
+        }
+        circuitBreakers = copy;
+    }
+
+    /**
+     * Replaces the circuit breaker of a request path.
+     *
+     * @param path the request path
+     * @param circuitBreaker the circuit breaker, or {@code null} to fall back to the breaker of the api type
+     */
+    public void register(String path, CircuitBreaker circuitBreaker) {
+        if (circuitBreaker == null) {
+            pathCircuitBreakers.remove(path);
+        } else {
+            pathCircuitBreakers.put(path, circuitBreaker);
+        }
+    }
+}
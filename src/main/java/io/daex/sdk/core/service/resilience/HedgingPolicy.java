@@ -0,0 +1,213 @@
+package io.daex.sdk.core.service.resilience;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides when an idempotent read is hedged: if the first attempt has not answered after the given percentile of the
+ * recent latencies of its endpoint, a duplicate is sent, the first successful answer is used and the other call is
+ * cancelled. Each duplicate is a new HTTP call, signed again. When the duplicate wins, the time the cancelled first
+ * attempt had been running is recorded as its latency: it is a lower bound, but leaving the slow attempts out would
+ * drag the percentile down every time a hedge wins.
+ * <p>
+ * Hedges are paid from a budget: every hedged call earns {@code budgetPercent} percent of a hedge, up to
+ * {@code maxBurst} hedges, so hedges stay a small share of the traffic and cannot amplify the load when the exchange
+ * is slow for every call.
+ */
+public final class HedgingPolicy {
+
+    private static final int MAX_ENDPOINTS = 1024;
+    private static final long MILLI_TOKENS = 1000;
+
+    private final int percentile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final int budgetPercent;
+    private final long maxBudget;
+
+    private final ConcurrentMap<String, LatencyTracker> latencies = new ConcurrentHashMap<>();
+    private final AtomicLong budget;
+    private final AtomicLong hedged = new AtomicLong();
+    private final AtomicLong won = new AtomicLong();
+    private final AtomicLong overBudget = new AtomicLong();
+
+    private HedgingPolicy(Builder builder) {
+        this.percentile = builder.percentile;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(builder.minDelayMillis);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(builder.maxDelayMillis);
+        this.budgetPercent = builder.budgetPercent;
+        this.maxBudget = builder.maxBurst * MILLI_TOKENS;
+        this.budget = new AtomicLong(maxBudget);
+    }
+
+    public static class Builder {
+
+        private int percentile = 95;
+        private long minDelayMillis = 10;
+        private long maxDelayMillis = 1000;
+        private int budgetPercent = 10;
+        private int maxBurst = 10;
+
+        public HedgingPolicy build() {
+            if (percentile < 1 || percentile > 99) {
+                throw new IllegalArgumentException("percentile must be between 1 and 99");
+            }
+            if (minDelayMillis < 0 || maxDelayMillis < minDelayMillis) {
+                throw new IllegalArgumentException("delays must satisfy 0 <= minDelay <= maxDelay");
+            }
+            if (budgetPercent < 1 || budgetPercent > 100 || maxBurst < 1) {
+                throw new IllegalArgumentException("budgetPercent must be between 1 and 100 and maxBurst positive");
+            }
+            return new HedgingPolicy(this);
+        }
+
+        /**
+         * Sets the latency percentile after which a duplicate is sent. Defaults to 95.
+         *
+         * @param percentile the percentile
+         * @return the builder
+         */
+        public Builder percentile(int percentile) {
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * Sets the shortest hedging delay. Defaults to 10 ms.
+         *
+         * @param minDelayMillis the minimum delay in milliseconds
+         * @return the builder
+         */
+        public Builder minDelayMillis(long minDelayMillis) {
+            this.minDelayMillis = minDelayMillis;
+            return this;
+        }
+
+        /**
+         * Sets the longest hedging delay, also used until the endpoint has enough latency samples. Defaults to 1 s.
+         *
+         * @param maxDelayMillis the maximum delay in milliseconds
+         * @return the builder
+         */
+        public Builder maxDelayMillis(long maxDelayMillis) {
+            this.maxDelayMillis = maxDelayMillis;
+            return this;
+        }
+
+        /**
+         * Sets the share of the hedged calls that may send a duplicate, in percent. Defaults to 10.
+         *
+         * @param budgetPercent the budget in percent
+         * @return the builder
+         */
+        public Builder budgetPercent(int budgetPercent) {
+            this.budgetPercent = budgetPercent;
+            return this;
+        }
+
+        /**
+         * Sets the number of duplicates that can be sent in a row when the budget is full. Defaults to 10.
+         *
+         * @param maxBurst the maximum burst of duplicates
+         * @return the builder
+         */
+        public Builder maxBurst(int maxBurst) {
+            this.maxBurst = maxBurst;
+            return this;
+        }
+    }
+
+    /**
+     * Gets how long to wait for the first attempt before sending a duplicate. Also credits the budget for the call.
+     *
+     * @param endpoint the request path
+     * @return the delay in nanoseconds
+     */
+    public long hedgeDelayNanos(String endpoint) {
+        long credited;
+        long current;
+        do {
+            current = budget.get();
+            credited = Math.min(maxBudget, current + budgetPercent * MILLI_TOKENS / 100);
+        } while (credited != current && !budget.compareAndSet(current, credited));
+
+        LatencyTracker tracker = latencies.get(endpoint);
+        long delay = tracker == null ? -1 : tracker.percentileNanos();
+        if (delay < 0) {
+            return maxDelayNanos;
+        }
+        return Math.max(minDelayNanos, Math.min(maxDelayNanos, delay));
+    }
+
+    /**
+     * Takes one duplicate from the budget.
+     *
+     * @return {@code true} if a duplicate can be sent
+     */
+    public boolean tryAcquireHedge() {
+        for (;;) {
+            long current = budget.get();
+            if (current < MILLI_TOKENS) {
+                overBudget.incrementAndGet();
+                return false;
+            }
+            if (budget.compareAndSet(current, current - MILLI_TOKENS)) {
+                hedged.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Records the latency of a successful attempt.
+     *
+     * @param endpoint the request path
+     * @param latencyNanos the latency in nanoseconds
+     * @param hedge whether the attempt was the duplicate
+     */
+    public void record(String endpoint, long latencyNanos, boolean hedge) {
+        LatencyTracker tracker = latencies.get(endpoint);
+        if (tracker == null && latencies.size() < MAX_ENDPOINTS) {
+            LatencyTracker created = new LatencyTracker(percentile);
+            tracker = latencies.putIfAbsent(endpoint, created);
+            if (tracker == null) {
+                tracker = created;
+            }
+        }
+        if (tracker != null) {
+            tracker.record(latencyNanos);
+        }
+        if (hedge) {
+            won.incrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the number of duplicates sent.
+     *
+     * @return the number of hedges
+     */
+    public long getHedgeCount() {
+        return hedged.get();
+    }
+
+    /**
+     * Gets the number of duplicates that answered first.
+     *
+     * @return the number of winning hedges
+     */
+    public long getHedgeWonCount() {
+        return won.get();
+    }
+
+    /**
+     * Gets the number of duplicates not sent because the budget was spent.
+     *
+     * @return the number of hedges over budget
+     */
+    public long getOverBudgetCount() {
+        return overBudget.get();
+    }
+}
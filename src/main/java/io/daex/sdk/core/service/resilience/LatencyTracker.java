@@ -0,0 +1,46 @@
+package io.daex.sdk.core.service.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of the most recent calls of an endpoint, used to derive a percentile. The percentile is recomputed every
+ * {@value #RECOMPUTE_EVERY} samples rather than on every lookup.
+ */
+final class LatencyTracker {
+
+    private static final int SIZE = 128;
+    private static final int RECOMPUTE_EVERY = 16;
+
+    private final long[] samples = new long[SIZE];
+    private final long[] sorted = new long[SIZE];
+    private final int percentile;
+    private int index;
+    private int count;
+    private int sinceRecompute;
+    private volatile long percentileNanos = -1;
+
+    LatencyTracker(int percentile) {
+        this.percentile = percentile;
+    }
+
+    synchronized void record(long latencyNanos) {
+        samples[index] = latencyNanos;
+        index = (index + 1) % SIZE;
+        if (count < SIZE) {
+            count++;
+        }
+        if (++sinceRecompute >= RECOMPUTE_EVERY) {
+            sinceRecompute = 0;
+            System.arraycopy(samples, 0, sorted, 0, count);
+            Arrays.sort(sorted, 0, count);
+            percentileNanos = sorted[Math.min(count - 1, count * percentile / 100)];
+        }
+    }
+
+    /**
+     * @return the latency percentile in nanoseconds, or -1 if too few samples were recorded
+     */
+    long percentileNanos() {
+        return percentileNanos;
+    }
+}
@@ -0,0 +1,180 @@
+package io.daex.sdk.core.service.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Token bucket rate limiter, implemented with the generic cell rate algorithm (GCRA): the whole bucket is one
+ * "theoretical arrival time" updated with a compare-and-set, so taking a permit never blocks on a lock. Up to
+ * {@code burst} calls go through at once, then calls are spaced {@code 1 / permitsPerSecond} apart.
+ * <p>
+ * A permit is reserved when it is requested, so a waiting caller keeps its place: {@link #acquire()} parks the calling
+ * thread until its slot, while asynchronous callers use {@link #reserve()} and schedule the call after the returned
+ * delay.
+ */
+public final class RateLimiter {
+
+    private final String name;
+    private final int permitsPerSecond;
+    private final int burst;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+
+    /**
+     * Time at which the bucket is full again, relative to {@link #origin}. Starts in the past so the first burst goes
+     * through.
+     */
+    private final AtomicLong theoreticalArrival;
+    private final long origin = System.nanoTime();
+
+    private final AtomicLong permits = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong totalDelayNanos = new AtomicLong();
+
+    /**
+     * Creates a rate limiter.
+     *
+     * @param name the name of the rate limiter, used in metrics and messages
+     * @param permitsPerSecond the number of permits per second
+     * @param burst the number of permits that can be taken at once
+     */
+    public RateLimiter(String name, int permitsPerSecond, int burst) {
+        if (permitsPerSecond < 1) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be positive");
+        }
+        this.name = name;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.theoreticalArrival = new AtomicLong(-toleranceNanos - intervalNanos);
+    }
+
+    /**
+     * Reserves a permit.
+     *
+     * @return how long, in nanoseconds, the caller must wait before using the permit; 0 if it can be used now
+     */
+    public long reserve() {
+        for (;;) {
+            long now = System.nanoTime() - origin;
+            long tat = theoreticalArrival.get();
+            long start = Math.max(tat, now);
+            if (theoreticalArrival.compareAndSet(tat, start + intervalNanos)) {
+                long delay = Math.max(0, start - toleranceNanos - now);
+                permits.incrementAndGet();
+                if (delay > 0) {
+                    throttled.incrementAndGet();
+                    totalDelayNanos.addAndGet(delay);
+                }
+                return delay;
+            }
+        }
+    }
+
+    /**
+     * Takes a permit if one is available right now.
+     *
+     * @return {@code true} if a permit was taken
+     */
+    public boolean tryAcquire() {
+        for (;;) {
+            long now = System.nanoTime() - origin;
+            long tat = theoreticalArrival.get();
+            long start = Math.max(tat, now);
+            if (start - toleranceNanos > now) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(tat, start + intervalNanos)) {
+                permits.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Takes a permit, parking the calling thread until it can be used. The permit stays consumed if the thread is
+     * interrupted.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        long delay = reserve();
+        if (delay == 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + delay;
+        while (delay > 0) {
+            LockSupport.parkNanos(this, delay);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            delay = deadline - System.nanoTime();
+        }
+    }
+
+    /**
+     * Gets the name of the rate limiter.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the number of permits per second.
+     *
+     * @return the permits per second
+     */
+    public int getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    /**
+     * Gets the number of permits that can be taken at once.
+     *
+     * @return the burst size
+     */
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * Gets the number of permits taken so far.
+     *
+     * @return the number of permits
+     */
+    public long getPermitCount() {
+        return permits.get();
+    }
+
+    /**
+     * Gets the number of permits that had to wait.
+     *
+     * @return the number of delayed permits
+     */
+    public long getThrottledCount() {
+        return throttled.get();
+    }
+
+    /**
+     * Gets the average delay of the permits that had to wait, in milliseconds.
+     *
+     * @return the average delay
+     */
+    public double getAverageDelayMillis() {
+        long count = throttled.get();
+        return count == 0 ? 0 : totalDelayNanos.get() / 1e6 / count;
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimiter[" + name + ", permitsPerSecond=" + permitsPerSecond + ", burst=" + burst + ", permits="
+                + permits.get() + ", throttled=" + throttled.get() + "]";
+    }
+}
@@ -0,0 +1,75 @@
+package io.daex.sdk.core.service.resilience;
+
+import io.daex.sdk.core.enums.ApiType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the {@link RateLimiter} of every {@link ApiType} and RSA id, shared by all the clients of the JVM, as the
+ * gateway quota is counted per RSA id. The limiters are created on first use from the {@code *.rateLimit.*} settings
+ * of {@code sdk_config.properties}; an {@link ApiType} without a configured rate is not limited unless a limiter is
+ * registered for it.
+ */
+public final class RateLimiterRegistry {
+
+    private static final RateLimiterRegistry INSTANCE = new RateLimiterRegistry();
+
+    private final Map<ApiType, ConcurrentMap<String, RateLimiter>> limiters = new EnumMap<>(ApiType.class);
+
+    private RateLimiterRegistry() {
+        for (ApiType apiType : ApiType.values()) {
+            limiters.put(apiType, new ConcurrentHashMap<String, RateLimiter>());
+        }
+    }
+
+    /**
+     * Gets the single instance of RateLimiterRegistry.
+     *
+     * @return single instance of RateLimiterRegistry
+     */
+    public static RateLimiterRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the rate limiter of an {@link ApiType} and RSA id, creating it from the configuration on first use.
+     *
+     * @param apiType the api type
+     * @param rsaId the RSA id
+     * @return the rate limiter, or {@code null} if the calls are not limited
+     */
+    public RateLimiter get(ApiType apiType, String rsaId) {
+        if (apiType == null || rsaId == null) {
+            return null;
+        }
+        ConcurrentMap<String, RateLimiter> byAccount = limiters.get(apiType);
+        RateLimiter limiter = byAccount.get(rsaId);
+        if (limiter == null && apiType.getPermitsPerSecond() > 0) {
+            RateLimiter created = new RateLimiter(apiType.name() + ":" + rsaId, apiType.getPermitsPerSecond(),
+                    apiType.getBurst());
+            limiter = byAccount.putIfAbsent(rsaId, created);
+            if (limiter == null) {
+                limiter = created;
+            }
+        }
+        return limiter;
+    }
+
+    /**
+     * Replaces the rate limiter of an {@link ApiType} and RSA id.
+     *
+     * @param apiType the api type
+     * @param rsaId the RSA id
+     * @param limiter the rate limiter, or {@code null} to go back to the configured one
+     */
+    public void register(ApiType apiType, String rsaId, RateLimiter limiter) {
+        if (limiter == null) {
+            limiters.get(apiType).remove(rsaId);
+        } else {
+            limiters.get(apiType).put(rsaId, limiter);
+        }
+    }
+}
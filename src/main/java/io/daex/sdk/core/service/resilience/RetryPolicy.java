@@ -0,0 +1,197 @@
+package io.daex.sdk.core.service.resilience;
+
+import io.daex.sdk.core.http.HttpStatus;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether and when a failed service call is attempted again. By default a call is retried when the gateway
+ * answers {@code 429 Too Many Requests} or {@code 503 Service Unavailable}, which means the request was not processed,
+ * and on I/O failures of idempotent requests only, as a failed {@code POST} may still have reached the exchange.
+ * <p>
+ * The delays follow the "decorrelated jitter" backoff: each one is drawn at random between the base delay and three
+ * times the previous delay, capped by the maximum delay. A {@code Retry-After} header sent by the gateway takes
+ * precedence; if it asks for a longer wait than the maximum delay, the call is not retried. Every attempt is a new
+ * HTTP call, so it is signed again with a fresh nonce and timestamp.
+ */
+public final class RetryPolicy {
+
+    private static final String RETRY_AFTER = "Retry-After";
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final Set<Integer> retryStatusCodes;
+    private final boolean retryNonIdempotent;
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.baseDelayMillis = builder.baseDelayMillis;
+        this.maxDelayMillis = builder.maxDelayMillis;
+        this.retryStatusCodes = new HashSet<>(builder.retryStatusCodes);
+        this.retryNonIdempotent = builder.retryNonIdempotent;
+    }
+
+    public static class Builder {
+
+        private int maxAttempts = 3;
+        private long baseDelayMillis = 100;
+        private long maxDelayMillis = 10000;
+        private Set<Integer> retryStatusCodes = new HashSet<>(Arrays.asList(HttpStatus.TOO_MANY_REQUESTS,
+                HttpStatus.SERVICE_UNAVAILABLE));
+        private boolean retryNonIdempotent;
+
+        public RetryPolicy build() {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts must be positive");
+            }
+            if (baseDelayMillis < 1 || maxDelayMillis < baseDelayMillis) {
+                throw new IllegalArgumentException("delays must be positive and baseDelay <= maxDelay");
+            }
+            return new RetryPolicy(this);
+        }
+
+        /**
+         * Sets the maximum number of attempts, the first one included. Defaults to 3.
+         *
+         * @param maxAttempts the maximum number of attempts
+         * @return the builder
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Sets the smallest delay between two attempts. Defaults to 100 ms.
+         *
+         * @param baseDelayMillis the base delay in milliseconds
+         * @return the builder
+         */
+        public Builder baseDelayMillis(long baseDelayMillis) {
+            this.baseDelayMillis = baseDelayMillis;
+            return this;
+        }
+
+        /**
+         * Sets the largest delay between two attempts. Defaults to 10 s.
+         *
+         * @param maxDelayMillis the maximum delay in milliseconds
+         * @return the builder
+         */
+        public Builder maxDelayMillis(long maxDelayMillis) {
+            this.maxDelayMillis = maxDelayMillis;
+            return this;
+        }
+
+        /**
+         * Sets the HTTP status codes that are retried. Defaults to 429 and 503.
+         *
+         * @param statusCodes the status codes
+         * @return the builder
+         */
+        public Builder retryStatusCodes(Integer... statusCodes) {
+            this.retryStatusCodes = new HashSet<>(Arrays.asList(statusCodes));
+            return this;
+        }
+
+        /**
+         * Sets whether I/O failures of non idempotent requests, such as transfers, are retried. Only enable it if the
+         * API deduplicates requests, as the failed attempt may have been processed. Defaults to {@code false}.
+         *
+         * @param retryNonIdempotent whether to retry non idempotent requests on I/O failures
+         * @return the builder
+         */
+        public Builder retryNonIdempotent(boolean retryNonIdempotent) {
+            this.retryNonIdempotent = retryNonIdempotent;
+            return this;
+        }
+    }
+
+    /**
+     * Gets the delay before the next attempt of a call that got a response.
+     *
+     * @param attempt the number of the attempt that got the response, starting at 1
+     * @param previousDelayMillis the delay before that attempt, 0 for the first one
+     * @param response the response
+     * @return the delay in milliseconds, or -1 if the call must not be retried
+     */
+    public long retryDelayMillis(int attempt, long previousDelayMillis, Response response) {
+        if (attempt >= maxAttempts || !retryStatusCodes.contains(response.code())) {
+            return -1;
+        }
+        long retryAfter = parseRetryAfterMillis(response.header(RETRY_AFTER));
+        if (retryAfter >= 0) {
+            return retryAfter <= maxDelayMillis ? Math.max(retryAfter, baseDelayMillis) : -1;
+        }
+        return nextDelayMillis(previousDelayMillis);
+    }
+
+    /**
+     * Gets the delay before the next attempt of a call that failed with an I/O error.
+     *
+     * @param attempt the number of the attempt that failed, starting at 1
+     * @param previousDelayMillis the delay before that attempt, 0 for the first one
+     * @param request the request
+     * @param e the I/O error
+     * @return the delay in milliseconds, or -1 if the call must not be retried
+     */
+    public long retryDelayMillis(int attempt, long previousDelayMillis, Request request, IOException e) {
+        if (attempt >= maxAttempts || (!retryNonIdempotent && !isIdempotent(request.method()))) {
+            return -1;
+        }
+        return nextDelayMillis(previousDelayMillis);
+    }
+
+    private long nextDelayMillis(long previousDelayMillis) {
+        long upper = Math.max(baseDelayMillis, Math.min(maxDelayMillis, previousDelayMillis * 3));
+        if (upper <= baseDelayMillis) {
+            return baseDelayMillis;
+        }
+        return ThreadLocalRandom.current().nextLong(baseDelayMillis, upper + 1);
+    }
+
+    private static boolean isIdempotent(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "PUT".equals(method) || "DELETE".equals(method);
+    }
+
+    /**
+     * Parses a {@code Retry-After} value, either a number of seconds or an HTTP date.
+     *
+     * @return the delay in milliseconds, or -1 if there is no valid value
+     */
+    private static long parseRetryAfterMillis(String retryAfter) {
+        if (retryAfter == null || retryAfter.isEmpty()) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(retryAfter.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            // Not a number of seconds, try an HTTP date
+        }
+        try {
+            ZonedDateTime date = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, date.toInstant().toEpochMilli() - System.currentTimeMillis());
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Gets the maximum number of attempts, the first one included.
+     *
+     * @return the maximum number of attempts
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+}
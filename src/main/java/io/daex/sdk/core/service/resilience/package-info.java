@@ -0,0 +1,4 @@
+/**
+ * Admission control and fault handling applied to DAEX service calls.
+ */
+package io.daex.sdk.core.service.resilience;
@@ -0,0 +1,62 @@
+package io.daex.sdk.core.service.security;
+
+import io.daex.sdk.core.service.exception.RequestSigningException;
+
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.Base64;
+
+/**
+ * Base {@link RequestSigner} for JCA signature algorithms. The key comes from the {@link KeyRegistry}, the engine from
+ * a {@link SignaturePool} and the data to sign is written to the calling thread's {@link SigningBuffer}.
+ */
+public abstract class AbstractRequestSigner implements RequestSigner {
+
+    private final String keyAlgorithm;
+    private final SignaturePool signatures;
+
+    /**
+     * Instantiates a new signer.
+     *
+     * @param signatureAlgorithm the JCA signature algorithm, e.g. {@code SHA256withRSA}
+     * @param keyAlgorithm the JCA key algorithm, e.g. {@code RSA}
+     */
+    protected AbstractRequestSigner(String signatureAlgorithm, String keyAlgorithm) {
+        this.keyAlgorithm = keyAlgorithm;
+        this.signatures = new SignaturePool(signatureAlgorithm);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws RequestSigningException if the key cannot be decoded or the signature engine fails
+     */
+    @Override
+    public String sign(RSAOptions options) {
+        PrivateKey pk = null;
+        try {
+            pk = options.getApiType() != null
+                    ? KeyRegistry.getInstance().getPrivateKey(options.getApiType(), keyAlgorithm)
+                    : KeyRegistry.decode(options.getPrivateKey(), keyAlgorithm);
+            Signature signature = signatures.acquire(pk);
+            SigningBuffer data = SigningBuffer.get();
+            RSASigner.writeDataToSign(data, options);
+            data.updateSignature(signature);
+            if (options.getFormParams() == null && options.getJsonBody() != null) {
+                options.getJsonBody().update(signature);
+            }
+            return options.getRsaId() + ":" + Base64.getEncoder().encodeToString(signature.sign());
+        } catch (Exception e) {
+            if (pk != null) {
+                signatures.discard(pk);
+            }
+            throw new RequestSigningException("Unable to sign with the " + keyAlgorithm + " key of "
+                    + options.getRsaId(), e);
+        }
+    }
+
+    @Override
+    public String getKeyAlgorithm() {
+        return keyAlgorithm;
+    }
+}
@@ -0,0 +1,153 @@
+package io.daex.sdk.core.service.security;
+
+import java.util.Arrays;
+
+/**
+ * Canonical form of an encoded query string: the {@code name=value} parameters sorted by name, joined with {@code &}.
+ * When a name repeats, the last value wins; parameters without a value get an empty one. The query is scanned once,
+ * the parameter boundaries are sorted in place in a per-thread array and the canonical form is written straight into
+ * the {@link SigningBuffer}, so canonicalizing allocates nothing.
+ */
+public final class CanonicalQuery {
+
+    /**
+     * Per parameter: start of the name, end of the name and end of the value.
+     */
+    private static final int SLOTS = 3;
+
+    private static final ThreadLocal<int[]> BOUNDS = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[16 * SLOTS];
+        }
+    };
+
+    private CanonicalQuery() {
+        // This is a utility class - no instantiation allowed.
+    }
+
+    /**
+     * Writes the canonical form of an encoded query.
+     *
+     * @param out the buffer to write to
+     * @param query the encoded query, without the leading {@code ?}
+     */
+    public static void write(SigningBuffer out, String query) {
+        int[] bounds = scan(query);
+        int count = bounds[bounds.length - 1];
+        boolean first = true;
+        for (int i = 0; i < count; i++) {
+            int p = i * SLOTS;
+            if (i + 1 < count && sameName(query, bounds, p, p + SLOTS)) {
+                continue;
+            }
+            if (!first) {
+                out.append('&');
+            }
+            first = false;
+            out.append(query, bounds[p], bounds[p + 1]).append('=');
+            int valueStart = bounds[p + 1] + 1;
+            if (valueStart < bounds[p + 2]) {
+                out.append(query, valueStart, bounds[p + 2]);
+            }
+        }
+    }
+
+    /**
+     * Gets the canonical form of an encoded query.
+     *
+     * @param query the encoded query, without the leading {@code ?}
+     * @return the canonical query
+     */
+    public static String canonicalize(String query) {
+        int[] bounds = scan(query);
+        int count = bounds[bounds.length - 1];
+        StringBuilder sb = new StringBuilder(query.length() + 1);
+        for (int i = 0; i < count; i++) {
+            int p = i * SLOTS;
+            if (i + 1 < count && sameName(query, bounds, p, p + SLOTS)) {
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append('&');
+            }
+            sb.append(query, bounds[p], bounds[p + 1]).append('=');
+            int valueStart = bounds[p + 1] + 1;
+            if (valueStart < bounds[p + 2]) {
+                sb.append(query, valueStart, bounds[p + 2]);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Finds the parameter boundaries and sorts them by name, keeping the query order of equal names. The parameter
+     * count is stored in the last slot of the returned array.
+     */
+    private static int[] scan(String query) {
+        int[] bounds = BOUNDS.get();
+        int count = 0;
+        int length = query.length();
+        int start = 0;
+        while (start <= length) {
+            int end = query.indexOf('&', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                int eq = query.indexOf('=', start);
+                if (eq < 0 || eq > end) {
+                    eq = end;
+                }
+                if ((count + 1) * SLOTS >= bounds.length) {
+                    bounds = Arrays.copyOf(bounds, bounds.length << 1);
+                    BOUNDS.set(bounds);
+                }
+                int p = count * SLOTS;
+                bounds[p] = start;
+                bounds[p + 1] = eq;
+                bounds[p + 2] = end;
+                count++;
+            }
+            start = end + 1;
+        }
+
+        // Insertion sort: queries are short and often already sorted, and it is stable.
+        for (int i = 1; i < count; i++) {
+            int s = bounds[i * SLOTS];
+            int e = bounds[i * SLOTS + 1];
+            int v = bounds[i * SLOTS + 2];
+            int j = i - 1;
+            while (j >= 0 && compareNames(query, bounds[j * SLOTS], bounds[j * SLOTS + 1], s, e) > 0) {
+                System.arraycopy(bounds, j * SLOTS, bounds, (j + 1) * SLOTS, SLOTS);
+                j--;
+            }
+            bounds[(j + 1) * SLOTS] = s;
+            bounds[(j + 1) * SLOTS + 1] = e;
+            bounds[(j + 1) * SLOTS + 2] = v;
+        }
+        bounds[bounds.length - 1] = count;
+        return bounds;
+    }
+
+    private static boolean sameName(String query, int[] bounds, int p, int q) {
+        return compareNames(query, bounds[p], bounds[p + 1], bounds[q], bounds[q + 1]) == 0;
+    }
+
+    /**
+     * Compares two regions of the query the same way as {@link String#compareTo(String)}.
+     */
+    private static int compareNames(String query, int start1, int end1, int start2, int end2) {
+        int len1 = end1 - start1;
+        int len2 = end2 - start2;
+        int min = Math.min(len1, len2);
+        for (int k = 0; k < min; k++) {
+            char c1 = query.charAt(start1 + k);
+            char c2 = query.charAt(start2 + k);
+            if (c1 != c2) {
+                return c1 - c2;
+            }
+        }
+        return len1 - len2;
+    }
+}
@@ -0,0 +1,24 @@
+package io.daex.sdk.core.service.security;
+
+/**
+ * {@link RequestSigner} for {@code SHA256withECDSA}. An EC private key signs at a fraction of the CPU cost of an
+ * RSA-2048 key, so use it for APIs whose gateway accepts EC signatures. The key is configured the same way as an RSA
+ * key, as a Base64 encoded PKCS#8 key, e.g. of a P-256 key pair.
+ */
+public final class ECDSARequestSigner extends AbstractRequestSigner {
+
+    private static final ECDSARequestSigner INSTANCE = new ECDSARequestSigner();
+
+    private ECDSARequestSigner() {
+        super("SHA256withECDSA", "EC");
+    }
+
+    /**
+     * Gets the single instance of ECDSARequestSigner.
+     *
+     * @return single instance of ECDSARequestSigner
+     */
+    public static ECDSARequestSigner getInstance() {
+        return INSTANCE;
+    }
+}
@@ -0,0 +1,148 @@
+package io.daex.sdk.core.service.security;
+
+import io.daex.sdk.core.enums.ApiType;
+
+import java.security.KeyFactory;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Holds the decoded signing key of every {@link ApiType}. Each PKCS#8 key is decoded once, on first use, and the
+ * resulting {@link PrivateKey} is served from memory afterwards. Call {@link #invalidate(ApiType)} or
+ * {@link #register(ApiType, String)} when a key is rotated.
+ */
+public final class KeyRegistry {
+
+    private static final KeyRegistry INSTANCE = new KeyRegistry(new Function<ApiType, String>() {
+        @Override
+        public String apply(ApiType apiType) {
+            return apiType.getApiPrivateKey();
+        }
+    });
+
+    /**
+     * Copy-on-write snapshot, so lookups on the signing path never take a lock.
+     */
+    private volatile Map<ApiType, PrivateKey> keys = new EnumMap<>(ApiType.class);
+
+    private final Function<ApiType, String> configuredKeys;
+
+    /**
+     * Creates a registry of keys read from a given source instead of {@code sdk_config.properties}.
+     *
+     * @param configuredKeys gets the Base64 encoded PKCS#8 key of an api type
+     */
+    KeyRegistry(Function<ApiType, String> configuredKeys) {
+        this.configuredKeys = configuredKeys;
+    }
+
+    /**
+     * Gets the single instance of KeyRegistry.
+     *
+     * @return single instance of KeyRegistry
+     */
+    public static KeyRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the private key of an {@link ApiType}, decoding the configured key the first time it is requested.
+     *
+     * @param apiType the api type
+     * @return the private key
+     * @throws InvalidKeySpecException if the configured key is not a valid PKCS#8 key
+     */
+    public PrivateKey getPrivateKey(ApiType apiType) throws InvalidKeySpecException {
+        return getPrivateKey(apiType, apiType.getKeyAlgorithm());
+    }
+
+    /**
+     * Gets the private key of an {@link ApiType} for a given key algorithm, decoding the configured key the first time
+     * it is requested.
+     *
+     * @param apiType the api type
+     * @param keyAlgorithm the JCA key algorithm, e.g. {@code RSA} or {@code EC}
+     * @return the private key
+     * @throws InvalidKeySpecException if the configured key is not a valid PKCS#8 key of that algorithm
+     */
+    public PrivateKey getPrivateKey(ApiType apiType, String keyAlgorithm) throws InvalidKeySpecException {
+        PrivateKey privateKey = keys.get(apiType);
+        if (privateKey == null || !privateKey.getAlgorithm().equals(keyAlgorithm)) {
+            privateKey = load(apiType, keyAlgorithm);
+        }
+        return privateKey;
+    }
+
+    /**
+     * Replaces the key of an {@link ApiType} with a new Base64 encoded PKCS#8 key.
+     *
+     * @param apiType the api type
+     * @param privateKey the Base64 encoded private key
+     * @throws InvalidKeySpecException if the key is not a valid PKCS#8 key
+     */
+    public void register(ApiType apiType, String privateKey) throws InvalidKeySpecException {
+        register(apiType, privateKey, apiType.getKeyAlgorithm());
+    }
+
+    /**
+     * Replaces the key of an {@link ApiType} with a new Base64 encoded PKCS#8 key of a given algorithm.
+     *
+     * @param apiType the api type
+     * @param privateKey the Base64 encoded private key
+     * @param keyAlgorithm the JCA key algorithm, e.g. {@code RSA} or {@code EC}
+     * @throws InvalidKeySpecException if the key is not a valid PKCS#8 key of that algorithm
+     */
+    public void register(ApiType apiType, String privateKey, String keyAlgorithm) throws InvalidKeySpecException {
+        PrivateKey decoded = decode(privateKey, keyAlgorithm);
+        synchronized (this) {
+            Map<ApiType, PrivateKey> copy = new EnumMap<>(keys);
+            copy.put(apiType, decoded);
+            keys = copy;
+        }
+    }
+
+    /**
+     * Drops the cached key of an {@link ApiType}. The configured key is decoded again on the next request.
+     *
+     * @param apiType the api type
+     */
+    public synchronized void invalidate(ApiType apiType) {
+        Map<ApiType, PrivateKey> copy = new EnumMap<>(keys);
+        copy.remove(apiType);
+        keys = copy;
+    }
+
+    /**
+     * Drops all the cached keys.
+     */
+    public synchronized void invalidateAll() {
+        keys = new EnumMap<>(ApiType.class);
+    }
+
+    private synchronized PrivateKey load(ApiType apiType, String keyAlgorithm) throws InvalidKeySpecException {
+        PrivateKey decoded = keys.get(apiType);
+        if (decoded == null || !decoded.getAlgorithm().equals(keyAlgorithm)) {
+            decoded = decode(configuredKeys.apply(apiType), keyAlgorithm);
+            Map<ApiType, PrivateKey> copy = new EnumMap<>(keys);
+            copy.put(apiType, decoded);
+            keys = copy;
+        }
+        return decoded;
+    }
+
+    static PrivateKey decode(String privateKey, String keyAlgorithm) throws InvalidKeySpecException {
+        byte[] keyBytes = Base64.getDecoder().decode(privateKey.getBytes());
+        PKCS8EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(keyBytes);
+        try {
+            return KeyFactory.getInstance(keyAlgorithm).generatePrivate(keySpec);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(keyAlgorithm + " is not available in the environment.", e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.daex.sdk.core.service.security;
+
+/**
+ * Generates the value of the {@code X-Authorization-Nonce} header. Every value must be unique across threads and JVM
+ * instances signing with the same key.
+ */
+public interface NonceGenerator {
+
+    /**
+     * Generates a new nonce.
+     *
+     * @return the nonce
+     */
+    String nextNonce();
+}
@@ -1,9 +1,13 @@
 package io.daex.sdk.core.service.security;
 
+import io.daex.sdk.core.enums.ApiType;
+import io.daex.sdk.core.http.JsonRequestBody;
+
 /**
  * Created by qingyun.yu on 2018/8/20.
  */
 public class RSAOptions {
+    private ApiType apiType;
     private String rsaId;
     private String privateKey;
     private String timeStamp;
@@ -11,9 +15,12 @@ public class RSAOptions {
     private String method;
     private String path;
     private String query;
+    private String encodedQuery;
     private String formParams;
+    private JsonRequestBody jsonBody;
     public static class Builder {
 
+        private ApiType apiType;
         private String rsaId;
         private String privateKey;
         private String timeStamp;
@@ -21,12 +28,25 @@ public class RSAOptions {
         private String method;
         private String path;
         private String query;
+        private String encodedQuery;
         private String formParams;
+        private JsonRequestBody jsonBody;
 
         public RSAOptions build() {
             return new RSAOptions(this);
         }
 
+        /**
+         * Sets the api type whose registered key signs the request. Takes precedence over {@link #privateKey(String)}.
+         *
+         * @param apiType the api type
+         * @return the builder
+         */
+        public Builder apiType(ApiType apiType) {
+            this.apiType = apiType;
+            return this;
+        }
+
         public Builder rsaId(String rsaId) {
             this.rsaId = rsaId;
             return this;
@@ -57,13 +77,37 @@ public class RSAOptions {
             this.query = query;
             return this;
         }
+        /**
+         * Sets the encoded query as sent on the wire. It is canonicalized while the data to sign is written, and is
+         * ignored if a canonical {@link #query(String)} is set.
+         *
+         * @param encodedQuery the encoded query
+         * @return the builder
+         */
+        public Builder encodedQuery(String encodedQuery) {
+            this.encodedQuery = encodedQuery;
+            return this;
+        }
         public Builder formParams(String formParams) {
             this.formParams = formParams;
             return this;
         }
+
+        /**
+         * Sets the JSON body to sign. Its bytes are fed to the signature as they are, and it is ignored if
+         * {@link #formParams(String)} is set.
+         *
+         * @param jsonBody the JSON body
+         * @return the builder
+         */
+        public Builder jsonBody(JsonRequestBody jsonBody) {
+            this.jsonBody = jsonBody;
+            return this;
+        }
     }
 
     private RSAOptions(Builder builder) {
+        this.apiType = builder.apiType;
         this.rsaId = builder.rsaId;
         this.privateKey = builder.privateKey;
         this.timeStamp = builder.timeStamp;
@@ -71,9 +115,14 @@ public class RSAOptions {
         this.method = builder.method;
         this.path = builder.path;
         this.query = builder.query;
+        this.encodedQuery = builder.encodedQuery;
         this.formParams = builder.formParams;
+        this.jsonBody = builder.jsonBody;
     }
 
+    public ApiType getApiType() {
+        return apiType;
+    }
 
     public String getRsaId() {
         return rsaId;
@@ -103,7 +152,15 @@ public class RSAOptions {
         return query;
     }
 
+    public String getEncodedQuery() {
+        return encodedQuery;
+    }
+
     public String getFormParams() {
         return formParams;
     }
+
+    public JsonRequestBody getJsonBody() {
+        return jsonBody;
+    }
 }
@@ -0,0 +1,22 @@
+package io.daex.sdk.core.service.security;
+
+/**
+ * {@link RequestSigner} for {@code SHA256withRSA}, the default DAEX signature scheme.
+ */
+public final class RSARequestSigner extends AbstractRequestSigner {
+
+    private static final RSARequestSigner INSTANCE = new RSARequestSigner();
+
+    private RSARequestSigner() {
+        super("SHA256withRSA", "RSA");
+    }
+
+    /**
+     * Gets the single instance of RSARequestSigner.
+     *
+     * @return single instance of RSARequestSigner
+     */
+    public static RSARequestSigner getInstance() {
+        return INSTANCE;
+    }
+}
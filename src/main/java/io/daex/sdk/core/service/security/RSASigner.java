@@ -1,14 +1,6 @@
 package io.daex.sdk.core.service.security;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import java.security.KeyFactory;
-import java.security.NoSuchAlgorithmException;
-import java.security.PrivateKey;
-import java.security.Signature;
-import java.security.spec.InvalidKeySpecException;
-import java.security.spec.PKCS8EncodedKeySpec;
-import java.util.Base64;
+import io.daex.sdk.core.service.exception.RequestSigningException;
 
 /**
  * Created by qingyun.yu on 2018/8/20.
@@ -16,44 +8,37 @@ import java.util.Base64;
 public class RSASigner {
 
     public static String getSignature(RSAOptions rsaOptions){
-        String rsaId = rsaOptions.getRsaId();
-        String privateKey = rsaOptions.getPrivateKey();
         try {
-            String data = getDataToSign(rsaOptions);
-            PrivateKey pk = RSASigner.getPrivateKey(privateKey);
-            Signature signature = Signature.getInstance("SHA256withRSA");
-            signature.initSign(pk);
-            signature.update(data.getBytes());
-            String signatureDate = new String(Base64.getEncoder().encode(signature.sign()), "UTF-8");
-            return rsaId+":"+signatureDate;
-        } catch (Exception e) {
+            return RSARequestSigner.getInstance().sign(rsaOptions);
+        } catch (RequestSigningException e) {
             return null;
         }
     }
 
-    private static String getDataToSign(RSAOptions rsaOptions){
+    /**
+     * Writes the {@code nonce|timestamp|path[|query][|formParams]} string to sign, UTF-8 encoded. A JSON body is not
+     * copied into the buffer, only its {@code |} separator is written: the signer feeds the body to the signature
+     * after the buffer.
+     *
+     * @param data the buffer to write to
+     * @param rsaOptions the signing options
+     */
+    static void writeDataToSign(SigningBuffer data, RSAOptions rsaOptions){
 
-        String nonce = rsaOptions.getNonce();
-        String timestamp = rsaOptions.getTimeStamp();
-        String path = rsaOptions.getPath();
-        String formParams = rsaOptions.getFormParams();
         String queryParams = rsaOptions.getQuery();
+        String formParams = rsaOptions.getFormParams();
 
-        StringBuilder sb = new StringBuilder();
-        sb.append(nonce).append("|").append(timestamp).append("|").append(path);
+        data.append(rsaOptions.getNonce()).append('|').append(rsaOptions.getTimeStamp()).append('|')
+                .append(rsaOptions.getPath());
         if(queryParams!=null){
-            sb.append("|").append(queryParams);
+            data.append('|').append(queryParams);
+        } else if(rsaOptions.getEncodedQuery()!=null){
+            CanonicalQuery.write(data.append('|'), rsaOptions.getEncodedQuery());
         }
         if(formParams!=null){
-            sb.append("|").append(formParams);
+            data.append('|').append(formParams);
+        } else if(rsaOptions.getJsonBody()!=null){
+            data.append('|');
         }
-        return sb.toString();
-    }
-
-    private static PrivateKey getPrivateKey(String privateKey) throws NoSuchAlgorithmException, InvalidKeySpecException {
-        byte[] keyBytes = Base64.getDecoder().decode(privateKey.getBytes());
-        PKCS8EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(keyBytes);
-        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-        return keyFactory.generatePrivate(keySpec);
     }
 }
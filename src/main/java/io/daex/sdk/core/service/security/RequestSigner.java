@@ -0,0 +1,26 @@
+package io.daex.sdk.core.service.security;
+
+/**
+ * Signs DAEX API requests. {@link io.daex.sdk.core.client.DaexClient} resolves one signer per
+ * {@link io.daex.sdk.core.enums.ApiType}, so each API can use the scheme its gateway expects.
+ */
+public interface RequestSigner {
+
+    /**
+     * Signs a request.
+     *
+     * @param options the signing options
+     * @return the value of the {@code X-Authorization-Sign} header, {@code rsaId:base64Signature}, or {@code null} if
+     *         the request could not be signed
+     * @throws io.daex.sdk.core.service.exception.RequestSigningException if the request could not be signed, with the
+     *         cause
+     */
+    String sign(RSAOptions options);
+
+    /**
+     * Gets the JCA name of the key algorithm this signer expects, e.g. {@code RSA} or {@code EC}.
+     *
+     * @return the key algorithm
+     */
+    String getKeyAlgorithm();
+}
@@ -0,0 +1,82 @@
+package io.daex.sdk.core.service.security;
+
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Per-thread pool of {@link Signature} engines that are already initialized for signing. A {@link Signature} resets
+ * itself to its initialized state after {@link Signature#sign()}, so every thread keeps one engine per key and reuses
+ * it, skipping the provider lookup and {@link Signature#initSign(PrivateKey)} on each request. Engines never leave the
+ * thread that created them, so no locking is needed.
+ */
+public final class SignaturePool {
+
+    /**
+     * Number of keys a thread keeps engines for. Old keys are dropped once a rotation pushes the count past it.
+     */
+    private static final int MAX_KEYS_PER_THREAD = 8;
+
+    private final String algorithm;
+
+    private final ThreadLocal<Map<PrivateKey, Signature>> engines = new ThreadLocal<Map<PrivateKey, Signature>>() {
+        @Override
+        protected Map<PrivateKey, Signature> initialValue() {
+            return new IdentityHashMap<>();
+        }
+    };
+
+    /**
+     * Instantiates a new pool.
+     *
+     * @param algorithm the signature algorithm, e.g. {@code SHA256withRSA}
+     */
+    public SignaturePool(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Gets a {@link Signature} of the calling thread, initialized for signing with the given key. The engine must be
+     * used and completed with {@link Signature#sign()} before the same thread acquires it again.
+     *
+     * @param privateKey the private key
+     * @return the signature engine
+     * @throws NoSuchAlgorithmException if the algorithm is not available
+     * @throws InvalidKeyException if the key is not suitable for the algorithm
+     */
+    public Signature acquire(PrivateKey privateKey) throws NoSuchAlgorithmException, InvalidKeyException {
+        Map<PrivateKey, Signature> signatures = engines.get();
+        Signature signature = signatures.get(privateKey);
+        if (signature == null) {
+            if (signatures.size() >= MAX_KEYS_PER_THREAD) {
+                signatures.clear();
+            }
+            signature = Signature.getInstance(algorithm);
+            signature.initSign(privateKey);
+            signatures.put(privateKey, signature);
+        }
+        return signature;
+    }
+
+    /**
+     * Discards the engine of the calling thread for the given key, e.g. after a signing failure left it in an unknown
+     * state.
+     *
+     * @param privateKey the private key
+     */
+    public void discard(PrivateKey privateKey) {
+        engines.get().remove(privateKey);
+    }
+
+    /**
+     * Gets the signature algorithm.
+     *
+     * @return the algorithm
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+}
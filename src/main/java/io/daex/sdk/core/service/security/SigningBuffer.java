@@ -0,0 +1,162 @@
+package io.daex.sdk.core.service.security;
+
+import java.security.Signature;
+import java.security.SignatureException;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer that receives the UTF-8 encoding of the string to sign. Every thread owns one buffer that is
+ * reset and reused for each request, so building the signing input does not allocate once the buffer has grown to the
+ * largest request seen by that thread.
+ */
+public final class SigningBuffer {
+
+    private static final int INITIAL_CAPACITY = 512;
+
+    /**
+     * Buffers larger than this are not kept after use, so one huge payload does not pin memory on the thread.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<SigningBuffer> BUFFERS = new ThreadLocal<SigningBuffer>() {
+        @Override
+        protected SigningBuffer initialValue() {
+            return new SigningBuffer();
+        }
+    };
+
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    private SigningBuffer() {
+    }
+
+    /**
+     * Gets the buffer of the calling thread, emptied.
+     *
+     * @return the signing buffer
+     */
+    public static SigningBuffer get() {
+        SigningBuffer buffer = BUFFERS.get();
+        if (buffer.bytes.length > MAX_RETAINED_CAPACITY) {
+            buffer.bytes = new byte[INITIAL_CAPACITY];
+        }
+        buffer.size = 0;
+        return buffer;
+    }
+
+    /**
+     * Appends a single ASCII character.
+     *
+     * @param c the character
+     * @return this
+     */
+    public SigningBuffer append(char c) {
+        ensureCapacity(1);
+        bytes[size++] = (byte) c;
+        return this;
+    }
+
+    /**
+     * Appends the UTF-8 encoding of a string. A {@code null} string is written as {@code "null"}, the same way
+     * {@link StringBuilder#append(String)} does.
+     *
+     * @param s the string
+     * @return this
+     */
+    public SigningBuffer append(String s) {
+        if (s == null) {
+            return append("null");
+        }
+        return append(s, 0, s.length());
+    }
+
+    /**
+     * Appends the UTF-8 encoding of a region of a string.
+     *
+     * @param s the string
+     * @param start the first char to append
+     * @param end the char after the last one to append
+     * @return this
+     */
+    public SigningBuffer append(String s, int start, int end) {
+        // One byte is reserved per char: a multi-byte char reserves its extra bytes on top of those of the chars left.
+        ensureCapacity(end - start);
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                bytes[size++] = (byte) c;
+            } else if (c < 0x800) {
+                ensureCapacity(2 + end - i - 1);
+                bytes[size++] = (byte) (0xC0 | (c >> 6));
+                bytes[size++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                ensureCapacity(4 + end - i - 1);
+                bytes[size++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[size++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate, encoded as '?' like String.getBytes(UTF_8)
+                bytes[size++] = (byte) '?';
+            } else {
+                ensureCapacity(3 + end - i - 1);
+                bytes[size++] = (byte) (0xE0 | (c >> 12));
+                bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[size++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Appends raw bytes.
+     *
+     * @param b the bytes
+     * @param off the offset of the first byte
+     * @param len the number of bytes
+     * @return this
+     */
+    public SigningBuffer append(byte[] b, int off, int len) {
+        ensureCapacity(len);
+        System.arraycopy(b, off, bytes, size, len);
+        size += len;
+        return this;
+    }
+
+    /**
+     * Feeds the buffered bytes to a signature engine.
+     *
+     * @param signature the signature engine
+     * @throws SignatureException if the engine is not initialized
+     */
+    public void updateSignature(Signature signature) throws SignatureException {
+        signature.update(bytes, 0, size);
+    }
+
+    /**
+     * Gets the number of buffered bytes.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copies the buffered bytes.
+     *
+     * @return a copy of the buffered bytes
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    private void ensureCapacity(int extra) {
+        int required = size + extra;
+        if (required > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length << 1));
+        }
+    }
+}
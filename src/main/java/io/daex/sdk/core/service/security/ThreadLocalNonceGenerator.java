@@ -0,0 +1,79 @@
+package io.daex.sdk.core.service.security;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * {@link NonceGenerator} that gives every thread its own {@link SecureRandom}, seeded once from the system
+ * {@link SecureRandom}, so concurrent signers never contend on a shared generator. Nonces are random (version 4)
+ * UUIDs, in the same format as {@link UUID#randomUUID()}, so their 122 random bits keep them unique across threads and
+ * JVM instances.
+ */
+public final class ThreadLocalNonceGenerator implements NonceGenerator {
+
+    private static final ThreadLocalNonceGenerator INSTANCE = new ThreadLocalNonceGenerator();
+
+    private static final SecureRandom SEED_SOURCE = new SecureRandom();
+
+    private static final int SEED_LENGTH = 32;
+
+    private final ThreadLocal<State> states = new ThreadLocal<State>() {
+        @Override
+        protected State initialValue() {
+            return new State(newRandom());
+        }
+    };
+
+    private ThreadLocalNonceGenerator() {
+    }
+
+    /**
+     * Gets the single instance of ThreadLocalNonceGenerator.
+     *
+     * @return single instance of ThreadLocalNonceGenerator
+     */
+    public static ThreadLocalNonceGenerator getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public String nextNonce() {
+        State state = states.get();
+        byte[] bytes = state.bytes;
+        state.random.nextBytes(bytes);
+
+        long msb = 0;
+        long lsb = 0;
+        for (int i = 0; i < 8; i++) {
+            msb = (msb << 8) | (bytes[i] & 0xff);
+        }
+        for (int i = 8; i < 16; i++) {
+            lsb = (lsb << 8) | (bytes[i] & 0xff);
+        }
+        msb = (msb & ~0xF000L) | 0x4000L; // version 4
+        lsb = (lsb & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L; // IETF variant
+        return new UUID(msb, lsb).toString();
+    }
+
+    private static SecureRandom newRandom() {
+        byte[] seed = new byte[SEED_LENGTH];
+        SEED_SOURCE.nextBytes(seed);
+        try {
+            SecureRandom random = SecureRandom.getInstance("SHA1PRNG");
+            random.setSeed(seed);
+            return random;
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom(seed);
+        }
+    }
+
+    private static final class State {
+        private final SecureRandom random;
+        private final byte[] bytes = new byte[16];
+
+        private State(SecureRandom random) {
+            this.random = random;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.daex.sdk.core.service.security;
+
+import java.util.UUID;
+
+/**
+ * {@link NonceGenerator} backed by {@link UUID#randomUUID()}. All threads share the JVM wide {@link
+ * java.security.SecureRandom}, so prefer {@link ThreadLocalNonceGenerator} under concurrent load.
+ */
+public class UUIDNonceGenerator implements NonceGenerator {
+
+    @Override
+    public String nextNonce() {
+        return UUID.randomUUID().toString();
+    }
+}
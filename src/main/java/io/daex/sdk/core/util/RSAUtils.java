@@ -1,34 +1,39 @@
 package io.daex.sdk.core.util;
 
+import io.daex.sdk.core.service.security.CanonicalQuery;
+
 import java.net.URL;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
-import java.util.stream.Stream;
 
 public class RSAUtils {
 
 
+    /**
+     * Gets the canonical form of the query of a URL, see {@link CanonicalQuery}.
+     *
+     * @param url the URL
+     * @return the canonical query
+     */
     public static String sortQuery(URL url) {
-        String query = null;
-        SortedMap<String, String> query_pairs = splitQuery(url);
-        query = flat(query_pairs);
-
-        return query;
+        return CanonicalQuery.canonicalize(url.getQuery());
     }
 
     public static SortedMap<String, String> splitQuery(URL url) {
         SortedMap<String, String> query_pairs = new TreeMap<>();
         String query = url.getQuery();
-        String[] pairs = query.split("&");
-/*        for (String pair : pairs) {
-            int idx = pair.indexOf("=");
-            query_pairs.put(pair.substring(0, idx), pair.substring(idx + 1));
-        }*/
-        Stream.of(pairs).forEach(pair -> {
-            String[] args = pair.split("=");
-            query_pairs.put(args[0], args.length == 2? args[1]: "");
-        });
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int idx = pair.indexOf('=');
+            if (idx < 0) {
+                query_pairs.put(pair, "");
+            } else {
+                query_pairs.put(pair.substring(0, idx), pair.substring(idx + 1));
+            }
+        }
         return query_pairs;
     }
 
@@ -0,0 +1,121 @@
+package io.daex.sdk.core.client;
+
+import io.daex.sdk.core.http.ServiceCall;
+import io.daex.sdk.core.service.resilience.AdaptiveLimiter;
+import io.daex.sdk.core.service.resilience.AdaptiveLimiterRegistry;
+import io.daex.sdk.core.util.ResponseConverterUtils;
+import jersey.repackaged.jsr166e.CompletableFuture;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives the adaptive limit of an endpoint through the client, against a server with controlled latencies.
+ */
+public class AdaptiveLimitTest {
+
+    private static final String PATH = "/adaptive";
+    private static final int INITIAL_LIMIT = 10;
+
+    private MockWebServer server;
+    private AdaptiveLimiter limiter;
+    private TestClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        limiter = new AdaptiveLimiter(PATH, INITIAL_LIMIT, 1, 100);
+        AdaptiveLimiterRegistry.getInstance().register(PATH, limiter);
+        client = new TestClient(server);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        AdaptiveLimiterRegistry.getInstance().register(PATH, null);
+        server.shutdown();
+    }
+
+    @Test
+    public void latencySpikeShrinksTheLimit() {
+        for (int i = 0; i < 10; i++) {
+            server.enqueue(response(20));
+        }
+        for (int i = 0; i < 5; i++) {
+            server.enqueue(response(250));
+        }
+
+        for (int i = 0; i < 10; i++) {
+            client.get().execute();
+        }
+        assertEquals(INITIAL_LIMIT, limiter.getLimit());
+
+        for (int i = 0; i < 5; i++) {
+            client.get().execute();
+        }
+        assertTrue("limit " + limiter.getLimit(), limiter.getLimit() < INITIAL_LIMIT);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void dispatcherQueueingIsNotLatency() throws Exception {
+        // One call at a time: the last of ten queued calls waits for the nine others
+        client.dispatcher.setMaxRequestsPerHost(1);
+        for (int i = 0; i < 13; i++) {
+            server.enqueue(response(50));
+        }
+        for (int i = 0; i < 3; i++) {
+            client.get().execute();
+        }
+
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < INITIAL_LIMIT; i++) {
+            futures.add(client.get().rx());
+        }
+        for (CompletableFuture<String> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        assertTrue("limit " + limiter.getLimit(), limiter.getLimit() >= INITIAL_LIMIT);
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(0, limiter.getRejectedCount());
+    }
+
+    private static MockResponse response(long delayMillis) {
+        return new MockResponse().setHeadersDelay(delayMillis, TimeUnit.MILLISECONDS).setBody("ok");
+    }
+
+    private static final class TestClient extends DaexClient {
+        private final MockWebServer server;
+        private Dispatcher dispatcher;
+
+        TestClient(MockWebServer server) {
+            super(server.url("/").toString());
+            this.server = server;
+        }
+
+        @Override
+        protected OkHttpClient configureHttpClient() {
+            dispatcher = new Dispatcher();
+            return new OkHttpClient.Builder().dispatcher(dispatcher).build();
+        }
+
+        ServiceCall<String> get() {
+            return createServiceCall(new Request.Builder().url(server.url(PATH)).build(),
+                    ResponseConverterUtils.getString());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package io.daex.sdk.core.client;
+
+import io.daex.sdk.core.enums.ApiType;
+import io.daex.sdk.core.http.ServiceCallback;
+import io.daex.sdk.core.service.resilience.AdaptiveLimiter;
+import io.daex.sdk.core.service.resilience.AdaptiveLimiterRegistry;
+import io.daex.sdk.core.service.resilience.Bulkhead;
+import io.daex.sdk.core.service.resilience.BulkheadRegistry;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A burst of slow {@code getTransactionList} polls must not hold up a transfer: each api type waits in its own
+ * bulkhead while the calls share the client.
+ */
+public class BulkheadIsolationTest {
+
+    private static final String READ = "/api/service/getTransactionList";
+    private static final String TRANSFER = "/api/service/transfer";
+
+    private final MockWebServer server = new MockWebServer();
+    private final Bulkhead monitoring = new Bulkhead("MAPI", 2);
+    private final Bulkhead trading = new Bulkhead("TAPI", 2);
+    private DaexClientTest.TestClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if (request.getPath().startsWith(READ)) {
+                    Thread.sleep(200);
+                }
+                return new MockResponse().setBody("ok");
+            }
+        });
+        server.start();
+        client = new DaexClientTest.TestClient(server);
+        BulkheadRegistry.getInstance().register(ApiType.MAPI, monitoring);
+        BulkheadRegistry.getInstance().register(ApiType.TAPI, trading);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        BulkheadRegistry.getInstance().register(ApiType.MAPI, null);
+        BulkheadRegistry.getInstance().register(ApiType.TAPI, null);
+        server.shutdown();
+    }
+
+    @Test
+    public void transferIsNotQueuedBehindReads() throws Exception {
+        final int reads = 10;
+        final CountDownLatch done = new CountDownLatch(reads);
+        for (int i = 0; i < reads; i++) {
+            client.get(READ + "?page=" + i).enqueue(new ServiceCallback<String>() {
+                @Override
+                public void onResponse(String response) {
+                    done.countDown();
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    done.countDown();
+                }
+            });
+        }
+        assertEquals(2, monitoring.getInFlight());
+        assertEquals(reads - 2, monitoring.getQueueDepth());
+
+        long start = System.nanoTime();
+        assertEquals("ok", client.get(TRANSFER).execute());
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue("transfer took " + millis + " ms", millis < 200);
+        assertEquals(0, trading.getQueuedCount());
+        assertTrue(monitoring.getQueueDepth() > 0);
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(reads - 2, monitoring.getQueuedCount());
+        assertTrue(monitoring.getMaxWaitMillis() >= 200);
+    }
+
+    @Test
+    public void longQueueRejectedByTheLimiterFailsEveryCallOffTheReleasingThread() throws Exception {
+        final AdaptiveLimiter limiter = new AdaptiveLimiter(READ, 1, 1, 1);
+        AdaptiveLimiterRegistry.getInstance().register(READ, limiter);
+        try {
+            // The only permit is taken, so every call is rejected once the bulkhead admits it
+            assertTrue(limiter.tryAcquire());
+            monitoring.acquire();
+            monitoring.acquire();
+
+            final int calls = 5000;
+            final Thread releasing = Thread.currentThread();
+            final AtomicInteger inline = new AtomicInteger();
+            final CountDownLatch failed = new CountDownLatch(calls);
+            for (int i = 0; i < calls; i++) {
+                client.get(READ).enqueue(new ServiceCallback<String>() {
+                    @Override
+                    public void onResponse(String response) {
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        if (Thread.currentThread() == releasing) {
+                            inline.incrementAndGet();
+                        }
+                        failed.countDown();
+                    }
+                });
+            }
+            assertEquals(calls, monitoring.getQueueDepth());
+
+            monitoring.release();
+            monitoring.release();
+            assertTrue(failed.await(30, TimeUnit.SECONDS));
+            assertEquals(0, inline.get());
+            assertEquals(0, server.getRequestCount());
+            assertEquals(0, monitoring.getInFlight());
+            assertEquals(calls, limiter.getRejectedCount());
+        } finally {
+            AdaptiveLimiterRegistry.getInstance().register(READ, null);
+        }
+    }
+}
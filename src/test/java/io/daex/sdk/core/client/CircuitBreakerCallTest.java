@@ -0,0 +1,113 @@
+package io.daex.sdk.core.client;
+
+import io.daex.sdk.core.enums.ApiType;
+import io.daex.sdk.core.service.exception.CircuitBreakerOpenException;
+import io.daex.sdk.core.service.exception.ServiceResponseException;
+import io.daex.sdk.core.service.resilience.CircuitBreaker;
+import io.daex.sdk.core.service.resilience.CircuitBreaker.State;
+import io.daex.sdk.core.service.resilience.CircuitBreakerRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Drives the circuit breakers through the client: which responses count as failures, and which breaker a request
+ * path uses.
+ */
+public class CircuitBreakerCallTest {
+
+    private static final String TRANSFER = "/api/service/transfer";
+    private static final String BALANCE = "/api/service/getBalance";
+
+    private final CircuitBreakerRegistry registry = CircuitBreakerRegistry.getInstance();
+    private MockWebServer server;
+    private DaexClientTest.TestClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        client = new DaexClientTest.TestClient(server);
+        client.setRouteRegistry(new RouteRegistry.Builder().route("/api/**", ApiType.TAPI).build());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        registry.register(ApiType.TAPI, null);
+        registry.register(TRANSFER, null);
+        server.shutdown();
+    }
+
+    @Test
+    public void tooManyRequestsIsNotAFailure() {
+        CircuitBreaker breaker = breaker("TAPI");
+        registry.register(ApiType.TAPI, breaker);
+
+        callWith(429, BALANCE, 4);
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getFailureRate(), 0);
+
+        callWith(500, BALANCE, 2);
+        assertEquals(State.OPEN, breaker.getState());
+        assertRejected(BALANCE);
+        assertEquals(6, server.getRequestCount());
+    }
+
+    @Test
+    public void pathBreakerOverridesTheApiTypeBreaker() {
+        CircuitBreaker apiBreaker = breaker("TAPI");
+        CircuitBreaker transferBreaker = breaker("transfer");
+        registry.register(ApiType.TAPI, apiBreaker);
+        registry.register(TRANSFER, transferBreaker);
+
+        callWith(500, BALANCE, 4);
+        assertEquals(State.OPEN, apiBreaker.getState());
+        assertRejected(BALANCE);
+
+        // The transfer path has its own breaker, still closed
+        server.enqueue(new MockResponse().setBody("ok"));
+        assertEquals("ok", client.get(TRANSFER).execute());
+
+        callWith(500, TRANSFER, 3);
+        assertEquals(State.OPEN, transferBreaker.getState());
+        assertRejected(TRANSFER);
+        assertEquals(8, server.getRequestCount());
+    }
+
+    private static CircuitBreaker breaker(String name) {
+        return new CircuitBreaker.Builder()
+                .name(name)
+                .failureRateThreshold(50)
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .build();
+    }
+
+    private void callWith(int code, String path, int times) {
+        for (int i = 0; i < times; i++) {
+            server.enqueue(new MockResponse().setResponseCode(code));
+            try {
+                client.get(path).execute();
+                fail("The " + code + " response was not reported");
+            } catch (ServiceResponseException e) {
+                assertEquals(code, e.getStatusCode());
+            }
+        }
+    }
+
+    private void assertRejected(String path) {
+        try {
+            client.get(path).execute();
+            fail("The circuit breaker let the call through");
+        } catch (CircuitBreakerOpenException e) {
+            // Expected
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package io.daex.sdk.core.client;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DaexClientConfigTest {
+
+    private final Logger logger = Logger.getLogger(DaexClientConfig.class.getName());
+    private final List<String> warnings = new CopyOnWriteArrayList<>();
+    private final Handler handler = new Handler() {
+        @Override
+        public void publish(LogRecord record) {
+            warnings.add(record.getMessage());
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @Before
+    public void setUp() {
+        logger.addHandler(handler);
+    }
+
+    @After
+    public void tearDown() {
+        logger.removeHandler(handler);
+    }
+
+    @Test
+    public void invalidValueFallsBackToTheDefaultAndIsReportedOnce() {
+        // A configuration of its own, so that the one shared by the other tests stays valid
+        Properties properties = new Properties();
+        properties.setProperty("adaptiveLimit.maxLimit", "-1");
+        properties.setProperty("http.dispatcher.maxRequests", "many");
+        DaexClientConfig config = new DaexClientConfig(properties);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(200, config.getAdaptiveMaxLimit());
+            assertEquals(64, config.getMaxRequests());
+        }
+        assertEquals(warnings.toString(), 2, warnings.size());
+        assertTrue(warnings.get(0), warnings.get(0).contains("adaptiveLimit.maxLimit"));
+        assertTrue(warnings.get(1), warnings.get(1).contains("http.dispatcher.maxRequests"));
+    }
+
+    @Test
+    public void validValuesAreRead() {
+        assertEquals(32, DaexClientConfig.getInstance().getMaxRequestsPerHost());
+        assertEquals(32, DaexClientConfig.getInstance().getMaxIdleConnections());
+        assertEquals(64, DaexClientConfig.getInstance().getMaxRequests());
+        assertEquals(200, DaexClientConfig.getInstance().getAdaptiveMaxLimit());
+        assertTrue(warnings.toString(), warnings.isEmpty());
+    }
+}
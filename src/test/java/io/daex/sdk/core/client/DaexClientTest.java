@@ -0,0 +1,149 @@
+package io.daex.sdk.core.client;
+
+import io.daex.sdk.core.http.ServiceCall;
+import io.daex.sdk.core.service.exception.CircuitBreakerOpenException;
+import io.daex.sdk.core.service.resilience.CircuitBreaker;
+import io.daex.sdk.core.service.resilience.CircuitBreakerRegistry;
+import io.daex.sdk.core.util.ResponseConverterUtils;
+import okhttp3.Request;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DaexClientTest {
+
+    private static final String NOT_SENT = "has not been sent";
+
+    private final Logger logger = Logger.getLogger(DaexClient.class.getName());
+    private final List<String> warnings = new CopyOnWriteArrayList<>();
+    private final Handler handler = new Handler() {
+        @Override
+        public void publish(LogRecord record) {
+            warnings.add(record.getMessage());
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    private MockWebServer server;
+    private TestClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        client = new TestClient(server);
+        logger.addHandler(handler);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        logger.removeHandler(handler);
+        server.shutdown();
+    }
+
+    @Test
+    public void cacheHitsAndRejectedCallsAreNotReportedAsUnsent() throws Exception {
+        server.enqueue(new MockResponse().setBody("rate"));
+        client.setResponseCache(new ResponseCache.Builder().ttl("/cached", 60000).build());
+        assertEquals("rate", client.get("/cached").execute());
+        assertEquals("rate", client.get("/cached").execute());
+        assertEquals("rate", client.get("/cached").rx().get(5, TimeUnit.SECONDS));
+        assertEquals(1, server.getRequestCount());
+
+        CircuitBreaker breaker = new CircuitBreaker.Builder().name("finalize-test").minimumNumberOfCalls(1)
+                .slidingWindowSize(1).build();
+        breaker.onError(0);
+        CircuitBreakerRegistry.getInstance().register("/open", breaker);
+        try {
+            client.get("/open").execute();
+            fail("The circuit breaker let the call through");
+        } catch (CircuitBreakerOpenException e) {
+            // Expected
+        } finally {
+            CircuitBreakerRegistry.getInstance().register("/open", null);
+        }
+
+        client.get("/unsent");
+        awaitWarning("/unsent");
+        for (String warning : warnings) {
+            assertFalse(warning, warning.contains("/cached") || warning.contains("/open"));
+        }
+    }
+
+    @Test
+    public void unroutedPathIsWarnedAboutOnce() throws Exception {
+        TestClient signing = new TestClient(server, true);
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setBody("ok"));
+        }
+        assertEquals("ok", signing.get("/unrouted").execute());
+        assertEquals("ok", signing.get("/unrouted").execute());
+        assertEquals("ok", signing.get("/unrouted").rx().get(5, TimeUnit.SECONDS));
+        int unrouted = 0;
+        for (String warning : warnings) {
+            if (warning.contains("No API route matches /unrouted")) {
+                unrouted++;
+            }
+        }
+        assertEquals(1, unrouted);
+    }
+
+    /**
+     * Collects garbage until the finalizer of the unsent call has run.
+     */
+    private void awaitWarning(String path) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            System.gc();
+            System.runFinalization();
+            for (String warning : warnings) {
+                if (warning.contains(path) && warning.contains(NOT_SENT)) {
+                    return;
+                }
+            }
+            Thread.sleep(50);
+        }
+        assertTrue("The unsent call was not reported", false);
+    }
+
+    static final class TestClient extends DaexClient {
+        private final MockWebServer server;
+
+        TestClient(MockWebServer server) {
+            super(server.url("/").toString());
+            this.server = server;
+        }
+
+        TestClient(MockWebServer server, boolean rsaEnabled) {
+            super(server.url("/").toString(), rsaEnabled);
+            this.server = server;
+        }
+
+        ServiceCall<String> get(String path) {
+            return createServiceCall(new Request.Builder().url(server.url(path)).build(),
+                    ResponseConverterUtils.getString());
+        }
+    }
+}
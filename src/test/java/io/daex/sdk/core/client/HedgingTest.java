@@ -0,0 +1,168 @@
+package io.daex.sdk.core.client;
+
+import io.daex.sdk.core.service.exception.ServiceResponseException;
+import io.daex.sdk.core.service.resilience.AdaptiveLimiter;
+import io.daex.sdk.core.service.resilience.AdaptiveLimiterRegistry;
+import io.daex.sdk.core.service.resilience.CircuitBreaker;
+import io.daex.sdk.core.service.resilience.CircuitBreakerRegistry;
+import io.daex.sdk.core.service.resilience.HedgingPolicy;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Hedged reads against a server whose first answer is slow: the duplicate goes out after the latency percentile of
+ * the endpoint, and whichever answers first is used.
+ */
+public class HedgingTest {
+
+    private static final String PATH = "/api/service/getTicker";
+
+    private final List<Long> arrivals = new CopyOnWriteArrayList<>();
+    private final Queue<MockResponse> responses = new ConcurrentLinkedQueue<>();
+    private MockWebServer server;
+    private DaexClientTest.TestClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                arrivals.add(System.nanoTime());
+                MockResponse response = responses.poll();
+                return response != null ? response : new MockResponse().setResponseCode(404);
+            }
+        });
+        server.start();
+        client = new DaexClientTest.TestClient(server);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        CircuitBreakerRegistry.getInstance().register(PATH, null);
+        AdaptiveLimiterRegistry.getInstance().register(PATH, null);
+        server.shutdown();
+    }
+
+    @Test
+    public void hedgeFiresAfterThePercentileDelayAndTheFirstAnswerWins() {
+        HedgingPolicy policy = policy(new HedgingPolicy.Builder(), 16, 50);
+        responses.add(slow("slow", 2000));
+        responses.add(new MockResponse().setBody("fast"));
+
+        long start = System.nanoTime();
+        assertEquals("fast", client.get(PATH).hedge(policy).execute());
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(2, arrivals.size());
+        long hedgedAfter = arrivals.get(1) - start;
+        assertTrue("hedged after " + hedgedAfter, hedgedAfter >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue("answered after " + elapsed, elapsed < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, policy.getHedgeCount());
+        assertEquals(1, policy.getHedgeWonCount());
+    }
+
+    @Test
+    public void cancelledLoserIsNotCountedByTheBreakerOrTheLimiter() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker.Builder().name(PATH).minimumNumberOfCalls(1).build();
+        AdaptiveLimiter limiter = new AdaptiveLimiter(PATH, 10, 1, 100);
+        CircuitBreakerRegistry.getInstance().register(PATH, breaker);
+        AdaptiveLimiterRegistry.getInstance().register(PATH, limiter);
+        responses.add(slow("slow", 2000));
+        responses.add(new MockResponse().setBody("fast"));
+
+        assertEquals("fast", client.get(PATH).hedge(policy(new HedgingPolicy.Builder(), 16, 20)).execute());
+
+        // The slow attempt would hold its permit for two seconds if it were not cancelled
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (limiter.getInFlight() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(1, limiter.getSampleCount());
+        assertEquals(0, limiter.getDroppedCount());
+        assertEquals(0, breaker.getFailureRate(), 0);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void cancelledFirstAttemptCountsForThePercentile() throws Exception {
+        // Fourteen samples: the percentile is computed on the sixteenth, so it stays unknown unless the cancelled
+        // first attempt is recorded along with the winning duplicate
+        HedgingPolicy policy = policy(new HedgingPolicy.Builder().percentile(50).maxDelayMillis(200), 14, 20);
+        responses.add(slow("slow", 2000));
+        responses.add(new MockResponse().setBody("fast"));
+
+        assertEquals("fast", client.get(PATH).hedge(policy).execute());
+
+        long expected = TimeUnit.MILLISECONDS.toNanos(20);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (policy.hedgeDelayNanos(PATH) != expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, policy.hedgeDelayNanos(PATH));
+    }
+
+    @Test
+    public void budgetStopsHedges() {
+        HedgingPolicy policy = policy(new HedgingPolicy.Builder().maxBurst(1).budgetPercent(1), 16, 20);
+        responses.add(slow("slow", 200));
+        responses.add(new MockResponse().setBody("fast"));
+        assertEquals("fast", client.get(PATH).hedge(policy).execute());
+
+        responses.add(slow("slow", 200));
+        assertEquals("slow", client.get(PATH).hedge(policy).execute());
+
+        assertEquals(3, arrivals.size());
+        assertEquals(1, policy.getHedgeCount());
+        assertEquals(1, policy.getOverBudgetCount());
+    }
+
+    @Test
+    public void lastOutcomeIsDeliveredWhenNoAttemptSucceeds() {
+        HedgingPolicy policy = policy(new HedgingPolicy.Builder(), 16, 20);
+        responses.add(new MockResponse().setResponseCode(500).setHeadersDelay(200, TimeUnit.MILLISECONDS));
+        responses.add(new MockResponse().setResponseCode(503));
+
+        try {
+            client.get(PATH).hedge(policy).execute();
+            fail("The failed attempts were not reported");
+        } catch (ServiceResponseException e) {
+            // The duplicate failed first, the first attempt is the last outcome
+            assertEquals(500, e.getStatusCode());
+        }
+        assertEquals(2, arrivals.size());
+        assertEquals(0, policy.getHedgeWonCount());
+    }
+
+    /**
+     * Builds a policy whose endpoint already has latency samples.
+     */
+    private static HedgingPolicy policy(HedgingPolicy.Builder builder, int samples, long latencyMillis) {
+        HedgingPolicy policy = builder.minDelayMillis(1).build();
+        for (int i = 0; i < samples; i++) {
+            policy.record(PATH, TimeUnit.MILLISECONDS.toNanos(latencyMillis), false);
+        }
+        return policy;
+    }
+
+    private static MockResponse slow(String body, long delayMillis) {
+        return new MockResponse().setBody(body).setHeadersDelay(delayMillis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,97 @@
+package io.daex.sdk.core.client;
+
+import io.daex.sdk.core.enums.ApiType;
+import io.daex.sdk.core.http.ServiceCallback;
+import io.daex.sdk.core.service.resilience.RateLimiter;
+import io.daex.sdk.core.service.resilience.RateLimiterRegistry;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Asynchronous calls over their rate limit are scheduled on the {@code daex-scheduler} thread instead of waiting on
+ * the caller.
+ */
+public class RateLimitedCallTest {
+
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final List<Long> arrivals = new CopyOnWriteArrayList<>();
+    private final RateLimiter limiter = new RateLimiter("test", 10, 2);
+    private MockWebServer server;
+    private DaexClientTest.TestClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                arrivals.add(System.nanoTime());
+                return new MockResponse().setBody("ok");
+            }
+        });
+        server.start();
+        client = new DaexClientTest.TestClient(server);
+        client.setRouteRegistry(new RouteRegistry.Builder().route("/api/**", ApiType.TAPI).build());
+        RateLimiterRegistry.getInstance().register(ApiType.TAPI, ApiType.TAPI.getApiId(), limiter);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        RateLimiterRegistry.getInstance().register(ApiType.TAPI, ApiType.TAPI.getApiId(), null);
+        server.shutdown();
+    }
+
+    @Test
+    public void callsOverTheLimitAreScheduledNotBlocked() throws Exception {
+        final int calls = 5;
+        final CountDownLatch done = new CountDownLatch(calls);
+        final List<String> failures = new CopyOnWriteArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            client.get("/api/service/getBalance").enqueue(new ServiceCallback<String>() {
+                @Override
+                public void onResponse(String response) {
+                    done.countDown();
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    failures.add(String.valueOf(e));
+                    done.countDown();
+                }
+            });
+        }
+        long enqueued = System.nanoTime() - start;
+        // Waiting for the three throttled permits would take 300 ms
+        assertTrue("enqueue took " + enqueued, enqueued < 2 * INTERVAL);
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(failures.toString(), failures.isEmpty());
+        assertEquals(3, limiter.getThrottledCount());
+
+        List<Long> sorted = new ArrayList<>(arrivals);
+        Collections.sort(sorted);
+        // The burst goes out at once, then one call per interval; a scheduled call is never early
+        for (int i = 2; i < calls; i++) {
+            long offset = sorted.get(i) - start;
+            assertTrue("call " + i + " sent after " + offset, offset >= (i - 1) * INTERVAL);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package io.daex.sdk.core.client;
+
+import io.daex.sdk.core.http.ServiceCall;
+import io.daex.sdk.core.service.exception.InternalServerErrorException;
+import io.daex.sdk.core.util.ResponseConverterUtils;
+import jersey.repackaged.jsr166e.CompletableFuture;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ReadCoalescerTest {
+
+    private static final String PATH = "/api/service/getBalance";
+    private static final int CALLERS = 10;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger served = new AtomicInteger();
+    private volatile int status = 200;
+
+    private MockWebServer server;
+    private DaexClientTest.TestClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                release.await(5, TimeUnit.SECONDS);
+                return new MockResponse().setResponseCode(status).setBody("balance " + served.incrementAndGet());
+            }
+        });
+        server.start();
+        client = new DaexClientTest.TestClient(server);
+        client.setCoalesceReads(true);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        release.countDown();
+        server.shutdown();
+    }
+
+    @Test
+    public void concurrentIdenticalReadsShareOneCall() throws Exception {
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(client.get(PATH).rx());
+        }
+        release.countDown();
+        for (CompletableFuture<String> result : results) {
+            assertEquals("balance 1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, server.getRequestCount());
+        assertEquals(CALLERS - 1, client.getCoalescedReadCount());
+    }
+
+    @Test
+    public void blockingReadJoinsTheCallInFlight() throws Exception {
+        CompletableFuture<String> leader = client.get(PATH).rx();
+        final List<String> joined = new CopyOnWriteArrayList<>();
+        Thread reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                joined.add(client.get(PATH).execute());
+            }
+        });
+        reader.start();
+        while (client.getCoalescedReadCount() == 0) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        reader.join(5000);
+        assertEquals("balance 1", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("[balance 1]", joined.toString());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void failureIsDeliveredToEveryCaller() throws Exception {
+        status = 500;
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(client.get(PATH).rx());
+        }
+        release.countDown();
+        for (CompletableFuture<String> result : results) {
+            try {
+                result.get(5, TimeUnit.SECONDS);
+                fail("The read should have failed");
+            } catch (ExecutionException e) {
+                assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof InternalServerErrorException);
+            }
+        }
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void readAfterTheCallCompletedStartsANewOne() throws Exception {
+        release.countDown();
+        assertEquals("balance 1", client.get(PATH).execute());
+        assertEquals("balance 2", client.get(PATH).execute());
+        assertEquals(2, server.getRequestCount());
+        assertEquals(0, client.getCoalescedReadCount());
+    }
+
+    @Test
+    public void queryOrderDoesNotMatterButHeadersDo() throws Exception {
+        CompletableFuture<String> first = client.get(PATH + "?b=2&a=1").rx();
+        CompletableFuture<String> sameQuery = client.get(PATH + "?a=1&b=2").rx();
+        ServiceCall<String> otherHeaders = client.createServiceCall(new Request.Builder()
+                .url(server.url(PATH + "?a=1&b=2"))
+                .header("Accept-Language", "fr")
+                .build(), ResponseConverterUtils.getString());
+        CompletableFuture<String> other = otherHeaders.rx();
+        release.countDown();
+        assertEquals(first.get(5, TimeUnit.SECONDS), sameQuery.get(5, TimeUnit.SECONDS));
+        assertFalse(first.get().equals(other.get(5, TimeUnit.SECONDS)));
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, client.getCoalescedReadCount());
+    }
+
+    @Test
+    public void everyCallerGetsItsOwnBody() throws IOException {
+        ReadCoalescer coalescer = new ReadCoalescer();
+        Request request = new Request.Builder().url(server.url(PATH)).build();
+        String key = ReadCoalescer.key(request);
+        final List<Response> responses = new CopyOnWriteArrayList<>();
+        Callback callback = new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                fail(e.toString());
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                responses.add(response);
+            }
+        };
+        assertTrue(coalescer.join(key, request, callback));
+        assertFalse(coalescer.join(key, request, callback));
+        assertFalse(coalescer.join(key, request, callback));
+        coalescer.complete(key, response(request, "{\"balance\":1}"));
+
+        assertEquals(3, responses.size());
+        assertNotSame(responses.get(0).body(), responses.get(1).body());
+        // Reading one body leaves the others whole
+        for (Response response : responses) {
+            assertEquals("{\"balance\":1}", response.body().string());
+            assertSame(request, response.request());
+        }
+    }
+
+    @Test
+    public void failureOfAnIOExceptionFansOut() {
+        ReadCoalescer coalescer = new ReadCoalescer();
+        Request request = new Request.Builder().url(server.url(PATH)).build();
+        String key = ReadCoalescer.key(request);
+        final List<IOException> failures = new CopyOnWriteArrayList<>();
+        Callback callback = new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                failures.add(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                fail("The read should have failed");
+            }
+        };
+        coalescer.join(key, request, callback);
+        coalescer.join(key, request, callback);
+        IOException failure = new IOException("connection reset");
+        coalescer.fail(key, failure);
+        assertEquals(2, failures.size());
+        assertSame(failure, failures.get(0));
+        assertSame(failure, failures.get(1));
+
+        // A second report of the same call has no flight left to deliver to
+        coalescer.fail(key, failure);
+        coalescer.complete(key, response(request, "{}"));
+        assertEquals(2, failures.size());
+        assertEquals(1, coalescer.getCallCount());
+        assertEquals(1, coalescer.getCoalescedCount());
+    }
+
+    private static Response response(Request request, String body) {
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create(MediaType.parse("application/json"), body))
+                .build();
+    }
+}
@@ -0,0 +1,156 @@
+package io.daex.sdk.core.client;
+
+import io.daex.sdk.core.enums.ApiType;
+import io.daex.sdk.core.http.HttpHeaders;
+import io.daex.sdk.core.service.exception.RequestSigningException;
+import io.daex.sdk.core.service.security.RSAOptions;
+import io.daex.sdk.core.service.security.RequestSigner;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.security.InvalidKeyException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RequestSigningInterceptorTest {
+
+    private MockWebServer server;
+    private DaexClient daexClient;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        daexClient = new DaexClient(server.url("/").toString());
+        daexClient.setRouteRegistry(new RouteRegistry.Builder().route("/**", ApiType.TAPI).build());
+        client = new OkHttpClient.Builder().addInterceptor(new RequestSigningInterceptor(daexClient)).build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void signsTheRequest() throws Exception {
+        daexClient.setRequestSigner(ApiType.TAPI, signer("id:signature"));
+        server.enqueue(new MockResponse());
+
+        client.newCall(request()).execute().close();
+
+        assertEquals("id:signature", server.takeRequest().getHeader(HttpHeaders.X_AUTHORIZATION_RSA));
+    }
+
+    @Test
+    public void failingSignerFailsAsyncCallWithCause() throws Exception {
+        final InvalidKeyException cause = new InvalidKeyException("bad key");
+        daexClient.setRequestSigner(ApiType.TAPI, new RequestSigner() {
+            @Override
+            public String sign(RSAOptions options) {
+                throw new RequestSigningException("Unable to sign", cause);
+            }
+
+            @Override
+            public String getKeyAlgorithm() {
+                return "RSA";
+            }
+        });
+
+        IOException e = enqueueAndAwaitFailure();
+
+        assertTrue(e.getMessage(), e.getMessage().startsWith("Failed to sign request to " + server.url("/transfer")));
+        assertTrue(e.getCause() instanceof RequestSigningException);
+        assertEquals(cause, e.getCause().getCause());
+        assertEquals(0, server.getRequestCount());
+    }
+
+    @Test
+    public void unexpectedSignerExceptionFailsAsyncCallWithCause() throws Exception {
+        final IllegalArgumentException cause = new IllegalArgumentException("no key for this path");
+        daexClient.setRequestSigner(ApiType.TAPI, new RequestSigner() {
+            @Override
+            public String sign(RSAOptions options) {
+                throw cause;
+            }
+
+            @Override
+            public String getKeyAlgorithm() {
+                return "RSA";
+            }
+        });
+
+        IOException e = enqueueAndAwaitFailure();
+
+        assertTrue(e.getMessage(), e.getMessage().startsWith("Failed to sign request to " + server.url("/transfer")));
+        assertEquals(cause, e.getCause());
+        assertEquals(0, server.getRequestCount());
+    }
+
+    @Test
+    public void nullSignatureFailsSyncCall() throws Exception {
+        daexClient.setRequestSigner(ApiType.TAPI, signer(null));
+
+        try {
+            client.newCall(request()).execute();
+            fail("The unsigned request was sent");
+        } catch (IOException e) {
+            assertTrue(e.getCause() instanceof RequestSigningException);
+            assertNull(e.getCause().getCause());
+        }
+        assertEquals(0, server.getRequestCount());
+    }
+
+    private IOException enqueueAndAwaitFailure() throws InterruptedException {
+        final AtomicReference<IOException> failure = new AtomicReference<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        client.newCall(request()).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                failure.set(e);
+                done.countDown();
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                response.close();
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        return failure.get();
+    }
+
+    private Request request() {
+        return new Request.Builder().url(server.url("/transfer")).build();
+    }
+
+    private static RequestSigner signer(final String signature) {
+        return new RequestSigner() {
+            @Override
+            public String sign(RSAOptions options) {
+                return signature;
+            }
+
+            @Override
+            public String getKeyAlgorithm() {
+                return "RSA";
+            }
+        };
+    }
+}
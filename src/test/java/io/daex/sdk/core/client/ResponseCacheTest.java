@@ -0,0 +1,163 @@
+package io.daex.sdk.core.client;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ResponseCacheTest {
+
+    private static final String BODY = "{\"rate\":\"0.0001234\",\"pair\":\"BTC_USDT\"}";
+
+    private MockWebServer server;
+    private DaexClientTest.TestClient client;
+    private ResponseCache cache;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        client = new DaexClientTest.TestClient(server);
+        cache = new ResponseCache.Builder().ttl("/cached", 60000).build();
+        client.setResponseCache(cache);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void entryOfKnownLengthWeighsItsBody() {
+        server.enqueue(new MockResponse().setBody(BODY));
+        assertEquals(BODY, client.get("/cached").execute());
+        assertEquals(BODY.length(), cache.getSizeBytes());
+    }
+
+    @Test
+    public void chunkedEntryWeighsTheBytesRead() {
+        server.enqueue(new MockResponse().setChunkedBody(BODY, 7));
+        assertEquals(BODY, client.get("/cached").execute());
+        assertEquals(BODY.length(), cache.getSizeBytes());
+    }
+
+    @Test
+    public void gzipEntryWeighsTheDecodedBytes() throws IOException {
+        Buffer gzipped = new Buffer();
+        try (BufferedSink sink = Okio.buffer(new GzipSink(gzipped))) {
+            sink.writeUtf8(BODY);
+        }
+        server.enqueue(new MockResponse().setBody(gzipped).setHeader("Content-Encoding", "gzip"));
+        assertEquals(BODY, client.get("/cached").execute());
+        assertEquals(BODY.length(), cache.getSizeBytes());
+    }
+
+    @Test
+    public void asyncEntryWeighsTheBytesRead() throws Exception {
+        server.enqueue(new MockResponse().setChunkedBody(BODY, 5));
+        assertEquals(BODY, client.get("/cached").rx().get(5, TimeUnit.SECONDS));
+        assertEquals(BODY.length(), cache.getSizeBytes());
+        assertEquals(BODY, client.get("/cached").rx().get(5, TimeUnit.SECONDS));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void evictsTheLeastRecentlyUsedEntry() throws InterruptedException {
+        ResponseCache cache = new ResponseCache.Builder().ttl("/p", 60000).maxBytes(300).build();
+        cache.put("a", "/p", "A", 100);
+        cache.put("b", "/p", "B", 100);
+        cache.put("c", "/p", "C", 100);
+        // The access stamps are System.nanoTime() values
+        TimeUnit.MILLISECONDS.sleep(1);
+        assertEquals("A", cache.get("a"));
+        cache.put("d", "/p", "D", 100);
+        assertEquals(1, cache.getEvictionCount());
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+        assertNotNull(cache.get("d"));
+        assertEquals(300, cache.getSizeBytes());
+        assertEquals(3, cache.getEntryCount());
+    }
+
+    @Test
+    public void replacingAnEntryKeepsTheSizeExact() {
+        ResponseCache cache = new ResponseCache.Builder().ttl("/p", 60000).build();
+        cache.put("a", "/p", "A", 100);
+        cache.put("a", "/p", "A2", 40);
+        cache.put("b", "/p", "B", -1);
+        assertEquals(40 + ResponseCache.DEFAULT_WEIGHT, cache.getSizeBytes());
+        cache.clear();
+        assertEquals(0, cache.getSizeBytes());
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    @Test
+    public void expiredEntryIsRemovedOnLookup() throws InterruptedException {
+        ResponseCache cache = new ResponseCache.Builder().ttl("/p", 1).build();
+        cache.put("a", "/p", "A", 100);
+        TimeUnit.MILLISECONDS.sleep(5);
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getSizeBytes());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void concurrentHitsAndPutsKeepTheCountsConsistent() throws Exception {
+        final ResponseCache cache = new ResponseCache.Builder().ttl("/p", 60000).maxBytes(50 * 100).build();
+        final int threads = 8;
+        final int lookups = 20000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger found = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                pool.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                        for (int i = 0; i < lookups; i++) {
+                            String key = "k" + ((i * 7 + thread) % 80);
+                            if (cache.get(key) != null) {
+                                found.incrementAndGet();
+                            } else {
+                                cache.put(key, "/p", key, 100);
+                            }
+                        }
+                    }
+                });
+            }
+            start.countDown();
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(threads * lookups, cache.getHitCount() + cache.getMissCount());
+        assertEquals(found.get(), cache.getHitCount());
+        assertTrue(cache.getSizeBytes() <= 50 * 100);
+        assertEquals(cache.getEntryCount() * 100L, cache.getSizeBytes());
+    }
+}
@@ -0,0 +1,173 @@
+package io.daex.sdk.core.client;
+
+import io.daex.sdk.core.enums.ApiType;
+import io.daex.sdk.core.http.HttpHeaders;
+import io.daex.sdk.core.http.RequestBuilder;
+import io.daex.sdk.core.http.ServiceCall;
+import io.daex.sdk.core.service.exception.ServiceResponseException;
+import io.daex.sdk.core.service.resilience.RetryPolicy;
+import io.daex.sdk.core.service.security.RSAOptions;
+import io.daex.sdk.core.service.security.RequestSigner;
+import io.daex.sdk.core.util.ResponseConverterUtils;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Retries through the client against MockWebServer, with a signing client so each attempt shows its nonce.
+ */
+public class RetryTest {
+
+    private static final String PATH = "/api/service/transfer";
+
+    private MockWebServer server;
+    private DaexClientTest.TestClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        client = new DaexClientTest.TestClient(server, true);
+        client.setRouteRegistry(new RouteRegistry.Builder().route("/api/**", ApiType.TAPI).build());
+        client.setRequestSigner(ApiType.TAPI, new RequestSigner() {
+            @Override
+            public String sign(RSAOptions options) {
+                return "id:" + options.getNonce();
+            }
+
+            @Override
+            public String getKeyAlgorithm() {
+                return "RSA";
+            }
+        });
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void retryAfterInSecondsIsHonoured() {
+        server.enqueue(new MockResponse().setResponseCode(503).setHeader("Retry-After", "1"));
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        long start = System.nanoTime();
+        assertEquals("ok", client.get(PATH).retryPolicy(policy(3, 5000)).execute());
+        long elapsed = System.nanoTime() - start;
+
+        assertTrue("retried after " + elapsed, elapsed >= TimeUnit.SECONDS.toNanos(1));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void retryAfterAsAnHttpDateIsHonoured() throws Exception {
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(2));
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", date));
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        long start = System.nanoTime();
+        assertEquals("ok", client.get(PATH).retryPolicy(policy(3, 5000)).rx().get(10, TimeUnit.SECONDS));
+        long elapsed = System.nanoTime() - start;
+
+        // The date has a one second resolution
+        assertTrue("retried after " + elapsed, elapsed >= TimeUnit.SECONDS.toNanos(1));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void retryAfterBeyondTheMaximumDelayEndsTheRetries() {
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "60"));
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        try {
+            client.get(PATH).retryPolicy(policy(3, 5000)).execute();
+            fail("The call waited for its Retry-After");
+        } catch (ServiceResponseException e) {
+            assertEquals(429, e.getStatusCode());
+        }
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void timeoutsAreRetriedForIdempotentRequestsOnly() {
+        DaexClient timingOut = new ShortTimeoutClient(server);
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        server.enqueue(new MockResponse().setBody("ok"));
+        ServiceCall<String> read = timingOut.createServiceCall(RequestBuilder.get(server.url(PATH)).build(),
+                ResponseConverterUtils.getString());
+        assertEquals("ok", read.retryPolicy(policy(3, 5000)).execute());
+        assertEquals(2, server.getRequestCount());
+
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        server.enqueue(new MockResponse().setBody("ok"));
+        ServiceCall<String> transfer = timingOut.createServiceCall(RequestBuilder.post(server.url(PATH))
+                .bodyContent("{\"amount\":\"1\"}", "application/json").build(), ResponseConverterUtils.getString());
+        try {
+            transfer.retryPolicy(policy(3, 5000)).execute();
+            fail("The transfer was sent again after a timeout");
+        } catch (RuntimeException e) {
+            assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof SocketTimeoutException);
+        }
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void eachAttemptIsSignedWithAFreshNonce() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            server.enqueue(new MockResponse().setResponseCode(503));
+            server.enqueue(new MockResponse().setResponseCode(503));
+            server.enqueue(new MockResponse().setBody("ok"));
+        }
+
+        assertEquals("ok", client.get(PATH).retryPolicy(policy(3, 5000)).execute());
+        assertEquals("ok", client.get(PATH).retryPolicy(policy(3, 5000)).rx().get(10, TimeUnit.SECONDS));
+
+        Set<String> nonces = new HashSet<>();
+        for (int i = 0; i < 6; i++) {
+            RecordedRequest request = server.takeRequest();
+            String nonce = request.getHeader(HttpHeaders.X_AUTHORIZATION_NONCE);
+            assertEquals("id:" + nonce, request.getHeader(HttpHeaders.X_AUTHORIZATION_RSA));
+            nonces.add(nonce);
+        }
+        assertEquals(6, nonces.size());
+    }
+
+    private static RetryPolicy policy(int maxAttempts, long maxDelayMillis) {
+        return new RetryPolicy.Builder().maxAttempts(maxAttempts).baseDelayMillis(1).maxDelayMillis(maxDelayMillis)
+                .build();
+    }
+
+    /**
+     * Client whose calls time out quickly, as OkHttp does not retry a timed out request on its own.
+     */
+    private static final class ShortTimeoutClient extends DaexClient {
+
+        ShortTimeoutClient(MockWebServer server) {
+            super(server.url("/").toString());
+        }
+
+        @Override
+        protected OkHttpClient configureHttpClient() {
+            return super.configureHttpClient().newBuilder().readTimeout(200, TimeUnit.MILLISECONDS).build();
+        }
+    }
+}
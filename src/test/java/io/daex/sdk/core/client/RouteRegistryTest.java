@@ -0,0 +1,100 @@
+package io.daex.sdk.core.client;
+
+import io.daex.sdk.core.enums.ApiType;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class RouteRegistryTest {
+
+    @Test
+    public void exactTemplateAndPrefixRoutes() {
+        RouteRegistry registry = new RouteRegistry.Builder()
+                .route("/api/service/transfer", ApiType.TAPI)
+                .route("/api/service/order/{id}", ApiType.MAPI)
+                .route("/api/service/admin/**", ApiType.TCAPI)
+                .build();
+
+        assertEquals(ApiType.TAPI, registry.resolve("/api/service/transfer"));
+        assertEquals(ApiType.TAPI, registry.resolve("/api/service/transfer/"));
+        assertEquals(ApiType.MAPI, registry.resolve("/api/service/order/42"));
+        assertEquals(ApiType.TCAPI, registry.resolve("/api/service/admin"));
+        assertEquals(ApiType.TCAPI, registry.resolve("/api/service/admin/keys/rotate"));
+        assertNull(registry.resolve("/api/service/order/42/items"));
+        assertNull(registry.resolve("/api/service"));
+    }
+
+    @Test
+    public void literalTakesPrecedenceOverTemplate() {
+        RouteRegistry registry = new RouteRegistry.Builder()
+                .route("/api/service/{name}", ApiType.MAPI)
+                .route("/api/service/transfer", ApiType.TAPI)
+                .build();
+
+        assertEquals(ApiType.TAPI, registry.resolve("/api/service/transfer"));
+        assertEquals(ApiType.MAPI, registry.resolve("/api/service/getBalance"));
+    }
+
+    @Test
+    public void backtracksToTheTemplateWhenTheLiteralSubtreeFails() {
+        RouteRegistry registry = new RouteRegistry.Builder()
+                .route("/api/service/transfer/status", ApiType.TAPI)
+                .route("/api/service/{name}/history", ApiType.MAPI)
+                .build();
+
+        assertEquals(ApiType.TAPI, registry.resolve("/api/service/transfer/status"));
+        assertEquals(ApiType.MAPI, registry.resolve("/api/service/transfer/history"));
+        assertEquals(ApiType.MAPI, registry.resolve("/api/service/putApply/history"));
+    }
+
+    @Test
+    public void backtracksToThePrefixWhenTheLiteralSubtreeFails() {
+        RouteRegistry registry = new RouteRegistry.Builder()
+                .route("/api/service/transfer/status", ApiType.TAPI)
+                .route("/api/service/**", ApiType.MAPI)
+                .route("/**", ApiType.TCAPI)
+                .build();
+
+        assertEquals(ApiType.TAPI, registry.resolve("/api/service/transfer/status"));
+        assertEquals(ApiType.MAPI, registry.resolve("/api/service/transfer/history"));
+        assertEquals(ApiType.MAPI, registry.resolve("/api/service/transfer"));
+        assertEquals(ApiType.TCAPI, registry.resolve("/api/other"));
+    }
+
+    @Test
+    public void longestPrefixWins() {
+        RouteRegistry registry = new RouteRegistry.Builder()
+                .route("/api/**", ApiType.MAPI)
+                .route("/api/service/admin/**", ApiType.TCAPI)
+                .build();
+
+        assertEquals(ApiType.TCAPI, registry.resolve("/api/service/admin/keys"));
+        assertEquals(ApiType.MAPI, registry.resolve("/api/service/transfer"));
+    }
+
+    @Test
+    public void unmatchedPathsUseTheDefault() {
+        RouteRegistry registry = new RouteRegistry.Builder()
+                .route("/api/service/transfer", ApiType.TAPI)
+                .defaultApiType(ApiType.MAPI)
+                .build();
+
+        assertEquals(ApiType.MAPI, registry.resolve("/api/service/transfer/status"));
+        assertEquals(ApiType.MAPI, registry.resolve("/"));
+    }
+
+    @Test
+    public void defaultRegistryResolvesTheBuiltInPaths() {
+        RouteRegistry registry = RouteRegistry.getDefault();
+        assertEquals(ApiType.TAPI, registry.resolve("/api/service/transfer"));
+        assertEquals(ApiType.TCAPI, registry.resolve("/api/service/putApplyConfirm"));
+        assertEquals(ApiType.MAPI, registry.resolve("/api/service/getTransactionList"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    @SuppressWarnings("deprecation")
+    public void builtInRoutesCannotBeModified() {
+        ApiType.apiTypeMap.put("/api/service/cancel", ApiType.TAPI);
+    }
+}
@@ -0,0 +1,204 @@
+package io.daex.sdk.core.client;
+
+import io.daex.sdk.core.enums.ApiType;
+import io.daex.sdk.core.http.HttpHeaders;
+import io.daex.sdk.core.http.ServiceCall;
+import io.daex.sdk.core.service.exception.RequestSigningException;
+import io.daex.sdk.core.service.security.RSAOptions;
+import io.daex.sdk.core.service.security.RequestSigner;
+import io.daex.sdk.core.util.ResponseConverterUtils;
+import okhttp3.Request;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SigningExecutorTest {
+
+    private final AtomicReference<String> signature = new AtomicReference<>("id:signature");
+    private final AtomicReference<String> signingThread = new AtomicReference<>();
+    private SigningExecutor signingExecutor;
+    private MockWebServer server;
+    private SigningClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        signingExecutor = new SigningExecutor(1, 1);
+        server = new MockWebServer();
+        server.start();
+        client = new SigningClient(server);
+        client.setRouteRegistry(new RouteRegistry.Builder().route("/**", ApiType.TAPI).build());
+        client.setRequestSigner(ApiType.TAPI, new RequestSigner() {
+            @Override
+            public String sign(RSAOptions options) {
+                signingThread.set(Thread.currentThread().getName());
+                return signature.get();
+            }
+
+            @Override
+            public String getKeyAlgorithm() {
+                return "RSA";
+            }
+        });
+        client.setSigningExecutor(signingExecutor);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        signingExecutor.shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    public void exposesQueueDepthAndRunsOnCallerWhenFull() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        signingExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                started.countDown();
+                awaitQuietly(release);
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        signingExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+        assertEquals(1, signingExecutor.getActiveCount());
+        assertEquals(1, signingExecutor.getQueueDepth());
+
+        final AtomicReference<Thread> ranOn = new AtomicReference<>();
+        signingExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                ranOn.set(Thread.currentThread());
+            }
+        });
+        assertEquals(Thread.currentThread(), ranOn.get());
+        assertEquals(1, signingExecutor.getCallerRunsCount());
+
+        release.countDown();
+        assertEquals(2, awaitCompletedCount(2));
+        assertEquals(0, signingExecutor.getQueueDepth());
+    }
+
+    @Test
+    public void rejectsTasksOnceShutDown() {
+        signingExecutor.shutdown();
+        try {
+            signingExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    fail("The task ran after shutdown");
+                }
+            });
+            fail("The task was accepted after shutdown");
+        } catch (RejectedExecutionException e) {
+            assertEquals(0, signingExecutor.getCallerRunsCount());
+        }
+    }
+
+    @Test
+    public void asyncCallIsSignedOnThePoolBeforeDispatch() throws Exception {
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        assertEquals("ok", client.get("/transfer").rx().get(10, TimeUnit.SECONDS));
+
+        assertTrue(signingThread.get(), signingThread.get().startsWith("daex-signing-"));
+        assertEquals("id:signature", server.takeRequest().getHeader(HttpHeaders.X_AUTHORIZATION_RSA));
+        assertEquals(1, awaitCompletedCount(1));
+        assertEquals(0, signingExecutor.getCallerRunsCount());
+    }
+
+    @Test
+    public void syncCallIsSignedOnTheCallingThread() throws Exception {
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        assertEquals("ok", client.get("/transfer").execute());
+
+        assertEquals(Thread.currentThread().getName(), signingThread.get());
+        assertEquals("id:signature", server.takeRequest().getHeader(HttpHeaders.X_AUTHORIZATION_RSA));
+        assertEquals(0, signingExecutor.getCompletedCount());
+    }
+
+    @Test
+    public void asyncCallIsSignedByTheDispatcherOnceThePoolIsShutDown() throws Exception {
+        server.enqueue(new MockResponse().setBody("ok"));
+        signingExecutor.shutdown();
+
+        assertEquals("ok", client.get("/transfer").rx().get(10, TimeUnit.SECONDS));
+
+        assertTrue(signingThread.get(), signingThread.get().startsWith("OkHttp"));
+        assertEquals("id:signature", server.takeRequest().getHeader(HttpHeaders.X_AUTHORIZATION_RSA));
+        assertEquals(0, signingExecutor.getCallerRunsCount());
+    }
+
+    @Test
+    public void signingFailureOnThePoolFailsTheCall() throws Exception {
+        signature.set(null);
+
+        try {
+            client.get("/transfer").rx().get(10, TimeUnit.SECONDS);
+            fail("The unsigned request was sent");
+        } catch (ExecutionException e) {
+            assertTrue(String.valueOf(e.getCause()), hasCause(e, RequestSigningException.class));
+        }
+        assertEquals(0, server.getRequestCount());
+    }
+
+    private static boolean hasCause(Throwable e, Class<? extends Throwable> type) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The pool counts a task as completed shortly after its result is available.
+     */
+    private long awaitCompletedCount(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (signingExecutor.getCompletedCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return signingExecutor.getCompletedCount();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class SigningClient extends DaexClient {
+        private final MockWebServer server;
+
+        SigningClient(MockWebServer server) {
+            super(server.url("/").toString(), true);
+            this.server = server;
+        }
+
+        ServiceCall<String> get(String path) {
+            return createServiceCall(new Request.Builder().url(server.url(path)).build(),
+                    ResponseConverterUtils.getString());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package io.daex.sdk.core.client;
+
+import okhttp3.OkHttpClient;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Races 64 threads on the first use of the SDK singletons. Each round loads the SDK in a new class loader, so the
+ * threads hit classes that are not initialized yet, the way they would at application start up.
+ */
+public class SingletonStressTest {
+
+    private static final int THREADS = 64;
+    private static final int ROUNDS = 10;
+
+    @Test
+    public void firstUseCreatesOneClientOneConfigAndOnePool() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                race(executor, new SdkClassLoader(getClass().getClassLoader()));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    private static void race(ExecutorService executor, ClassLoader loader) throws Exception {
+        final Method singleton = loader.loadClass("io.daex.sdk.core.http.HttpClientSingleton").getMethod("getInstance");
+        final Method createHttpClient = singleton.getDeclaringClass().getMethod("createHttpClient");
+        final Method config = loader.loadClass("io.daex.sdk.core.client.DaexClientConfig").getMethod("getInstance");
+        assertNotSame(DaexClientConfig.class, config.getDeclaringClass());
+
+        final Set<Object> singletons = identitySet();
+        final Set<Object> configs = identitySet();
+        final Set<Object> pools = identitySet();
+        final CyclicBarrier start = new CyclicBarrier(THREADS);
+        Future<?>[] futures = new Future<?>[THREADS];
+        for (int i = 0; i < THREADS; i++) {
+            futures[i] = executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    start.await(10, TimeUnit.SECONDS);
+                    Object instance = singleton.invoke(null);
+                    singletons.add(instance);
+                    configs.add(config.invoke(null));
+                    pools.add(((OkHttpClient) createHttpClient.invoke(instance)).connectionPool());
+                    return null;
+                }
+            });
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        assertEquals(1, singletons.size());
+        assertEquals(1, configs.size());
+        assertEquals(1, pools.size());
+    }
+
+    private static Set<Object> identitySet() {
+        return Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>()));
+    }
+
+    /**
+     * Loads the SDK classes itself and everything else, OkHttp included, from its parent.
+     */
+    private static final class SdkClassLoader extends ClassLoader {
+
+        SdkClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith("io.daex.sdk.core.")) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded == null) {
+                    loaded = findClass(name);
+                }
+                if (resolve) {
+                    resolveClass(loaded);
+                }
+                return loaded;
+            }
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                if (in == null) {
+                    throw new ClassNotFoundException(name);
+                }
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                for (int n; (n = in.read(buffer)) > 0; ) {
+                    bytes.write(buffer, 0, n);
+                }
+                return defineClass(name, bytes.toByteArray(), 0, bytes.size());
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+}
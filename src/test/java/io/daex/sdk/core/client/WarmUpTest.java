@@ -0,0 +1,71 @@
+package io.daex.sdk.core.client;
+
+import io.daex.sdk.core.http.HttpClientSingleton;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WarmUpTest {
+
+    private final MockWebServer server = new MockWebServer();
+    private final List<String> interceptedOn = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse().setHeadersDelay(200, TimeUnit.MILLISECONDS));
+        }
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void opensConnectionsThroughTheUserInterceptors() throws Exception {
+        DaexClient client = new DaexClient(server.url("/").toString()) {
+            @Override
+            protected OkHttpClient configureHttpClient() {
+                return HttpClientSingleton.getInstance().createHttpClient().newBuilder()
+                        .addInterceptor(new Interceptor() {
+                            @Override
+                            public Response intercept(Chain chain) throws IOException {
+                                interceptedOn.add(Thread.currentThread().getName());
+                                return chain.proceed(chain.request());
+                            }
+                        })
+                        .build();
+            }
+        };
+
+        client.warmUp(4);
+
+        assertEquals(4, server.getRequestCount());
+        for (int i = 0; i < 4; i++) {
+            RecordedRequest request = server.takeRequest(1, TimeUnit.SECONDS);
+            assertEquals("HEAD", request.getMethod());
+            // The first request of its connection: each call opened its own
+            assertEquals(0, request.getSequenceNumber());
+        }
+        assertEquals(4, interceptedOn.size());
+        for (String thread : interceptedOn) {
+            assertTrue(thread, thread.startsWith("OkHttp"));
+        }
+    }
+}
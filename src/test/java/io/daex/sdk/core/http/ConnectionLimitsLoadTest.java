@@ -0,0 +1,107 @@
+package io.daex.sdk.core.http;
+
+import io.daex.sdk.core.client.DaexClientConfig;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Fires a burst of calls at a single slow host and records how many the server sees at once. With OkHttp's defaults
+ * the dispatcher lets 5 through; the shared client is sized from {@code sdk_config.properties} of the test resources.
+ */
+public class ConnectionLimitsLoadTest {
+
+    private static final int CALLS = 64;
+    private static final long SERVER_DELAY_MILLIS = 100;
+
+    private final MockWebServer server = new MockWebServer();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IOException {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                int current = inFlight.incrementAndGet();
+                peak.accumulateAndGet(current, Math::max);
+                try {
+                    Thread.sleep(SERVER_DELAY_MILLIS);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                return new MockResponse().setBody("ok");
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void okHttpDefaultsCapTheHostAtFive() throws Exception {
+        long millis = burst(new OkHttpClient());
+        assertEquals(5, peak.get());
+        assertTrue("took " + millis + " ms", millis >= CALLS / 5 * SERVER_DELAY_MILLIS);
+    }
+
+    @Test
+    public void configuredLimitsRaiseTheCeiling() throws Exception {
+        assertEquals(32, DaexClientConfig.getInstance().getMaxRequestsPerHost());
+
+        long millis = burst(HttpClientSingleton.getInstance().createHttpClient());
+        assertTrue("peak " + peak.get(), peak.get() > 5 && peak.get() <= 32);
+        assertTrue("took " + millis + " ms", millis < CALLS / 5 * SERVER_DELAY_MILLIS);
+        assertTrue(HttpClientSingleton.getInstance().getIdleConnectionCount() > 5);
+    }
+
+    /**
+     * Sends {@link #CALLS} asynchronous calls at once and waits for all of them.
+     *
+     * @return the wall clock time of the burst, in milliseconds
+     */
+    private long burst(OkHttpClient client) throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(CALLS);
+        final AtomicInteger failures = new AtomicInteger();
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            client.newCall(new Request.Builder().url(server.url("/api/service/getBalance")).build())
+                    .enqueue(new Callback() {
+                        @Override
+                        public void onFailure(Call call, IOException e) {
+                            failures.incrementAndGet();
+                            done.countDown();
+                        }
+
+                        @Override
+                        public void onResponse(Call call, Response response) {
+                            response.close();
+                            done.countDown();
+                        }
+                    });
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertEquals(0, failures.get());
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
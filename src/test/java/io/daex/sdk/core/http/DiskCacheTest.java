@@ -0,0 +1,104 @@
+package io.daex.sdk.core.http;
+
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The disk cache as {@link HttpClientSingleton} sets it up, for {@code /api/service/getTransaction}.
+ */
+public class DiskCacheTest {
+
+    private static final String PATH = "/api/service/getTransaction";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final MockWebServer server = new MockWebServer();
+    private Cache cache;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server.start();
+        cache = new Cache(folder.newFolder(), 1024 * 1024);
+        CacheControlInterceptor cacheControl = new CacheControlInterceptor(Collections.singletonMap(PATH, 3600L));
+        client = new OkHttpClient.Builder()
+                .cache(cache)
+                .addInterceptor(new CanonicalQueryInterceptor(cacheControl.getPaths()))
+                .addNetworkInterceptor(cacheControl)
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        cache.close();
+        server.shutdown();
+    }
+
+    @Test
+    public void parameterOrderDoesNotMatter() throws Exception {
+        server.enqueue(new MockResponse().setBody("tx"));
+        assertEquals("tx", get(PATH + "?txId=0x1f&coin=ETH"));
+        assertEquals("tx", get(PATH + "?coin=ETH&txId=0x1f"));
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, cache.hitCount());
+        RecordedRequest request = server.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals(PATH + "?coin=ETH&txId=0x1f", request.getPath());
+    }
+
+    @Test
+    public void queriesThatCanonicalizingWouldChangeAreSentAsTheyAre() throws Exception {
+        server.enqueue(new MockResponse().setBody("tx"));
+        get(PATH + "?txId=0x1f&coin=ETH&coin=BTC");
+        assertEquals(PATH + "?txId=0x1f&coin=ETH&coin=BTC", server.takeRequest(1, TimeUnit.SECONDS).getPath());
+
+        assertTrue(CanonicalQueryInterceptor.isReordering("b=2&a=1", "a=1&b=2"));
+        assertFalse(CanonicalQueryInterceptor.isReordering("a=1&a=2", "a=2"));
+        assertFalse(CanonicalQueryInterceptor.isReordering("b&a=1", "a=1&b="));
+        assertFalse(CanonicalQueryInterceptor.isReordering("p&q&r&s&a=1&a=", "a=&p=&q=&r=&s="));
+    }
+
+    @Test
+    public void serverCachingHeadersAreKept() throws Exception {
+        server.enqueue(new MockResponse().setBody("first").setHeader("Cache-Control", "no-store"));
+        server.enqueue(new MockResponse().setBody("second"));
+        assertEquals("first", get(PATH + "?txId=0x2e"));
+        assertEquals("second", get(PATH + "?txId=0x2e"));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void otherPathsAreNotTouched() throws Exception {
+        server.enqueue(new MockResponse().setBody("a"));
+        server.enqueue(new MockResponse().setBody("b"));
+        assertEquals("a", get("/api/service/getBalance?coin=ETH&address=0x1f"));
+        assertEquals("b", get("/api/service/getBalance?coin=ETH&address=0x1f"));
+        assertEquals("/api/service/getBalance?coin=ETH&address=0x1f",
+                server.takeRequest(1, TimeUnit.SECONDS).getPath());
+    }
+
+    private String get(String path) throws IOException {
+        try (Response response = client.newCall(new Request.Builder().url(server.url(path)).build()).execute()) {
+            return response.body().string();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.daex.sdk.core.http;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time for a burst of 32 concurrent calls to a local MockWebServer over HTTP/1.1 and over cleartext HTTP/2. The
+ * {@code TransportMetrics} printed at the end of each trial tell how many sockets each protocol opened. See
+ * {@code io.daex.sdk.core.service.security.SigningBenchmark} for how to run it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpProtocolBenchmark {
+
+    private static final int CALLS = 32;
+
+    @Param({"http1", "h2c"})
+    public String protocol;
+
+    private final MockWebServer server = new MockWebServer();
+    private final TransportMetrics metrics = new TransportMetrics();
+    private OkHttpClient client;
+    private Request request;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Protocol> protocols = HttpClientSingleton.protocols(protocol);
+        server.setProtocols(protocols);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest recordedRequest) {
+                return new MockResponse().setBody("{\"balance\":\"10.5\"}");
+            }
+        });
+        server.start();
+        client = HttpClientSingleton.getInstance().createHttpClient().newBuilder()
+                .protocols(protocols)
+                .connectionPool(new ConnectionPool(CALLS, 5, TimeUnit.MINUTES))
+                .eventListener(metrics)
+                .build();
+        client.dispatcher().setMaxRequestsPerHost(CALLS);
+        request = new Request.Builder().url(server.url("/api/service/getBalance")).build();
+        // Without an established HTTP/2 connection, every call of the first burst would race to open one
+        client.newCall(request).execute().close();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        System.out.println(protocol + ": " + metrics);
+        server.shutdown();
+    }
+
+    @Benchmark
+    public void burst() throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(CALLS);
+        for (int i = 0; i < CALLS; i++) {
+            client.newCall(request).enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    done.countDown();
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) throws IOException {
+                    response.body().string();
+                    response.close();
+                    done.countDown();
+                }
+            });
+        }
+        done.await(30, TimeUnit.SECONDS);
+    }
+}
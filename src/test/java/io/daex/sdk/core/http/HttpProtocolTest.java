@@ -0,0 +1,104 @@
+package io.daex.sdk.core.http;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Sends the same burst over HTTP/1.1 and over cleartext HTTP/2 and counts the sockets each one opens.
+ */
+public class HttpProtocolTest {
+
+    private static final int CALLS = 20;
+
+    @Test
+    public void mapsTheSetting() {
+        assertEquals(Collections.singletonList(Protocol.HTTP_1_1), HttpClientSingleton.protocols("http1"));
+        assertEquals(Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE), HttpClientSingleton.protocols(" H2C "));
+        List<Protocol> h2 = Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1);
+        assertEquals(h2, HttpClientSingleton.protocols("h2"));
+        assertEquals(h2, HttpClientSingleton.protocols("spdy"));
+    }
+
+    @Test
+    public void http1OpensASocketPerConcurrentCall() throws Exception {
+        TransportMetrics metrics = burst("http1");
+        assertTrue(metrics.toString(), metrics.getConnectionsOpened() > 5);
+        assertEquals(CALLS + 1, metrics.getExchanges(Protocol.HTTP_1_1));
+    }
+
+    @Test
+    public void h2cMultiplexesOneSocket() throws Exception {
+        TransportMetrics metrics = burst("h2c");
+        assertEquals(metrics.toString(), 1, metrics.getConnectionsOpened());
+        assertEquals(CALLS + 1, metrics.getExchanges(Protocol.H2_PRIOR_KNOWLEDGE));
+        assertTrue(metrics.getPeakActiveExchanges() > 1);
+    }
+
+    /**
+     * Opens a first connection with one call, then sends {@link #CALLS} calls at once to a server that answers each
+     * one after 100 ms.
+     */
+    static TransportMetrics burst(String protocol) throws Exception {
+        MockWebServer server = new MockWebServer();
+        List<Protocol> protocols = HttpClientSingleton.protocols(protocol);
+        server.setProtocols(protocols);
+        server.start();
+        try {
+            TransportMetrics metrics = new TransportMetrics();
+            OkHttpClient client = HttpClientSingleton.getInstance().createHttpClient().newBuilder()
+                    .protocols(protocols)
+                    .connectionPool(new ConnectionPool())
+                    .eventListener(metrics)
+                    .build();
+
+            server.enqueue(new MockResponse().setBody("ok"));
+            client.newCall(new Request.Builder().url(server.url("/")).build()).execute().close();
+
+            final CountDownLatch done = new CountDownLatch(CALLS);
+            final AtomicInteger failures = new AtomicInteger();
+            for (int i = 0; i < CALLS; i++) {
+                server.enqueue(new MockResponse().setBody("ok").setBodyDelay(100, TimeUnit.MILLISECONDS));
+            }
+            for (int i = 0; i < CALLS; i++) {
+                client.newCall(new Request.Builder().url(server.url("/" + i)).build()).enqueue(new Callback() {
+                    @Override
+                    public void onFailure(Call call, IOException e) {
+                        failures.incrementAndGet();
+                        done.countDown();
+                    }
+
+                    @Override
+                    public void onResponse(Call call, Response response) throws IOException {
+                        response.body().string();
+                        response.close();
+                        done.countDown();
+                    }
+                });
+            }
+            assertTrue(done.await(30, TimeUnit.SECONDS));
+            assertEquals(0, failures.get());
+            return metrics;
+        } finally {
+            server.shutdown();
+        }
+    }
+}
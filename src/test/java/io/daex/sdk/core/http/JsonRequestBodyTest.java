@@ -0,0 +1,129 @@
+package io.daex.sdk.core.http;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.daex.sdk.core.service.security.RSAOptions;
+import io.daex.sdk.core.service.security.RSARequestSigner;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import okio.Buffer;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks that a {@link JsonRequestBody} holds the same bytes as the {@link JsonElement#toString()} it replaces, and so
+ * signs the same.
+ */
+public class JsonRequestBodyTest {
+
+    private static String privateKey;
+
+    @BeforeClass
+    public static void generateKey() throws Exception {
+        KeyPairGenerator rsa = KeyPairGenerator.getInstance("RSA");
+        rsa.initialize(2048);
+        privateKey = Base64.getEncoder().encodeToString(rsa.generateKeyPair().getPrivate().getEncoded());
+    }
+
+    @Test
+    public void nonAsciiIsWrittenAsUtf8() throws Exception {
+        JsonObject json = new JsonObject();
+        json.addProperty("memo", "café 中文 \uD83D\uDE80");
+        json.addProperty("name", "Zoë");
+        assertSameBytes(json);
+    }
+
+    @Test
+    public void escapesMatch() throws Exception {
+        JsonObject json = new JsonObject();
+        json.addProperty("quote", "say \"hi\"");
+        json.addProperty("backslash", "C:\\keys\\tapi");
+        json.addProperty("control", "line\nbreak\ttab\u0001\u001f");
+        json.addProperty("html", "<a href='x'>&</a>=");
+        json.addProperty("separators", "\u2028\u2029");
+        assertSameBytes(json);
+    }
+
+    @Test
+    public void nestedObjectsAndArraysMatch() throws Exception {
+        JsonObject inner = new JsonObject();
+        inner.addProperty("address", "0x1f");
+        inner.add("memo", JsonNull.INSTANCE);
+        JsonArray items = new JsonArray();
+        items.add(inner);
+        items.add(new JsonArray());
+        items.add("last");
+        JsonObject json = new JsonObject();
+        json.add("items", items);
+        json.add("empty", new JsonObject());
+        json.addProperty("confirmed", true);
+        assertSameBytes(json);
+    }
+
+    @Test
+    public void numbersMatch() throws Exception {
+        JsonObject json = new JsonObject();
+        json.addProperty("int", 42);
+        json.addProperty("long", Long.MAX_VALUE);
+        json.addProperty("double", 0.1);
+        json.addProperty("large", 1e20);
+        json.addProperty("negative", -7.5f);
+        json.addProperty("decimal", new BigDecimal("0.00000001"));
+        assertSameBytes(json);
+        // Parsed numbers keep their text, trailing zeros included
+        assertSameBytes(new JsonParser().parse("{\"amount\":1.50,\"fee\":1E-8,\"count\":007}"));
+    }
+
+    @Test
+    public void bodyJsonSetsTheSameBytes() throws Exception {
+        JsonObject json = new JsonObject();
+        json.addProperty("amount", "10.5");
+        json.addProperty("to", "Zoë");
+        Request request = RequestBuilder.post(HttpUrl.parse("https://localhost/api/service/transfer"))
+                .bodyJson(json)
+                .build();
+        byte[] expected = json.toString().getBytes(StandardCharsets.UTF_8);
+        assertEquals(expected.length, request.body().contentLength());
+        assertSame(HttpMediaType.JSON, request.body().contentType());
+        Buffer written = new Buffer();
+        request.body().writeTo(written);
+        assertArrayEquals(expected, written.readByteArray());
+    }
+
+    private static void assertSameBytes(JsonElement json) throws Exception {
+        JsonRequestBody body = JsonRequestBody.create(json);
+        byte[] expected = json.toString().getBytes(StandardCharsets.UTF_8);
+        Buffer written = new Buffer();
+        body.writeTo(written);
+        assertArrayEquals(expected, written.readByteArray());
+        assertEquals(expected.length, body.contentLength());
+        assertEquals(json.toString(), body.string());
+
+        // RSA PKCS#1 v1.5 signatures are deterministic, so the body signs as the string it replaces
+        String signed = RSARequestSigner.getInstance().sign(options().jsonBody(body).build());
+        String signedAsString = RSARequestSigner.getInstance().sign(options().formParams(json.toString()).build());
+        assertEquals(signedAsString, signed);
+    }
+
+    private static RSAOptions.Builder options() {
+        return new RSAOptions.Builder()
+                .rsaId("rsa-id")
+                .privateKey(privateKey)
+                .nonce("0f8e1b2c")
+                .timeStamp("1536000000")
+                .method("POST")
+                .path("/api/service/transfer");
+    }
+}
@@ -0,0 +1,75 @@
+package io.daex.sdk.core.http;
+
+import io.daex.sdk.core.service.resilience.HedgingPolicy;
+import io.daex.sdk.core.service.resilience.RetryPolicy;
+import jersey.repackaged.jsr166e.CompletableFuture;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks that a {@link ServiceCall} written against the original interface still compiles and works.
+ */
+public class ServiceCallTest {
+
+    private final ServiceCall<String> call = new MinimalServiceCall();
+
+    @Test
+    public void priorityDefaultsToNormal() {
+        assertSame(call, call.priority(Priority.HIGH));
+        assertEquals(Priority.NORMAL, call.getPriority());
+    }
+
+    @Test
+    public void retryPolicyIsIgnoredByDefault() {
+        assertSame(call, call.retryPolicy(new RetryPolicy.Builder().build()));
+        assertEquals("ok", call.execute());
+    }
+
+    @Test
+    public void hedgingPolicyIsIgnoredByDefault() {
+        assertSame(call, call.hedge(new HedgingPolicy.Builder().build()));
+        assertEquals("ok", call.execute());
+    }
+
+    /**
+     * Implements only the methods the interface had before the scheduling and resilience options.
+     */
+    private static final class MinimalServiceCall implements ServiceCall<String> {
+        @Override
+        public ServiceCall<String> addHeader(String name, String value) {
+            return this;
+        }
+
+        @Override
+        public String execute() {
+            return "ok";
+        }
+
+        @Override
+        public Response<String> executeWithDetails() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void enqueue(ServiceCallback<? super String> callback) {
+            callback.onResponse(execute());
+        }
+
+        @Override
+        public void enqueueWithDetails(ServiceCallbackWithDetails<String> callback) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<String> rx() {
+            return CompletableFuture.completedFuture(execute());
+        }
+
+        @Override
+        public CompletableFuture<Response<String>> rxWithDetails() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.daex.sdk.core.http;
+
+import okhttp3.OkHttpClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+import java.security.KeyStore;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start cost of configuring TLS on a client, in a fresh JVM per measurement: the former bootstrap, which loaded
+ * the default trust store, initialized an unused {@code TLSv1.2} context and seeded a new {@link SecureRandom} for
+ * every client, against {@link TransportSecurity}. Run with e.g. {@code -f 10 -prof gc}; see
+ * {@code io.daex.sdk.core.service.security.SigningBenchmark} for the class path.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class TransportSecurityBenchmark {
+
+    @Benchmark
+    public OkHttpClient legacyBootstrap() throws Exception {
+        OkHttpClient.Builder builder = new OkHttpClient.Builder();
+        TrustManagerFactory trustManagerFactory =
+                TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagerFactory.init((KeyStore) null);
+        X509TrustManager trustManager = (X509TrustManager) trustManagerFactory.getTrustManagers()[0];
+
+        SSLContext unused = SSLContext.getInstance("TLSv1.2");
+        unused.init(null, new TrustManager[] {trustManager}, null);
+
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, new TrustManager[] {new X509TrustManager() {
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public X509Certificate[] getAcceptedIssuers() {
+                return new X509Certificate[0];
+            }
+        }}, new SecureRandom());
+        builder.sslSocketFactory(sslContext.getSocketFactory(), trustManager);
+        builder.hostnameVerifier(new HostnameVerifier() {
+            @Override
+            public boolean verify(String hostname, SSLSession session) {
+                return true;
+            }
+        });
+        return builder.build();
+    }
+
+    @Benchmark
+    public OkHttpClient transportSecurity() {
+        OkHttpClient.Builder builder = new OkHttpClient.Builder();
+        TransportSecurity.configure(builder);
+        return builder.build();
+    }
+}
@@ -0,0 +1,67 @@
+package io.daex.sdk.core.http;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.tls.HandshakeCertificates;
+import okhttp3.tls.HeldCertificate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+public class TransportSecurityTest {
+
+    private final MockWebServer server = new MockWebServer();
+
+    @Before
+    public void setUp() throws IOException {
+        HeldCertificate certificate = new HeldCertificate.Builder()
+                .commonName("gateway.daex.invalid")
+                .addSubjectAlternativeName("gateway.daex.invalid")
+                .build();
+        HandshakeCertificates serverCertificates = new HandshakeCertificates.Builder()
+                .heldCertificate(certificate)
+                .build();
+        server.useHttps(serverCertificates.sslSocketFactory(), false);
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void clientsShareOneSocketFactory() {
+        OkHttpClient first = HttpClientSingleton.getInstance().createHttpClient();
+        OkHttpClient second = HttpClientSingleton.getInstance().createHttpClient();
+        assertSame(first.sslSocketFactory(), second.sslSocketFactory());
+        assertSame(first.hostnameVerifier(), second.hostnameVerifier());
+
+        OkHttpClient.Builder builder = new OkHttpClient.Builder();
+        TransportSecurity.configure(builder);
+        assertSame(first.sslSocketFactory(), builder.build().sslSocketFactory());
+    }
+
+    @Test
+    public void trustsASelfSignedCertificate() throws IOException {
+        TransportMetrics metrics = HttpClientSingleton.getInstance().getTransportMetrics();
+        long handshakes = metrics.getTlsHandshakes();
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        OkHttpClient client = HttpClientSingleton.getInstance().createHttpClient();
+        try (Response response = client.newCall(new Request.Builder().url(server.url("/")).build()).execute()) {
+            assertEquals("ok", response.body().string());
+            assertNotNull(response.handshake());
+        }
+        assertEquals(handshakes + 1, metrics.getTlsHandshakes());
+    }
+}
@@ -0,0 +1,75 @@
+package io.daex.sdk.core.service.resilience;
+
+import io.daex.sdk.core.http.Priority;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Latency of confirmation calls sharing a saturated {@link Bulkhead} with bulk reads: 2 threads of HIGH calls against
+ * 14 threads of LOW calls, each call holding its permit for 200 us. The {@code fifo} group runs the same load with every
+ * call at {@link Priority#NORMAL}. Compare the {@code p0.99} lines of {@code confirm}; see
+ * {@code io.daex.sdk.core.service.security.SigningBenchmark} for how to run it.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkheadPriorityBenchmark {
+
+    private static final long SERVICE_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    @State(Scope.Group)
+    public static class Shared {
+        final Bulkhead bulkhead = new Bulkhead("bench", 4);
+    }
+
+    @Benchmark
+    @Group("prioritized")
+    @GroupThreads(2)
+    public void confirm(Shared shared) throws InterruptedException {
+        call(shared.bulkhead, Priority.HIGH);
+    }
+
+    @Benchmark
+    @Group("prioritized")
+    @GroupThreads(14)
+    public void read(Shared shared) throws InterruptedException {
+        call(shared.bulkhead, Priority.LOW);
+    }
+
+    @Benchmark
+    @Group("fifo")
+    @GroupThreads(2)
+    public void fifoConfirm(Shared shared) throws InterruptedException {
+        call(shared.bulkhead, Priority.NORMAL);
+    }
+
+    @Benchmark
+    @Group("fifo")
+    @GroupThreads(14)
+    public void fifoRead(Shared shared) throws InterruptedException {
+        call(shared.bulkhead, Priority.NORMAL);
+    }
+
+    private static void call(Bulkhead bulkhead, Priority priority) throws InterruptedException {
+        bulkhead.acquire(priority);
+        try {
+            LockSupport.parkNanos(SERVICE_NANOS);
+        } finally {
+            bulkhead.release();
+        }
+    }
+}
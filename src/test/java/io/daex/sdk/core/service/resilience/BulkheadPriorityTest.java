@@ -0,0 +1,81 @@
+package io.daex.sdk.core.service.resilience;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import io.daex.sdk.core.http.Priority;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static java.util.Arrays.asList;
+
+/**
+ * Runs the granted tasks on the releasing thread, so the order is known as soon as {@link Bulkhead#release()} returns.
+ */
+public class BulkheadPriorityTest {
+
+    private final List<String> order = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void servesWaitersByPriority() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 60000, MoreExecutors.directExecutor());
+        bulkhead.acquire();
+        submit(bulkhead, Priority.LOW, "getBalance");
+        submit(bulkhead, Priority.NORMAL, "transfer");
+        submit(bulkhead, Priority.LOW, "getTransactionList");
+        submit(bulkhead, Priority.HIGH, "putApplyConfirm");
+
+        releaseAll(bulkhead);
+        assertEquals(asList("putApplyConfirm", "transfer", "getBalance", "getTransactionList"), order);
+    }
+
+    @Test
+    public void agedLowPriorityCallGoesFirst() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 20, MoreExecutors.directExecutor());
+        bulkhead.acquire();
+        submit(bulkhead, Priority.LOW, "getBalance");
+        // Two aging steps: the LOW call now ranks as a HIGH call that arrived when it did
+        Thread.sleep(60);
+        submit(bulkhead, Priority.HIGH, "putApplyConfirm");
+        submit(bulkhead, Priority.NORMAL, "transfer");
+
+        releaseAll(bulkhead);
+        assertEquals(asList("getBalance", "putApplyConfirm", "transfer"), order);
+    }
+
+    @Test
+    public void lowPriorityCallsAreNotStarved() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 10, MoreExecutors.directExecutor());
+        bulkhead.acquire();
+        submit(bulkhead, Priority.LOW, "getBalance");
+        // A steady stream of HIGH calls, each released as the next one arrives
+        for (int i = 0; i < 20; i++) {
+            Thread.sleep(2);
+            submit(bulkhead, Priority.HIGH, "confirm" + i);
+            bulkhead.release();
+            if (order.contains("getBalance")) {
+                break;
+            }
+        }
+        releaseAll(bulkhead);
+        // Without aging it would only get the permit once the stream stops, after the last HIGH call
+        assertTrue(order.toString(), order.indexOf("getBalance") < order.size() - 1);
+    }
+
+    private void submit(Bulkhead bulkhead, Priority priority, final String name) {
+        bulkhead.submit(priority, new Runnable() {
+            @Override
+            public void run() {
+                order.add(name);
+            }
+        });
+    }
+
+    private static void releaseAll(Bulkhead bulkhead) {
+        while (bulkhead.getInFlight() > 0) {
+            bulkhead.release();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package io.daex.sdk.core.service.resilience;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BulkheadTest {
+
+    @Test
+    public void neverAdmitsMoreThanTheLimit() throws Exception {
+        final Bulkhead bulkhead = new Bulkhead("test", 3);
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        for (int i = 0; i < 32; i++) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        bulkhead.acquire();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    try {
+                        peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        inFlight.decrementAndGet();
+                        bulkhead.release();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(3, peak.get());
+        assertEquals(32, bulkhead.getAdmittedCount());
+        assertEquals(0, bulkhead.getInFlight());
+        assertEquals(0, bulkhead.getQueueDepth());
+    }
+
+    @Test
+    public void reportsQueueDepthAndWaitTime() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1, Bulkhead.DEFAULT_AGING_MILLIS, MoreExecutors.directExecutor());
+        final List<Integer> order = new CopyOnWriteArrayList<>();
+        bulkhead.acquire();
+        for (int i = 0; i < 3; i++) {
+            final int n = i;
+            bulkhead.submit(new Runnable() {
+                @Override
+                public void run() {
+                    order.add(n);
+                }
+            });
+        }
+        assertEquals(3, bulkhead.getQueueDepth());
+        assertEquals(1, bulkhead.getInFlight());
+        assertEquals(3, bulkhead.getQueuedCount());
+
+        Thread.sleep(50);
+        for (int i = 0; i < 4; i++) {
+            bulkhead.release();
+        }
+        assertArrayEquals(new Object[] {0, 1, 2}, order.toArray());
+        assertEquals(0, bulkhead.getQueueDepth());
+        assertEquals(0, bulkhead.getInFlight());
+        assertEquals(4, bulkhead.getAdmittedCount());
+        assertTrue(String.valueOf(bulkhead.getMaxWaitMillis()), bulkhead.getMaxWaitMillis() >= 50);
+        assertTrue(String.valueOf(bulkhead.getAverageWaitMillis()), bulkhead.getAverageWaitMillis() >= 50);
+    }
+
+    @Test
+    public void grantedTaskRunsOffTheReleasingThread() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1);
+        final AtomicReference<Thread> ranOn = new AtomicReference<>();
+        final CountDownLatch ran = new CountDownLatch(1);
+        bulkhead.acquire();
+        bulkhead.submit(new Runnable() {
+            @Override
+            public void run() {
+                ranOn.set(Thread.currentThread());
+                ran.countDown();
+            }
+        });
+
+        bulkhead.release();
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertNotEquals(Thread.currentThread(), ranOn.get());
+        assertEquals(1, bulkhead.getInFlight());
+    }
+
+    @Test
+    public void longQueueOfTasksGivingTheirPermitBackDoesNotGrowTheStack() throws Exception {
+        final Bulkhead bulkhead = new Bulkhead("test", 1);
+        final int tasks = 20000;
+        final CountDownLatch done = new CountDownLatch(tasks);
+        final AtomicInteger deepest = new AtomicInteger();
+        bulkhead.acquire();
+        for (int i = 0; i < tasks; i++) {
+            bulkhead.submit(new Runnable() {
+                @Override
+                public void run() {
+                    // Like a call the adaptive limiter rejects once it is admitted
+                    deepest.accumulateAndGet(Thread.currentThread().getStackTrace().length, Math::max);
+                    bulkhead.release();
+                    done.countDown();
+                }
+            });
+        }
+
+        bulkhead.release();
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertTrue(String.valueOf(deepest.get()), deepest.get() < 100);
+        assertEquals(0, bulkhead.getInFlight());
+        assertEquals(0, bulkhead.getQueueDepth());
+    }
+
+    @Test
+    public void interruptedWaiterLeavesTheQueue() throws Exception {
+        final Bulkhead bulkhead = new Bulkhead("test", 1);
+        bulkhead.acquire();
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        Thread waiter = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    bulkhead.acquire();
+                    fail("The permit is still held");
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+            }
+        });
+        waiter.start();
+        while (bulkhead.getQueueDepth() == 0) {
+            Thread.sleep(5);
+        }
+        waiter.interrupt();
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertEquals(0, bulkhead.getQueueDepth());
+
+        bulkhead.release();
+        assertEquals(0, bulkhead.getInFlight());
+    }
+
+    @Test
+    public void saturatedBulkheadDoesNotStarveAnother() throws Exception {
+        Bulkhead monitoring = new Bulkhead("MAPI", 2);
+        Bulkhead trading = new Bulkhead("TAPI", 2);
+        final AtomicInteger reads = new AtomicInteger();
+        for (int i = 0; i < 50; i++) {
+            monitoring.submit(new Runnable() {
+                @Override
+                public void run() {
+                    reads.incrementAndGet();
+                }
+            });
+        }
+        assertEquals(2, reads.get());
+        assertEquals(48, monitoring.getQueueDepth());
+
+        long start = System.nanoTime();
+        trading.acquire();
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(1, trading.getInFlight());
+        assertEquals(0, trading.getQueuedCount());
+        trading.release();
+    }
+}
@@ -0,0 +1,172 @@
+package io.daex.sdk.core.service.resilience;
+
+import io.daex.sdk.core.enums.ApiType;
+import io.daex.sdk.core.service.resilience.CircuitBreaker.State;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long WAIT_MILLIS = 50;
+
+    @Test
+    public void opensOnceTheFailureRateReachesTheThreshold() {
+        CircuitBreaker breaker = builder().build();
+        record(breaker, 6, 3);
+        // Below the minimum number of calls, the rate is not evaluated yet
+        assertEquals(-1, breaker.getFailureRate(), 0);
+
+        breaker.onError(FAST);
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(40, breaker.getFailureRate(), 0);
+
+        // The oldest success leaves the window: 5 failures out of 10
+        breaker.onError(FAST);
+        assertEquals(State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        assertFalse(breaker.isCallPermitted());
+    }
+
+    @Test
+    public void opensOnceTheSlowCallRateReachesTheThreshold() {
+        CircuitBreaker breaker = builder().slowCallRateThreshold(50).slowCallDurationMillis(100).build();
+        for (int i = 0; i < 6; i++) {
+            breaker.onSuccess(FAST);
+        }
+        for (int i = 0; i < 4; i++) {
+            breaker.onSuccess(SLOW);
+        }
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getFailureRate(), 0);
+        assertEquals(40, breaker.getSlowCallRate(), 0);
+
+        breaker.onSuccess(SLOW);
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void turnsHalfOpenAfterTheWaitAndLimitsTheTrialCalls() throws Exception {
+        CircuitBreaker breaker = open(builder().permittedCallsInHalfOpenState(2).build());
+        assertFalse(breaker.tryAcquire());
+
+        Thread.sleep(WAIT_MILLIS + 10);
+        assertTrue(breaker.isCallPermitted());
+        assertEquals(State.OPEN, breaker.getState());
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+
+        // An ignored trial call gives its slot back
+        breaker.onIgnored();
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    public void closesWhenTheTrialCallsSucceed() throws Exception {
+        CircuitBreaker breaker = halfOpen(builder().permittedCallsInHalfOpenState(2).build());
+        breaker.onSuccess(FAST);
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        breaker.onSuccess(FAST);
+        assertEquals(State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    public void opensAgainWhenTheTrialCallsFail() throws Exception {
+        CircuitBreaker breaker = halfOpen(builder().permittedCallsInHalfOpenState(2).build());
+        breaker.onSuccess(FAST);
+        breaker.onError(FAST);
+        assertEquals(State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    public void listenersAreToldOfEveryTransition() throws Exception {
+        CircuitBreaker breaker = builder().permittedCallsInHalfOpenState(1).build();
+        final List<String> transitions = new CopyOnWriteArrayList<>();
+        breaker.addListener(new CircuitBreaker.Listener() {
+            @Override
+            public void onStateTransition(CircuitBreaker circuitBreaker, State from, State to) {
+                throw new IllegalStateException("A failing listener does not stop the others");
+            }
+        });
+        breaker.addListener(new CircuitBreaker.Listener() {
+            @Override
+            public void onStateTransition(CircuitBreaker circuitBreaker, State from, State to) {
+                transitions.add(circuitBreaker.getName() + ": " + from + " -> " + to);
+            }
+        });
+
+        halfOpen(breaker);
+        breaker.onSuccess(FAST);
+        open(breaker);
+        breaker.reset();
+
+        assertEquals(asList("test: CLOSED -> OPEN", "test: OPEN -> HALF_OPEN", "test: HALF_OPEN -> CLOSED",
+                "test: CLOSED -> OPEN", "test: OPEN -> CLOSED"), transitions);
+    }
+
+    @Test
+    public void pathBreakerOverridesTheApiTypeBreaker() {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.getInstance();
+        CircuitBreaker apiBreaker = builder().name("TAPI").build();
+        CircuitBreaker pathBreaker = builder().name("transfer").build();
+        registry.register(ApiType.TAPI, apiBreaker);
+        registry.register("/api/service/transfer", pathBreaker);
+        try {
+            assertSame(pathBreaker, registry.get("/api/service/transfer", ApiType.TAPI));
+            assertSame(apiBreaker, registry.get("/api/service/getBalance", ApiType.TAPI));
+            assertSame(pathBreaker, registry.get("/api/service/transfer", null));
+        } finally {
+            registry.register(ApiType.TAPI, null);
+            registry.register("/api/service/transfer", null);
+        }
+        assertEquals(null, registry.get("/api/service/transfer", ApiType.TAPI));
+    }
+
+    private static CircuitBreaker.Builder builder() {
+        return new CircuitBreaker.Builder()
+                .name("test")
+                .failureRateThreshold(50)
+                .slidingWindowSize(10)
+                .minimumNumberOfCalls(10)
+                .waitDurationInOpenStateMillis(WAIT_MILLIS);
+    }
+
+    private static void record(CircuitBreaker breaker, int successes, int errors) {
+        for (int i = 0; i < successes; i++) {
+            breaker.onSuccess(FAST);
+        }
+        for (int i = 0; i < errors; i++) {
+            breaker.onError(FAST);
+        }
+    }
+
+    private static CircuitBreaker open(CircuitBreaker breaker) {
+        record(breaker, 0, 10);
+        assertEquals(State.OPEN, breaker.getState());
+        return breaker;
+    }
+
+    private static CircuitBreaker halfOpen(CircuitBreaker breaker) throws InterruptedException {
+        open(breaker);
+        Thread.sleep(WAIT_MILLIS + 10);
+        assertTrue(breaker.tryAcquire());
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        return breaker;
+    }
+}
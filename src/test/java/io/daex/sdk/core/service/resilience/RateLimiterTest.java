@@ -0,0 +1,101 @@
+package io.daex.sdk.core.service.resilience;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the schedule the limiter hands out through {@link RateLimiter#reserve()}: each reservation is turned into the
+ * time its permit can be used, so the tests do not depend on how fast they run.
+ */
+public class RateLimiterTest {
+
+    private static final long EPSILON = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void burstIsAdmittedAtOnceThenCallsAreSpaced() {
+        RateLimiter limiter = new RateLimiter("test", 10, 5);
+        long interval = TimeUnit.SECONDS.toNanos(1) / 10;
+
+        long[] slots = new long[10];
+        for (int i = 0; i < slots.length; i++) {
+            long delay = limiter.reserve();
+            if (i < 5) {
+                assertEquals("permit " + i, 0, delay);
+            } else {
+                assertTrue("permit " + i, delay > 0);
+            }
+            slots[i] = System.nanoTime() + delay;
+        }
+        // The first throttled permit comes one interval after the burst, then one per interval
+        for (int i = 5; i < slots.length; i++) {
+            long offset = slots[i] - slots[0];
+            assertTrue("permit " + i + " at " + offset, Math.abs(offset - (i - 4) * interval) < EPSILON);
+        }
+        assertEquals(10, limiter.getPermitCount());
+        assertEquals(5, limiter.getThrottledCount());
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    public void concurrentReserversNeverExceedTheRate() throws Exception {
+        final RateLimiter limiter = new RateLimiter("test", 1000, 10);
+        final long interval = TimeUnit.SECONDS.toNanos(1) / 1000;
+        final int threads = 16;
+        final int perThread = 50;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(new Callable<List<Long>>() {
+                @Override
+                public List<Long> call() {
+                    List<Long> slots = new ArrayList<>();
+                    for (int i = 0; i < perThread; i++) {
+                        slots.add(System.nanoTime() + limiter.reserve());
+                    }
+                    return slots;
+                }
+            }));
+        }
+        List<Long> slots = new ArrayList<>();
+        for (Future<List<Long>> future : futures) {
+            slots.addAll(future.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        Collections.sort(slots);
+
+        assertEquals(threads * perThread, slots.size());
+        assertEquals(threads * perThread, limiter.getPermitCount());
+        // Any run of n permits spans at least n - burst intervals
+        for (int from = 0; from < slots.size(); from++) {
+            for (int to = from + 10; to < slots.size(); to++) {
+                long span = slots.get(to) - slots.get(from);
+                assertTrue("permits " + from + " to " + to + " span " + span,
+                        span >= (to - from - 9) * interval - EPSILON);
+            }
+        }
+    }
+
+    @Test
+    public void acquireWaitsForTheReservedSlot() throws Exception {
+        RateLimiter limiter = new RateLimiter("test", 20, 1);
+        limiter.acquire();
+        long start = System.nanoTime();
+        limiter.acquire();
+        long waited = System.nanoTime() - start;
+        assertTrue(String.valueOf(waited), waited >= TimeUnit.MILLISECONDS.toNanos(50) - EPSILON);
+        assertEquals(1, limiter.getThrottledCount());
+    }
+}
@@ -0,0 +1,106 @@
+package io.daex.sdk.core.service.resilience;
+
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RetryPolicyTest {
+
+    private static final IOException TIMEOUT = new SocketTimeoutException("timeout");
+    private static final Request GET = new Request.Builder().url("https://api.example.com/ticker").build();
+
+    private final RetryPolicy policy = new RetryPolicy.Builder()
+            .maxAttempts(5)
+            .baseDelayMillis(100)
+            .maxDelayMillis(10000)
+            .build();
+
+    @Test
+    public void retryAfterInSecondsIsUsed() {
+        assertEquals(2000, policy.retryDelayMillis(1, 0, response(503, "2")));
+        // Never shorter than the base delay
+        assertEquals(100, policy.retryDelayMillis(1, 0, response(429, "0")));
+    }
+
+    @Test
+    public void retryAfterAsAnHttpDateIsUsed() {
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(5));
+        long delay = policy.retryDelayMillis(1, 0, response(503, date));
+        // The date has a one second resolution
+        assertTrue(String.valueOf(delay), delay > 3000 && delay <= 5000);
+    }
+
+    @Test
+    public void retryAfterBeyondTheMaximumDelayEndsTheRetries() {
+        assertEquals(-1, policy.retryDelayMillis(1, 0, response(429, "11")));
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(1));
+        assertEquals(-1, policy.retryDelayMillis(1, 0, response(503, date)));
+    }
+
+    @Test
+    public void invalidRetryAfterFallsBackToTheBackoff() {
+        assertEquals(100, policy.retryDelayMillis(1, 0, response(503, "soon")));
+    }
+
+    @Test
+    public void onlyTheConfiguredStatusCodesAreRetried() {
+        assertEquals(-1, policy.retryDelayMillis(1, 0, response(500, null)));
+        assertEquals(-1, policy.retryDelayMillis(1, 0, response(200, null)));
+        assertEquals(-1, policy.retryDelayMillis(5, 0, response(503, null)));
+    }
+
+    @Test
+    public void decorrelatedJitterStaysWithinItsBounds() {
+        // The first retry waits the base delay, as three times nothing is below it
+        assertEquals(100, policy.retryDelayMillis(1, 0, response(503, null)));
+        long previous = 100;
+        boolean varied = false;
+        for (int i = 0; i < 1000; i++) {
+            long delay = policy.retryDelayMillis(2, previous, response(503, null));
+            assertTrue(previous + " -> " + delay, delay >= 100 && delay <= Math.min(10000, previous * 3));
+            varied |= delay != previous;
+            previous = delay;
+        }
+        assertTrue(varied);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(policy.retryDelayMillis(2, 9000, GET, TIMEOUT) <= 10000);
+        }
+    }
+
+    @Test
+    public void nonIdempotentRequestsAreNotRetriedOnIoErrors() {
+        assertEquals(-1, policy.retryDelayMillis(1, 0, post(), TIMEOUT));
+        assertEquals(100, policy.retryDelayMillis(1, 0, GET, TIMEOUT));
+
+        RetryPolicy deduplicated = new RetryPolicy.Builder().retryNonIdempotent(true).build();
+        assertEquals(100, deduplicated.retryDelayMillis(1, 0, post(), TIMEOUT));
+    }
+
+    private static Request post() {
+        return new Request.Builder().url("https://api.example.com/transfer")
+                .post(RequestBody.create(null, new byte[0])).build();
+    }
+
+    private static Response response(int code, String retryAfter) {
+        Response.Builder builder = new Response.Builder()
+                .request(GET)
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("status " + code);
+        if (retryAfter != null) {
+            builder.header("Retry-After", retryAfter);
+        }
+        return builder.build();
+    }
+}
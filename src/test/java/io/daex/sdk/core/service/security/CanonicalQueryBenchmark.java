@@ -0,0 +1,42 @@
+package io.daex.sdk.core.service.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Canonicalizes a typical {@code getTransactionList} query with {@link CanonicalQuery} and with the former
+ * {@code TreeMap} based code. See {@link SigningBenchmark} for how to run it; add {@code -prof gc} to compare the
+ * allocations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CanonicalQueryBenchmark {
+
+    private final String query = "size=20&page=2&startTime=1536000000&endTime=1536086400"
+            + "&address=0x3f5ce5fbfe3e9af3971dd833d26ba9b5c936f0be&coin=ETH&type=1";
+
+    @Benchmark
+    public String legacy() {
+        return CanonicalQueryTest.legacyCanonicalize(query);
+    }
+
+    @Benchmark
+    public int canonicalQuery() {
+        SigningBuffer buffer = SigningBuffer.get();
+        CanonicalQuery.write(buffer, query);
+        return buffer.size();
+    }
+}
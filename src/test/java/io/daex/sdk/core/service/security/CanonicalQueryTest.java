@@ -0,0 +1,77 @@
+package io.daex.sdk.core.service.security;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class CanonicalQueryTest {
+
+    @Test
+    public void matchesTheLegacyCanonicalization() {
+        String[] queries = {
+                "a=1",
+                "page=2&address=0x1f&size=20&coin=ETH",
+                "size=20&page=2&startTime=1536000000&endTime=1536086400&address=0x1f&coin=ETH&type=1",
+                "b=2&B=1&a=3&_=4&A=0",
+                "name=%E4%B8%AD&memo=a%26b%3Dc",
+                "flag&a=1",
+                "a=&b=2",
+                "a=1&a=2&b=3&a=4",
+                "page=10&page1=1&pag=0",
+                "k14=14&k13=13&k12=12&k11=11&k10=10&k9=9&k8=8&k7=7&k6=6&k5=5&k4=4&k3=3&k2=2&k1=1&k0=0&k15=15&k16=16",
+        };
+        for (String query : queries) {
+            assertCanonical(legacyCanonicalize(query), query);
+        }
+    }
+
+    @Test
+    public void keepsValuesContainingEquals() {
+        // The legacy split("=") dropped these values
+        assertCanonical("sign=ab==&x=a=b", "x=a=b&sign=ab==");
+    }
+
+    @Test
+    public void lastDuplicateWins() {
+        assertCanonical("a=4&b=3", "a=1&b=3&a=2&a=4");
+    }
+
+    @Test
+    public void skipsEmptyParameters() {
+        assertCanonical("a=1&b=2", "&&b=2&&a=1&");
+        assertCanonical("", "");
+    }
+
+    private static void assertCanonical(String expected, String query) {
+        assertEquals(query, expected, CanonicalQuery.canonicalize(query));
+        SigningBuffer buffer = SigningBuffer.get();
+        CanonicalQuery.write(buffer, query);
+        assertArrayEquals(query, expected.getBytes(StandardCharsets.UTF_8), buffer.toByteArray());
+    }
+
+    /**
+     * {@code RSAUtils.splitQuery} and {@code flat}, as they were before {@link CanonicalQuery}.
+     */
+    static String legacyCanonicalize(String query) {
+        SortedMap<String, String> pairs = new TreeMap<>();
+        Stream.of(query.split("&")).forEach(pair -> {
+            String[] args = pair.split("=");
+            pairs.put(args[0], args.length == 2 ? args[1] : "");
+        });
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, String> e : pairs.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append('&');
+            }
+            sb.append(e.getKey()).append('=').append(e.getValue());
+        }
+        return sb.toString();
+    }
+}
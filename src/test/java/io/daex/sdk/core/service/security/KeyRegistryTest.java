@@ -0,0 +1,131 @@
+package io.daex.sdk.core.service.security;
+
+import io.daex.sdk.core.enums.ApiType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class KeyRegistryTest {
+
+    private static final int THREADS = 16;
+
+    private final Map<ApiType, String> configured = new ConcurrentHashMap<>();
+    private final Map<ApiType, AtomicInteger> reads = new EnumMap<>(ApiType.class);
+    private KeyRegistry registry;
+
+    @Before
+    public void setUp() throws Exception {
+        for (ApiType apiType : ApiType.values()) {
+            configured.put(apiType, newKey());
+            reads.put(apiType, new AtomicInteger());
+        }
+        // A registry of its own, so the shared one keeps the configured keys
+        registry = new KeyRegistry(new Function<ApiType, String>() {
+            @Override
+            public String apply(ApiType apiType) {
+                reads.get(apiType).incrementAndGet();
+                return configured.get(apiType);
+            }
+        });
+    }
+
+    @Test
+    public void rotatedKeyIsPickedUpAfterInvalidate() throws Exception {
+        PrivateKey first = registry.getPrivateKey(ApiType.TAPI, "EC");
+        assertEncoded(configured.get(ApiType.TAPI), first);
+        assertSame(first, registry.getPrivateKey(ApiType.TAPI, "EC"));
+
+        String rotated = newKey();
+        configured.put(ApiType.TAPI, rotated);
+        assertSame("The key is decoded once", first, registry.getPrivateKey(ApiType.TAPI, "EC"));
+        registry.invalidate(ApiType.TAPI);
+        assertEncoded(rotated, registry.getPrivateKey(ApiType.TAPI, "EC"));
+        assertEquals(2, reads.get(ApiType.TAPI).get());
+    }
+
+    @Test
+    public void registeredKeyReplacesTheConfiguredOne() throws Exception {
+        registry.getPrivateKey(ApiType.MAPI, "EC");
+        String registered = newKey();
+        registry.register(ApiType.MAPI, registered, "EC");
+        assertEncoded(registered, registry.getPrivateKey(ApiType.MAPI, "EC"));
+        assertEquals(1, reads.get(ApiType.MAPI).get());
+
+        // Invalidating goes back to the configured key
+        registry.invalidate(ApiType.MAPI);
+        assertEncoded(configured.get(ApiType.MAPI), registry.getPrivateKey(ApiType.MAPI, "EC"));
+    }
+
+    @Test
+    public void invalidateAllDropsEveryKey() throws Exception {
+        registry.register(ApiType.TAPI, newKey(), "EC");
+        registry.register(ApiType.TCAPI, newKey(), "EC");
+        registry.invalidateAll();
+        assertEncoded(configured.get(ApiType.TAPI), registry.getPrivateKey(ApiType.TAPI, "EC"));
+        assertEncoded(configured.get(ApiType.TCAPI), registry.getPrivateKey(ApiType.TCAPI, "EC"));
+        assertEquals(1, reads.get(ApiType.TAPI).get());
+        assertEquals(1, reads.get(ApiType.TCAPI).get());
+    }
+
+    @Test
+    public void concurrentFirstUseDecodesOnce() throws Exception {
+        final CyclicBarrier start = new CyclicBarrier(THREADS);
+        final Set<PrivateKey> keys = Collections.newSetFromMap(new IdentityHashMap<PrivateKey, Boolean>());
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            Future<?>[] futures = new Future<?>[THREADS];
+            for (int i = 0; i < THREADS; i++) {
+                futures[i] = executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        start.await(10, TimeUnit.SECONDS);
+                        PrivateKey key = registry.getPrivateKey(ApiType.TCAPI, "EC");
+                        synchronized (keys) {
+                            keys.add(key);
+                        }
+                        return null;
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, reads.get(ApiType.TCAPI).get());
+        assertEquals(1, keys.size());
+    }
+
+    private static String newKey() throws Exception {
+        KeyPairGenerator ec = KeyPairGenerator.getInstance("EC");
+        ec.initialize(new ECGenParameterSpec("secp256r1"));
+        return Base64.getEncoder().encodeToString(ec.generateKeyPair().getPrivate().getEncoded());
+    }
+
+    private static void assertEncoded(String expected, PrivateKey key) {
+        assertArrayEquals(Base64.getDecoder().decode(expected), key.getEncoded());
+    }
+}
@@ -0,0 +1,41 @@
+package io.daex.sdk.core.service.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ThreadLocalNonceGenerator} with {@link java.util.UUID#randomUUID()}, the nonces the SDK used to
+ * generate, when 64 threads sign at once. See {@link SigningBenchmark} for how to run it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class NonceBenchmark {
+
+    private final NonceGenerator uuid = new UUIDNonceGenerator();
+    private final NonceGenerator threadLocal = ThreadLocalNonceGenerator.getInstance();
+
+    @Benchmark
+    public String randomUuid() {
+        return uuid.nextNonce();
+    }
+
+    @Benchmark
+    public String threadLocal() {
+        return threadLocal.nextNonce();
+    }
+}
@@ -0,0 +1,118 @@
+package io.daex.sdk.core.service.security;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the string to sign written to the {@link SigningBuffer}, and the signature over it, are byte for byte
+ * those of the original {@code StringBuilder} implementation.
+ */
+public class RSASignerCompatibilityTest {
+
+    private static KeyPair keyPair;
+    private static String privateKey;
+
+    @BeforeClass
+    public static void generateKey() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+        privateKey = Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded());
+    }
+
+    @Test
+    public void asciiRequest() throws Exception {
+        assertCompatible("/api/service/transfer", "amount=10&to=abc", "{\"a\":1}");
+    }
+
+    @Test
+    public void withoutQueryOrForm() throws Exception {
+        assertCompatible("/api/service/balance", null, null);
+    }
+
+    @Test
+    public void multiByteCharFollowedByAscii() throws Exception {
+        char[] tail = new char[1999];
+        Arrays.fill(tail, 'x');
+        assertCompatible("/api/service/transfer", null, "€" + new String(tail));
+    }
+
+    @Test
+    public void twoAndThreeByteChars() throws Exception {
+        assertCompatible("/api/service/transfer", "name=été", "{\"memo\":\"转账 üß €5\"}");
+    }
+
+    @Test
+    public void surrogatePairs() throws Exception {
+        assertCompatible("/api/service/transfer", null, "{\"memo\":\"😀🚀 ok\"}");
+    }
+
+    @Test
+    public void unpairedSurrogates() throws Exception {
+        assertCompatible("/api/service/transfer", null, "a\ud83db\ude00c\ud83d");
+    }
+
+    @Test
+    public void bodyLargerThanRetainedBuffer() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 50000; i++) {
+            sb.append(i % 7 == 0 ? 'é' : i % 11 == 0 ? '中' : 'x');
+        }
+        assertCompatible("/api/service/transfer", null, sb.toString());
+        // The next request on the thread starts from a fresh buffer
+        assertCompatible("/api/service/transfer", "a=1", "€x");
+    }
+
+    private void assertCompatible(String path, String query, String formParams) throws Exception {
+        RSAOptions options = new RSAOptions.Builder()
+                .rsaId("rsa-id")
+                .privateKey(privateKey)
+                .nonce("0f8e1b2c")
+                .timeStamp("1536000000")
+                .method("POST")
+                .path(path)
+                .query(query)
+                .formParams(formParams)
+                .build();
+
+        byte[] expected = legacyDataToSign(options).getBytes(StandardCharsets.UTF_8);
+        SigningBuffer data = SigningBuffer.get();
+        RSASigner.writeDataToSign(data, options);
+        assertArrayEquals(expected, data.toByteArray());
+
+        assertEquals(legacySignature(options), RSASigner.getSignature(options));
+    }
+
+    /**
+     * The string to sign, as built before the {@link SigningBuffer}.
+     */
+    private static String legacyDataToSign(RSAOptions rsaOptions) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(rsaOptions.getNonce()).append("|").append(rsaOptions.getTimeStamp()).append("|")
+                .append(rsaOptions.getPath());
+        if (rsaOptions.getQuery() != null) {
+            sb.append("|").append(rsaOptions.getQuery());
+        }
+        if (rsaOptions.getFormParams() != null) {
+            sb.append("|").append(rsaOptions.getFormParams());
+        }
+        return sb.toString();
+    }
+
+    private static String legacySignature(RSAOptions rsaOptions) throws Exception {
+        Signature signature = Signature.getInstance("SHA256withRSA");
+        signature.initSign(keyPair.getPrivate());
+        signature.update(legacyDataToSign(rsaOptions).getBytes(StandardCharsets.UTF_8));
+        return rsaOptions.getRsaId() + ":" + Base64.getEncoder().encodeToString(signature.sign());
+    }
+}
@@ -0,0 +1,76 @@
+package io.daex.sdk.core.service.security;
+
+import io.daex.sdk.core.enums.ApiType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per request cost of {@link RSARequestSigner} with an RSA-2048 key and {@link ECDSARequestSigner} with a P-256 key,
+ * signing through the {@link KeyRegistry} as {@code DaexClient} does. See {@link SigningBenchmark} for how to run it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestSignerBenchmark {
+
+    private RSAOptions rsaOptions;
+    private RSAOptions ecOptions;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator rsa = KeyPairGenerator.getInstance("RSA");
+        rsa.initialize(2048);
+        KeyRegistry.getInstance().register(ApiType.TAPI,
+                Base64.getEncoder().encodeToString(rsa.generateKeyPair().getPrivate().getEncoded()), "RSA");
+        KeyPairGenerator ec = KeyPairGenerator.getInstance("EC");
+        ec.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyRegistry.getInstance().register(ApiType.MAPI,
+                Base64.getEncoder().encodeToString(ec.generateKeyPair().getPrivate().getEncoded()), "EC");
+        rsaOptions = options(ApiType.TAPI);
+        ecOptions = options(ApiType.MAPI);
+    }
+
+    @TearDown
+    public void tearDown() {
+        KeyRegistry.getInstance().invalidateAll();
+    }
+
+    @Benchmark
+    public String rsa() {
+        return RSARequestSigner.getInstance().sign(rsaOptions);
+    }
+
+    @Benchmark
+    public String ecdsa() {
+        return ECDSARequestSigner.getInstance().sign(ecOptions);
+    }
+
+    private static RSAOptions options(ApiType apiType) {
+        return new RSAOptions.Builder()
+                .apiType(apiType)
+                .rsaId("rsa-id")
+                .nonce("0f8e1b2c")
+                .timeStamp("1536000000")
+                .method("POST")
+                .path("/api/service/transfer")
+                .formParams("{\"amount\":\"10\",\"to\":\"abc\"}")
+                .build();
+    }
+}
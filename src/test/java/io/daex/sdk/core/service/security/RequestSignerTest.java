@@ -0,0 +1,86 @@
+package io.daex.sdk.core.service.security;
+
+import io.daex.sdk.core.service.exception.RequestSigningException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RequestSignerTest {
+
+    private static KeyPair rsaKeyPair;
+    private static KeyPair ecKeyPair;
+
+    @BeforeClass
+    public static void generateKeys() throws Exception {
+        KeyPairGenerator rsa = KeyPairGenerator.getInstance("RSA");
+        rsa.initialize(2048);
+        rsaKeyPair = rsa.generateKeyPair();
+        KeyPairGenerator ec = KeyPairGenerator.getInstance("EC");
+        ec.initialize(new ECGenParameterSpec("secp256r1"));
+        ecKeyPair = ec.generateKeyPair();
+    }
+
+    @Test
+    public void rsaSignatureVerifies() throws Exception {
+        assertVerifies(RSARequestSigner.getInstance(), rsaKeyPair, "SHA256withRSA");
+    }
+
+    @Test
+    public void ecdsaSignatureVerifies() throws Exception {
+        assertVerifies(ECDSARequestSigner.getInstance(), ecKeyPair, "SHA256withECDSA");
+    }
+
+    @Test
+    public void keyOfTheWrongAlgorithmIsReported() {
+        try {
+            ECDSARequestSigner.getInstance().sign(options(rsaKeyPair, "a=1"));
+            fail("An RSA key must not sign as EC");
+        } catch (RequestSigningException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("EC key of rsa-id"));
+            assertTrue(e.getCause() != null);
+        }
+    }
+
+    private static void assertVerifies(RequestSigner signer, KeyPair keyPair, String algorithm) throws Exception {
+        // Twice, so the second signature comes from a pooled engine
+        for (String query : new String[] {"a=1&b=2", "address=0x1f&page=2"}) {
+            RSAOptions options = options(keyPair, query);
+            String header = signer.sign(options);
+            assertEquals("rsa-id", header.substring(0, header.indexOf(':')));
+
+            SigningBuffer data = SigningBuffer.get();
+            RSASigner.writeDataToSign(data, options);
+            byte[] signature = Base64.getDecoder().decode(header.substring(header.indexOf(':') + 1));
+            assertTrue(verify(algorithm, keyPair.getPublic(), data.toByteArray(), signature));
+        }
+    }
+
+    private static RSAOptions options(KeyPair keyPair, String query) {
+        return new RSAOptions.Builder()
+                .rsaId("rsa-id")
+                .privateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()))
+                .nonce("0f8e1b2c")
+                .timeStamp("1536000000")
+                .method("GET")
+                .path("/api/service/getTransactionList")
+                .query(query)
+                .build();
+    }
+
+    private static boolean verify(String algorithm, PublicKey key, byte[] data, byte[] signature) throws Exception {
+        Signature verifier = Signature.getInstance(algorithm);
+        verifier.initVerify(key);
+        verifier.update(data);
+        return verifier.verify(signature);
+    }
+}
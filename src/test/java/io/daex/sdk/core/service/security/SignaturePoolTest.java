@@ -0,0 +1,120 @@
+package io.daex.sdk.core.service.security;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SignaturePoolTest {
+
+    private static KeyPair keyPair;
+
+    @BeforeClass
+    public static void generateKey() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+    }
+
+    @Test
+    public void reusesTheEngineOfTheThread() throws Exception {
+        SignaturePool pool = new SignaturePool("SHA256withRSA");
+        Signature signature = pool.acquire(keyPair.getPrivate());
+        signature.update(new byte[] { 1 });
+        signature.sign();
+
+        assertSame(signature, pool.acquire(keyPair.getPrivate()));
+    }
+
+    @Test
+    public void threadsDoNotShareEngines() throws Exception {
+        final SignaturePool pool = new SignaturePool("SHA256withRSA");
+        Signature mine = pool.acquire(keyPair.getPrivate());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Signature other = executor.submit(new Callable<Signature>() {
+                @Override
+                public Signature call() throws Exception {
+                    return pool.acquire(keyPair.getPrivate());
+                }
+            }).get();
+            assertNotSame(mine, other);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void discardedEngineIsReplaced() throws Exception {
+        SignaturePool pool = new SignaturePool("SHA256withRSA");
+        Signature signature = pool.acquire(keyPair.getPrivate());
+        pool.discard(keyPair.getPrivate());
+
+        assertNotSame(signature, pool.acquire(keyPair.getPrivate()));
+    }
+
+    @Test
+    public void keyRotationDoesNotGrowThePool() throws Exception {
+        SignaturePool pool = new SignaturePool("SHA256withRSA");
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(1024);
+        PrivateKey first = generator.generateKeyPair().getPrivate();
+        Signature engine = pool.acquire(first);
+        for (int i = 0; i < 8; i++) {
+            pool.acquire(generator.generateKeyPair().getPrivate());
+        }
+
+        assertNotSame(engine, pool.acquire(first));
+    }
+
+    @Test
+    public void concurrentSignaturesVerify() throws Exception {
+        final SignaturePool pool = new SignaturePool("SHA256withRSA");
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                final int thread = t;
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        Signature verifier = Signature.getInstance("SHA256withRSA");
+                        for (int i = 0; i < 50; i++) {
+                            byte[] data = ("nonce-" + thread + "-" + i + "|1536000000|/api/service/transfer")
+                                    .getBytes(StandardCharsets.UTF_8);
+                            Signature signature = pool.acquire(keyPair.getPrivate());
+                            signature.update(data);
+                            byte[] signed = signature.sign();
+
+                            verifier.initVerify(keyPair.getPublic());
+                            verifier.update(data);
+                            if (!verifier.verify(signed)) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
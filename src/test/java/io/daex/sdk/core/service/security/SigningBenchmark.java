@@ -0,0 +1,63 @@
+package io.daex.sdk.core.service.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a fresh {@link Signature} per request, as {@code RSASigner} used to do, with the engines of a
+ * {@link SignaturePool}. Run with, e.g. 16 threads and the allocation profiler:
+ *
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main SigningBenchmark -t 16 -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SigningBenchmark {
+
+    private final byte[] data = "0f8e1b2c|1536000000|/api/service/transfer|{\"amount\":\"10\",\"to\":\"abc\"}"
+            .getBytes(StandardCharsets.UTF_8);
+    private final SignaturePool pool = new SignaturePool("SHA256withRSA");
+    private PrivateKey privateKey;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        privateKey = generator.generateKeyPair().getPrivate();
+    }
+
+    @Benchmark
+    public byte[] freshEngine() throws Exception {
+        Signature signature = Signature.getInstance("SHA256withRSA");
+        signature.initSign(privateKey);
+        signature.update(data);
+        return signature.sign();
+    }
+
+    @Benchmark
+    public byte[] pooledEngine() throws Exception {
+        Signature signature = pool.acquire(privateKey);
+        signature.update(data);
+        return signature.sign();
+    }
+}
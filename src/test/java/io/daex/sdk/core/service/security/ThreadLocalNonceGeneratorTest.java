@@ -0,0 +1,62 @@
+package io.daex.sdk.core.service.security;
+
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ThreadLocalNonceGeneratorTest {
+
+    private final NonceGenerator generator = ThreadLocalNonceGenerator.getInstance();
+
+    @Test
+    public void noncesAreRandomUuids() {
+        for (int i = 0; i < 1000; i++) {
+            String nonce = generator.nextNonce();
+            UUID uuid = UUID.fromString(nonce);
+            assertEquals(nonce, uuid.toString());
+            assertEquals(4, uuid.version());
+            assertEquals(2, uuid.variant());
+        }
+    }
+
+    @Test
+    public void noncesAreUniqueAcross64Threads() throws Exception {
+        final int threads = 64;
+        final int perThread = 5000;
+        final Set<String> nonces = ConcurrentHashMap.newKeySet();
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        for (int i = 0; i < perThread; i++) {
+                            nonces.add(generator.nextNonce());
+                        }
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        assertEquals(threads * perThread, nonces.size());
+    }
+}